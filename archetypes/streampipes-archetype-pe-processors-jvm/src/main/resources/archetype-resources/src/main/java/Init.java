@@ -27,6 +27,7 @@ import org.apache.streampipes.dataformat.cbor.CborDataFormatFactory;
 import org.apache.streampipes.dataformat.fst.FstDataFormatFactory;
 import org.apache.streampipes.dataformat.json.JsonDataFormatFactory;
 import org.apache.streampipes.dataformat.smile.SmileDataFormatFactory;
+import org.apache.streampipes.messaging.inmemory.SpInMemoryProtocolFactory;
 import org.apache.streampipes.messaging.jms.SpJmsProtocolFactory;
 import org.apache.streampipes.messaging.kafka.SpKafkaProtocolFactory;
 import org.apache.streampipes.messaging.mqtt.SpMqttProtocolFactory;
@@ -49,7 +50,8 @@ public class Init extends StandaloneModelSubmitter {
     DeclarersSingleton.getInstance().registerProtocols(
             new SpKafkaProtocolFactory(),
             new SpMqttProtocolFactory(),
-            new SpJmsProtocolFactory());
+            new SpJmsProtocolFactory(),
+            new SpInMemoryProtocolFactory());
 
     new Init().init(Config.INSTANCE);
   }
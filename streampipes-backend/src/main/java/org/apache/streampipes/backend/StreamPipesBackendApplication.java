@@ -28,6 +28,7 @@ import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
 import org.apache.streampipes.rest.notifications.NotificationListener;
 import org.apache.streampipes.storage.api.IPipelineStorage;
+import org.apache.streampipes.storage.couchdb.utils.Utils;
 import org.apache.streampipes.storage.management.StorageDispatcher;
 import org.apache.streampipes.svcdiscovery.api.model.DefaultSpServiceGroups;
 import org.apache.streampipes.svcdiscovery.api.model.DefaultSpServiceTags;
@@ -45,6 +46,7 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.servlet.ServletContextListener;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -119,10 +121,8 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
 
     LOG.info("Found {} running pipelines which will be stopped...", pipelinesToStop.size());
 
-    pipelinesToStop.forEach(pipeline -> {
-      pipeline.setRestartOnSystemReboot(true);
-      StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().updatePipeline(pipeline);
-    });
+    pipelinesToStop.forEach(pipeline -> pipeline.setRestartOnSystemReboot(true));
+    getPipelineStorage().updatePipelines(pipelinesToStop);
 
     LOG.info("Gracefully stopping all running pipelines...");
     List<PipelineOperationStatus> status = Operations.stopAllPipelines(true);
@@ -135,27 +135,24 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
     });
 
     deregisterService(AUTO_GENERATED_SERVICE_ID);
+    Utils.shutdownClients();
 
     LOG.info("Thanks for using Apache StreamPipes - see you next time!");
   }
 
   private void startAllPreviouslyStoppedPipelines() {
     LOG.info("Checking for orphaned pipelines...");
-    List<Pipeline> orphanedPipelines = getAllPipelines()
+    List<Pipeline> allPipelines = getAllPipelines();
+    List<Pipeline> orphanedPipelines = allPipelines
             .stream()
             .filter(Pipeline::isRunning)
             .collect(Collectors.toList());
 
     LOG.info("Found {} orphaned pipelines", orphanedPipelines.size());
 
-    orphanedPipelines.forEach(pipeline -> {
-      LOG.info("Restoring orphaned pipeline {}", pipeline.getName());
-      startPipeline(pipeline, false);
-    });
-
     LOG.info("Checking for gracefully shut down pipelines to be restarted...");
 
-    List<Pipeline> pipelinesToRestart = getAllPipelines()
+    List<Pipeline> pipelinesToRestart = allPipelines
             .stream()
             .filter(p -> !(p.isRunning()))
             .filter(Pipeline::isRestartOnSystemReboot)
@@ -163,9 +160,22 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
 
     LOG.info("Found {} pipelines that we are attempting to restart...", pipelinesToRestart.size());
 
-    pipelinesToRestart.forEach(pipeline -> {
-      startPipeline(pipeline, false);
-    });
+    List<Pipeline> pipelines = new ArrayList<>(orphanedPipelines);
+    pipelines.addAll(pipelinesToRestart);
+    List<PipelineOperationStatus> status = Operations.startPipelines(pipelines);
+
+    List<Pipeline> restartedPipelines = new ArrayList<>();
+    for (int i = 0; i < pipelines.size(); i++) {
+      Pipeline pipeline = pipelines.get(i);
+      if (status.get(i).isSuccess()) {
+        LOG.info("Pipeline {} successfully restarted", pipeline.getName());
+        pipeline.setRestartOnSystemReboot(false);
+        restartedPipelines.add(pipeline);
+      } else {
+        handleFailedStart(pipeline, status.get(i), false);
+      }
+    }
+    getPipelineStorage().updatePipelines(restartedPipelines);
 
     LOG.info("No more pipelines to restore...");
   }
@@ -178,20 +188,24 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
       storedPipeline.setRestartOnSystemReboot(restartOnReboot);
       getPipelineStorage().updatePipeline(storedPipeline);
     } else {
-      storeFailedRestartAttempt(pipeline);
-      int failedAttemptCount = failedPipelines.get(pipeline.getPipelineId());
-      if (failedAttemptCount <= MAX_PIPELINE_START_RETRIES) {
-        LOG.error("Pipeline {} could not be restarted - I'll try again in {} seconds ({}/{} failed attempts)",
-                pipeline.getName(),
-                WAIT_TIME_AFTER_FAILURE_IN_SECONDS,
-                failedAttemptCount,
-                MAX_PIPELINE_START_RETRIES);
-
-        schedulePipelineStart(pipeline, restartOnReboot);
-      } else {
-        LOG.error("Pipeline {} could not be restarted - are all pipeline element containers running?",
-                status.getPipelineName());
-      }
+      handleFailedStart(pipeline, status, restartOnReboot);
+    }
+  }
+
+  private void handleFailedStart(Pipeline pipeline, PipelineOperationStatus status, boolean restartOnReboot) {
+    storeFailedRestartAttempt(pipeline);
+    int failedAttemptCount = failedPipelines.get(pipeline.getPipelineId());
+    if (failedAttemptCount <= MAX_PIPELINE_START_RETRIES) {
+      LOG.error("Pipeline {} could not be restarted - I'll try again in {} seconds ({}/{} failed attempts)",
+              pipeline.getName(),
+              WAIT_TIME_AFTER_FAILURE_IN_SECONDS,
+              failedAttemptCount,
+              MAX_PIPELINE_START_RETRIES);
+
+      schedulePipelineStart(pipeline, restartOnReboot);
+    } else {
+      LOG.error("Pipeline {} could not be restarted - are all pipeline element containers running?",
+              status.getPipelineName());
     }
   }
 
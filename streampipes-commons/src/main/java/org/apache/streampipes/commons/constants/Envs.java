@@ -22,7 +22,9 @@ public enum Envs {
   SP_HOST("SP_HOST"),
   SP_PORT("SP_PORT"),
   SP_CONSUL_LOCATION("CONSUL_LOCATION"),
-  SP_KAFKA_RETENTION_MS("SP_KAFKA_RETENTION_MS");
+  SP_KAFKA_RETENTION_MS("SP_KAFKA_RETENTION_MS"),
+  SP_KAFKA_CONSUMER_THREADS("SP_KAFKA_CONSUMER_THREADS"),
+  SP_KAFKA_CONSUMER_QUEUE_SIZE("SP_KAFKA_CONSUMER_QUEUE_SIZE");
 
   private final String envVariableName;
 
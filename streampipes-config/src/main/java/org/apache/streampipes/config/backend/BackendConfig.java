@@ -25,6 +25,7 @@ import org.apache.streampipes.svcdiscovery.api.SpConfig;
 
 import java.io.File;
 import java.security.SecureRandom;
+import java.util.function.Consumer;
 
 public enum BackendConfig {
   INSTANCE;
@@ -63,6 +64,14 @@ public enum BackendConfig {
     config.register(BackendConfigKeys.INFLUX_HOST, "influxdb", "The host of the influx data base");
     config.register(BackendConfigKeys.INFLUX_PORT, 8086, "The hist of the influx data base");
     config.register(BackendConfigKeys.INFLUX_DATA_BASE, "sp", "The influx data base name");
+    config.register(BackendConfigKeys.INFLUX_CONNECT_TIMEOUT, 10, "Connect timeout in seconds for the influx data base");
+    config.register(BackendConfigKeys.INFLUX_READ_TIMEOUT, 120, "Read and write timeout in seconds for the influx data base");
+    config.register(BackendConfigKeys.INFLUX_MAX_IDLE_CONNECTIONS, 20, "Number of idle connections kept open to the influx data base");
+    config.register(BackendConfigKeys.PIPELINE_ELEMENT_INVOCATION_TIMEOUT, 60, "Timeout in seconds to invoke or detach a single pipeline element");
+    config.register(BackendConfigKeys.PIPELINE_ELEMENT_INVOCATION_PARALLELISM, 16, "Maximum number of pipeline elements which are invoked or detached concurrently");
+    config.register(BackendConfigKeys.PIPELINE_BULK_OPERATION_PARALLELISM, 8, "Maximum number of pipelines which are started or stopped concurrently in bulk operations");
+    config.register(BackendConfigKeys.ENDPOINT_SELECTION_STRATEGY, "first", "Strategy to select an extensions service for a pipeline element (first, round-robin, least-instances, least-loaded)");
+    config.register(BackendConfigKeys.SERVICE_LOAD_CACHE_DURATION, 5, "Duration in seconds the reported load of an extensions service is reused for endpoint selection");
     config.registerObject(BackendConfigKeys.MESSAGING_SETTINGS, MessagingSettings.fromDefault(),
             "Default Messaging Settings");
 
@@ -236,10 +245,46 @@ public enum BackendConfig {
     return config.getString(BackendConfigKeys.INFLUX_DATA_BASE);
   }
 
+  public int getInfluxConnectTimeout() {
+    return config.getInteger(BackendConfigKeys.INFLUX_CONNECT_TIMEOUT);
+  }
+
+  public int getInfluxReadTimeout() {
+    return config.getInteger(BackendConfigKeys.INFLUX_READ_TIMEOUT);
+  }
+
+  public int getInfluxMaxIdleConnections() {
+    return config.getInteger(BackendConfigKeys.INFLUX_MAX_IDLE_CONNECTIONS);
+  }
+
+  public int getPipelineElementInvocationTimeout() {
+    return config.getInteger(BackendConfigKeys.PIPELINE_ELEMENT_INVOCATION_TIMEOUT);
+  }
+
+  public int getPipelineElementInvocationParallelism() {
+    return config.getInteger(BackendConfigKeys.PIPELINE_ELEMENT_INVOCATION_PARALLELISM);
+  }
+
+  public int getPipelineBulkOperationParallelism() {
+    return config.getInteger(BackendConfigKeys.PIPELINE_BULK_OPERATION_PARALLELISM);
+  }
+
+  public String getEndpointSelectionStrategy() {
+    return config.getString(BackendConfigKeys.ENDPOINT_SELECTION_STRATEGY);
+  }
+
+  public int getServiceLoadCacheDuration() {
+    return config.getInteger(BackendConfigKeys.SERVICE_LOAD_CACHE_DURATION);
+  }
+
   public String getEncryptionKey() {
     return config.getString(BackendConfigKeys.ENCRYPTION_KEY);
   }
 
+  public void addChangeListener(String key, Consumer<String> listener) {
+    config.addChangeListener(key, listener);
+  }
+
 
 
 
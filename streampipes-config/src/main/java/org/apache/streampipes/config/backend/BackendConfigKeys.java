@@ -43,12 +43,23 @@ public class BackendConfigKeys {
   public static final String INFLUX_PORT = "SP_INFLUX_PORT";
   public static final String INFLUX_HOST = "SP_INFLUX_HOST";
   public static final String INFLUX_DATA_BASE = "SP_INFLUX_DATA_BASE";
+  public static final String INFLUX_CONNECT_TIMEOUT = "SP_INFLUX_CONNECT_TIMEOUT";
+  public static final String INFLUX_READ_TIMEOUT = "SP_INFLUX_READ_TIMEOUT";
+  public static final String INFLUX_MAX_IDLE_CONNECTIONS = "SP_INFLUX_MAX_IDLE_CONNECTIONS";
   public static final String MESSAGING_SETTINGS = "SP_MESSAGING_SETTINGS";
 
+  public static final String PIPELINE_ELEMENT_INVOCATION_TIMEOUT = "SP_PIPELINE_ELEMENT_INVOCATION_TIMEOUT";
+  public static final String PIPELINE_ELEMENT_INVOCATION_PARALLELISM = "SP_PIPELINE_ELEMENT_INVOCATION_PARALLELISM";
+  public static final String PIPELINE_BULK_OPERATION_PARALLELISM = "SP_PIPELINE_BULK_OPERATION_PARALLELISM";
+  public static final String ENDPOINT_SELECTION_STRATEGY = "SP_ENDPOINT_SELECTION_STRATEGY";
+  public static final String SERVICE_LOAD_CACHE_DURATION = "SP_SERVICE_LOAD_CACHE_DURATION";
+
   public static final String ENCRYPTION_KEY = "SP_ENCRYPTION_KEY";
 
 
   public static final String SERVICE_NAME = "SP_SERVICE_NAME";
 
   public static final String PRIORITIZED_PROTOCOL = "SP_PRIORITIZED_PROTOCOL";
+  public static final String KAFKA_PARTITIONS = "SP_KAFKA_PARTITIONS";
+  public static final String KAFKA_REPLICATION_FACTOR = "SP_KAFKA_REPLICATION_FACTOR";
 }
@@ -26,6 +26,8 @@ public class MessagingSettings {
   private Integer messageMaxBytes;
   private Integer lingerMs;
   private Integer acks;
+  private Integer kafkaPartitions;
+  private Integer kafkaReplicationFactor;
 
   private List<SpDataFormat> prioritizedFormats;
   private List<SpProtocol> prioritizedProtocols;
@@ -50,10 +52,18 @@ public class MessagingSettings {
       protocolList = Arrays.asList(SpProtocol.KAFKA, SpProtocol.MQTT, SpProtocol.JMS);
     }
 
-    return new MessagingSettings(
+    MessagingSettings settings = new MessagingSettings(
             1638400, 5000012, 20, 2,
             Arrays.asList(SpDataFormat.JSON, SpDataFormat.CBOR, SpDataFormat.FST, SpDataFormat.SMILE),
             protocolList);
+    settings.setKafkaPartitions(getIntegerEnv(BackendConfigKeys.KAFKA_PARTITIONS, 1));
+    settings.setKafkaReplicationFactor(getIntegerEnv(BackendConfigKeys.KAFKA_REPLICATION_FACTOR, 1));
+
+    return settings;
+  }
+
+  private static Integer getIntegerEnv(String key, Integer defaultValue) {
+    return System.getenv(key) != null ? Integer.parseInt(System.getenv(key)) : defaultValue;
   }
 
   public MessagingSettings(Integer batchSize,
@@ -106,6 +116,22 @@ public class MessagingSettings {
     this.acks = acks;
   }
 
+  public Integer getKafkaPartitions() {
+    return kafkaPartitions;
+  }
+
+  public void setKafkaPartitions(Integer kafkaPartitions) {
+    this.kafkaPartitions = kafkaPartitions;
+  }
+
+  public Integer getKafkaReplicationFactor() {
+    return kafkaReplicationFactor;
+  }
+
+  public void setKafkaReplicationFactor(Integer kafkaReplicationFactor) {
+    this.kafkaReplicationFactor = kafkaReplicationFactor;
+  }
+
   public List<SpDataFormat> getPrioritizedFormats() {
     return prioritizedFormats;
   }
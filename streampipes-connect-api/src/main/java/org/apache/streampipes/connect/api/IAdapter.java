@@ -32,6 +32,13 @@ public interface IAdapter<T extends AdapterDescription> extends Connector {
 
   void stopAdapter() throws AdapterException;
 
+  /**
+   * Publishes the events which are still pending and releases the connection to the broker, called
+   * once the adapter has been stopped.
+   */
+  default void stopAdapterPipeline() {
+  }
+
   IAdapter getInstance(T adapterDescription);
 
   GuessSchema getSchema(T adapterDescription) throws AdapterException, ParseException;
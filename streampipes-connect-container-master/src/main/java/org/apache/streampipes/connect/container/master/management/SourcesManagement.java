@@ -62,6 +62,7 @@ public class SourcesManagement {
         try {
             String baseUrl = WorkerPaths.findEndpointUrl(ad.getAppId());
             WorkerRestClient.invokeSetAdapter(baseUrl, ad);
+            storeSelectedEndpointUrl(dataSet.getCorrespondingAdapterId(), baseUrl);
         } catch (URISyntaxException e) {
             e.printStackTrace();
         }
@@ -75,7 +76,8 @@ public class SourcesManagement {
     public void detachAdapter(String elementId, String runningInstanceId) throws AdapterException, NoServiceEndpointsAvailableException {
         AdapterSetDescription ad = (AdapterSetDescription) getAndDecryptAdapter(elementId);
         try {
-            String baseUrl = WorkerPaths.findEndpointUrl(ad.getAppId());
+            String baseUrl = ad.getSelectedEndpointUrl() != null ?
+                    ad.getSelectedEndpointUrl() : WorkerPaths.findEndpointUrl(ad.getAppId());
             ad.setElementId(ad.getElementId() + "/streams/" + runningInstanceId);
             WorkerRestClient.stopSetAdapter(baseUrl, ad);
         } catch (URISyntaxException e) {
@@ -109,6 +111,17 @@ public class SourcesManagement {
         return ds;
     }
 
+    /**
+     * Remembers the worker a set adapter was started on, so that it is stopped on the same worker.
+     */
+    private void storeSelectedEndpointUrl(String adapterId, String baseUrl) {
+        AdapterDescription adapter = this.adapterInstanceStorage.getAdapter(adapterId);
+        if (!baseUrl.equals(adapter.getSelectedEndpointUrl())) {
+            adapter.setSelectedEndpointUrl(baseUrl);
+            this.adapterInstanceStorage.updateAdapter(adapter);
+        }
+    }
+
     private AdapterDescription getAndDecryptAdapter(String adapterId) {
         AdapterDescription adapter = this.adapterInstanceStorage.getAdapter(adapterId);
         return new AdapterEncryptionService(new Cloner().adapterDescription(adapter)).decrypt();
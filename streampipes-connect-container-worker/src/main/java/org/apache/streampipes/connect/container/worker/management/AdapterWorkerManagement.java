@@ -84,7 +84,11 @@ public class AdapterWorkerManagement {
             throw new AdapterException("Adapter with id " + elementId + " was not found in this container and cannot be stopped.");
         }
 
-        adapter.stopAdapter();
+        try {
+            adapter.stopAdapter();
+        } finally {
+            adapter.stopAdapterPipeline();
+        }
     }
 
 }
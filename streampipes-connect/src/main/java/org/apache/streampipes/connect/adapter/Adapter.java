@@ -97,6 +97,13 @@ public abstract class Adapter<T extends AdapterDescription> implements IAdapter<
         }
     }
 
+    @Override
+    public void stopAdapterPipeline() {
+        if (adapterPipeline != null && adapterPipeline.getPipelineSink() instanceof SendToBrokerAdapterSink) {
+            ((SendToBrokerAdapterSink<?>) adapterPipeline.getPipelineSink()).stop();
+        }
+    }
+
     private AdapterPipeline getAdapterPipeline(T adapterDescription) {
 
         List<IAdapterPipelineElement> pipelineElements = new ArrayList<>();
@@ -21,8 +21,10 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.connect.api.IAdapterPipelineElement;
 import org.apache.streampipes.connect.adapter.util.TransportFormatSelector;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.messaging.EventBatcher;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.model.connect.adapter.AdapterDescription;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
@@ -36,6 +38,7 @@ public abstract class SendToBrokerAdapterSink<T extends TransportProtocol> imple
   protected T protocol;
   private Class<T> protocolClass;
   private EventProducer<T> producer;
+  private EventBatcher batcher;
 
   public SendToBrokerAdapterSink(AdapterDescription adapterDescription,
                                  Supplier<EventProducer<T>> producerSupplier,
@@ -45,6 +48,8 @@ public abstract class SendToBrokerAdapterSink<T extends TransportProtocol> imple
     this.protocol = protocolClass.cast(adapterDescription
             .getEventGrounding()
             .getTransportProtocol());
+    // the Kafka producer batches on its own (linger.ms)
+    this.batcher = protocol instanceof KafkaTransportProtocol ? null : new EventBatcher(producer);
 
     if ("true".equals(System.getenv("SP_DEBUG"))) {
       modifyProtocolForDebugging();
@@ -81,7 +86,11 @@ public abstract class SendToBrokerAdapterSink<T extends TransportProtocol> imple
   }
 
   protected void sendToBroker(byte[] event) throws Exception {
-    producer.publish(event);
+    if (batcher != null) {
+      batcher.add(event);
+    } else {
+      producer.publish(event);
+    }
   }
 
   protected void modifyProtocolForDebugging() {
@@ -90,6 +99,7 @@ public abstract class SendToBrokerAdapterSink<T extends TransportProtocol> imple
 
   public void changeTransportProtocol(T transportProtocol) {
     try {
+      flush();
       producer.disconnect();
       producer.connect(transportProtocol);
     } catch (SpRuntimeException e) {
@@ -97,6 +107,24 @@ public abstract class SendToBrokerAdapterSink<T extends TransportProtocol> imple
     }
   }
 
+  /**
+   * Publishes the events which are still pending and disconnects from the broker.
+   */
+  public void stop() {
+    try {
+      flush();
+      producer.disconnect();
+    } catch (SpRuntimeException e) {
+      e.printStackTrace();
+    }
+  }
+
+  private void flush() {
+    if (batcher != null) {
+      batcher.flush();
+    }
+  }
+
 }
 
 
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.container.api;
+
+import org.apache.streampipes.container.init.RunningInstances;
+import org.apache.streampipes.model.monitoring.ServiceLoad;
+import org.apache.streampipes.rest.shared.annotation.JacksonSerialized;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+@Path("/load")
+public class ServiceLoadResource {
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @JacksonSerialized
+  public ServiceLoad getServiceLoad() {
+    Runtime runtime = Runtime.getRuntime();
+    return new ServiceLoad(RunningInstances.INSTANCE.getRunningInstancesCount(),
+            runtime.availableProcessors(),
+            getCpuLoad(runtime.availableProcessors()),
+            runtime.totalMemory() - runtime.freeMemory(),
+            runtime.maxMemory());
+  }
+
+  private double getCpuLoad(int availableProcessors) {
+    OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+    if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) osBean).getSystemCpuLoad();
+    } else if (osBean.getSystemLoadAverage() >= 0) {
+      return Math.min(1.0, osBean.getSystemLoadAverage() / availableProcessors);
+    } else {
+      return -1;
+    }
+  }
+}
@@ -30,6 +30,7 @@ public class PipelineElementServiceResourceProvider implements ExtensionsResourc
             DataProcessorPipelineElementResource.class,
             DataStreamPipelineElementResource.class,
             WelcomePage.class,
-            PipelineTemplateResource.class);
+            PipelineTemplateResource.class,
+            ServiceLoadResource.class);
   }
 }
@@ -23,14 +23,14 @@ import org.apache.streampipes.container.util.ElementInfo;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public enum RunningInstances {
     INSTANCE;
 
-    private final Map<String, ElementInfo<NamedStreamPipesEntity, InvocableDeclarer>> runningInstances = new HashMap<>();
+    private final Map<String, ElementInfo<NamedStreamPipesEntity, InvocableDeclarer>> runningInstances = new ConcurrentHashMap<>();
 
 
     public void add(String id, NamedStreamPipesEntity description, InvocableDeclarer invocation) {
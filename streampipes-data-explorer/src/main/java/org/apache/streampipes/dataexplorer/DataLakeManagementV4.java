@@ -18,7 +18,6 @@
 
 package org.apache.streampipes.dataexplorer;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import org.apache.streampipes.dataexplorer.param.RetentionPolicyQueryParams;
 import org.apache.streampipes.dataexplorer.query.DeleteDataQuery;
@@ -26,8 +25,10 @@ import org.apache.streampipes.dataexplorer.query.EditRetentionPolicyQuery;
 import org.apache.streampipes.dataexplorer.query.ShowRetentionPolicyQuery;
 import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
 import org.apache.streampipes.dataexplorer.v4.AutoAggregationHandler;
+import org.apache.streampipes.dataexplorer.v4.AutoAggregationStatsCache;
 import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
-import org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters;
+import org.apache.streampipes.dataexplorer.v4.QueryResultCache;
+import org.apache.streampipes.dataexplorer.v4.export.DataLakeExporter;
 import org.apache.streampipes.dataexplorer.v4.params.QueryParamsV4;
 import org.apache.streampipes.dataexplorer.v4.query.DataExplorerQueryV4;
 import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
@@ -35,19 +36,21 @@ import org.apache.streampipes.model.datalake.*;
 import org.apache.streampipes.storage.couchdb.utils.Utils;
 import org.influxdb.dto.QueryResult;
 import org.lightcouch.CouchDbClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
+import java.util.Optional;
 
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.*;
 
 public class DataLakeManagementV4 {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DataLakeManagementV4.class);
+
     public List<DataLakeMeasure> getAllMeasurements() {
         return DataExplorerUtils.getInfos();
     }
@@ -56,137 +59,46 @@ public class DataLakeManagementV4 {
         if (queryParams.has(QP_AUTO_AGGREGATE)) {
             queryParams = new AutoAggregationHandler(queryParams).makeAutoAggregationQueryParams();
         }
+        DataLakeManagementUtils.alignToTimeInterval(queryParams);
+        DataLakeManagementUtils.applyIncrementalCursor(queryParams);
         Map<String, QueryParamsV4> queryParts = DataLakeManagementUtils.getSelectQueryParams(queryParams);
-        return new DataExplorerQueryV4(queryParts).executeQuery();
-    }
+        DataExplorerQueryV4 query = new DataExplorerQueryV4(queryParts);
 
-    public void getDataAsStream(ProvidedQueryParams params, String format, OutputStream outputStream) throws IOException {
-        if (!params.has(QP_LIMIT)) {
-            params.update(QP_LIMIT, 500000);
+        String statement = query.toQuery().getCommand();
+        long cacheGeneration = QueryResultCache.INSTANCE.getGeneration();
+        Optional<SpQueryResult> cachedResult = QueryResultCache.INSTANCE.get(statement);
+        if (cachedResult.isPresent()) {
+            return cachedResult.get();
         }
-        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-        formatter.setTimeZone(TimeZone.getTimeZone("UTC"));
-
-        SpQueryResult dataResult;
-        //JSON
-        if (format.equals("json")) {
-
-            Gson gson = new Gson();
-            int i = 0;
-            if (params.has(QP_PAGE)) {
-                i = params.getAsInt(QP_PAGE);
-            }
-
-            boolean isFirstDataObject = true;
-
-            outputStream.write(toBytes("["));
-            do {
-                params.update(SupportedDataLakeQueryParameters.QP_PAGE, String.valueOf(i));
-                dataResult = getData(params);
-
-                if (dataResult.getTotal() > 0) {
-                    for (List<Object> row : dataResult.getAllDataSeries().get(0).getRows()) {
-                        if (!isFirstDataObject) {
-                            outputStream.write(toBytes(","));
-                        }
-
-                        //produce one json object
-                        boolean isFirstElementInRow = true;
-                        outputStream.write(toBytes("{"));
-                        for (int i1 = 0; i1 < row.size(); i1++) {
-                            Object element = row.get(i1);
-                            if (!isFirstElementInRow) {
-                                outputStream.write(toBytes(","));
-                            }
-                            isFirstElementInRow = false;
-                            if (i1 == 0) {
-                                try {
-                                    element = formatter.parse(element.toString()).getTime();
-                                } catch (ParseException e) {
-                                    element = element.toString();
-                                }
-                            }
-                            //produce json e.g. "name": "Pipes" or "load": 42
-                            outputStream.write(toBytes("\"" + dataResult.getHeaders().get(i1) + "\": "
-                                    + gson.toJson(element)));
-                        }
-                        outputStream.write(toBytes("}"));
-                        isFirstDataObject = false;
-                    }
-
-                    i++;
-                }
-            } while (dataResult.getTotal() > 0);
-            outputStream.write(toBytes("]"));
-
-            //CSV
-        } else if (format.equals("csv")) {
-            int i = 0;
-            if (params.has(QP_PAGE)) {
-                i = params.getAsInt(QP_PAGE);
-            }
-
-            boolean isFirstDataObject = true;
-
-            do {
-                params.update(SupportedDataLakeQueryParameters.QP_PAGE, String.valueOf(i));
-                dataResult = getData(params);
-                //Send first header
-                if (dataResult.getTotal() > 0) {
-                    if (isFirstDataObject) {
-                        boolean isFirst = true;
-                        for (int i1 = 0; i1 < dataResult.getHeaders().size(); i1++) {
-                            if (!isFirst) {
-                                outputStream.write(toBytes(";"));
-                            }
-                            isFirst = false;
-                            outputStream.write(toBytes(dataResult.getHeaders().get(i1)));
-                        }
-                    }
-                    outputStream.write(toBytes("\n"));
-                    isFirstDataObject = false;
-                }
-
-                if (dataResult.getTotal() > 0) {
-                    for (List<Object> row : dataResult.getAllDataSeries().get(0).getRows()) {
-                        boolean isFirstInRow = true;
-                        for (int i1 = 0; i1 < row.size(); i1++) {
-                            Object element = row.get(i1);
-                            if (!isFirstInRow) {
-                                outputStream.write(toBytes(";"));
-                            }
-                            isFirstInRow = false;
-                            if (i1 == 0) {
-                                try {
-                                    element = formatter.parse(element.toString()).getTime();
-                                } catch (ParseException e) {
-                                    element = element.toString();
-                                }
-                            }
-                            if (element == null) {
-                                outputStream.write(toBytes(""));
-                            } else {
-                                outputStream.write(toBytes(element.toString()));
-                            }
-                        }
-                        outputStream.write(toBytes("\n"));
-                    }
-                }
-                i++;
-            } while (dataResult.getTotal() > 0);
+        LOG.debug("Query result cache miss ({})", QueryResultCache.INSTANCE);
+        QueryResult rawResult = query.executeRawQuery();
+        SpQueryResult result = query.postQuery(rawResult);
+        if (!DataExplorerQueryV4.hasError(rawResult)) {
+            QueryResultCache.INSTANCE.put(queryParams.getMeasurementId(), statement,
+                    queryParams.has(QP_END_DATE) ? queryParams.getAsLong(QP_END_DATE) : null, result,
+                    cacheGeneration);
         }
+        return result;
+    }
+
+    public void getDataAsStream(ProvidedQueryParams params, String format, OutputStream outputStream) throws IOException {
+        new DataLakeExporter(params, format).export(outputStream);
     }
 
     public boolean removeAllMeasurements() {
         List<DataLakeMeasure> allMeasurements = getAllMeasurements();
 
-        for (DataLakeMeasure measure : allMeasurements) {
-            QueryResult queryResult = new DeleteDataQuery(measure).executeQuery();
-            if (queryResult.hasError() || queryResult.getResults().get(0).getError() != null) {
-                return false;
+        try {
+            for (DataLakeMeasure measure : allMeasurements) {
+                QueryResult queryResult = new DeleteDataQuery(measure).executeQuery();
+                if (queryResult.hasError() || queryResult.getResults().get(0).getError() != null) {
+                    return false;
+                }
             }
+            return true;
+        } finally {
+            invalidateCaches();
         }
-        return true;
     }
 
     public boolean removeMeasurement(String measurementID) {
@@ -194,6 +106,7 @@ public class DataLakeManagementV4 {
         for (DataLakeMeasure measure : allMeasurements) {
             if (measure.getMeasureName().equals(measurementID)) {
                 QueryResult queryResult = new DeleteDataQuery(new DataLakeMeasure(measurementID, null)).executeQuery();
+                invalidateCaches(measurementID);
 
                 if (queryResult.hasError() || queryResult.getResults().get(0).getError() != null) {
                     return false;
@@ -210,7 +123,25 @@ public class DataLakeManagementV4 {
 
     public SpQueryResult deleteData(String measurementID, Long startDate, Long endDate) {
         Map<String, QueryParamsV4> queryParts = DataLakeManagementUtils.getDeleteQueryParams(measurementID, startDate, endDate);
-        return new DataExplorerQueryV4(queryParts).executeQuery();
+        try {
+            return new DataExplorerQueryV4(queryParts).executeQuery();
+        } finally {
+            invalidateCaches(measurementID);
+        }
+    }
+
+    /**
+     * Called after data has been deleted, as queries running concurrently to the deletion could
+     * otherwise cache the deleted events again.
+     */
+    private void invalidateCaches(String measurementID) {
+        AutoAggregationStatsCache.INSTANCE.invalidate(measurementID);
+        QueryResultCache.INSTANCE.invalidate(measurementID);
+    }
+
+    private void invalidateCaches() {
+        AutoAggregationStatsCache.INSTANCE.invalidateAll();
+        QueryResultCache.INSTANCE.invalidateAll();
     }
 
     public DataLakeConfiguration getDataLakeConfiguration() {
@@ -267,15 +198,6 @@ public class DataLakeManagementV4 {
             }
         }
 
-        try {
-            couchDbClient.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
         return isSuccess;
     }
-
-    private byte[] toBytes(String value) {
-        return value.getBytes();
-    }
 }
@@ -17,7 +17,6 @@
  */
 package org.apache.streampipes.dataexplorer.query;
 
-import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
 import org.apache.streampipes.model.datalake.DataSeries;
 import org.apache.streampipes.model.datalake.SpQueryResult;
@@ -32,7 +31,7 @@ public abstract class DataExplorerQuery<OUT> {
 
   public OUT executeQuery() throws RuntimeException {
     InfluxDB influxDB = DataExplorerUtils.getInfluxDBClient();
-    DataExplorerQueryBuilder queryBuilder = DataExplorerQueryBuilder.create(BackendConfig.INSTANCE.getInfluxDatabaseName());
+    DataExplorerQueryBuilder queryBuilder = DataExplorerQueryBuilder.create(DataExplorerUtils.getInfluxDatabaseName());
     getQuery(queryBuilder);
     Query query = queryBuilder.toQuery();
     org.influxdb.dto.QueryResult result;
@@ -42,10 +41,7 @@ public abstract class DataExplorerQuery<OUT> {
       result = influxDB.query(query);
     }
 
-    OUT dataResult = postQuery(result);
-    influxDB.close();
-
-    return dataResult;
+    return postQuery(result);
   }
 
   protected SpQueryResult convertResult(org.influxdb.dto.QueryResult result) {
@@ -17,15 +17,11 @@
  */
 package org.apache.streampipes.dataexplorer.utils;
 
-import okhttp3.OkHttpClient;
-import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.storage.management.StorageDispatcher;
 import org.influxdb.InfluxDB;
-import org.influxdb.InfluxDBFactory;
 
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 public class DataExplorerUtils {
 
@@ -36,12 +32,15 @@ public class DataExplorerUtils {
             .getAllDataLakeMeasures();
   }
 
+  /**
+   * @return the shared InfluxDB client. The client is managed by {@link InfluxClientProvider} and
+   * must not be closed by callers.
+   */
   public static InfluxDB getInfluxDBClient() {
-    OkHttpClient.Builder okHttpClientBuilder = new OkHttpClient().newBuilder()
-            .connectTimeout(120, TimeUnit.SECONDS)
-            .readTimeout(120, TimeUnit.SECONDS)
-            .writeTimeout(120, TimeUnit.SECONDS);
+    return InfluxClientProvider.INSTANCE.getInfluxDBClient();
+  }
 
-    return InfluxDBFactory.connect(BackendConfig.INSTANCE.getInfluxUrl(), okHttpClientBuilder);
+  public static String getInfluxDatabaseName() {
+    return InfluxClientProvider.INSTANCE.getDatabaseName();
   }
 }
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.utils;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.apache.streampipes.config.backend.BackendConfigKeys;
+import org.influxdb.InfluxDB;
+import org.influxdb.InfluxDBFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides a single InfluxDB client which is shared by all data explorer queries. The client keeps
+ * its connections alive between queries. The influx settings are read from the backend config at
+ * most once per refresh interval or immediately after one of them has changed; if they have
+ * changed, a new client is created and the previous one is closed once running queries had the
+ * chance to finish.
+ */
+public enum InfluxClientProvider {
+
+  INSTANCE;
+
+  private static final Logger LOG = LoggerFactory.getLogger(InfluxClientProvider.class);
+
+  private static final long CONFIG_REFRESH_INTERVAL_MILLIS = 30000;
+  private static final long KEEP_ALIVE_SECONDS = 300;
+
+  private final ScheduledExecutorService closeExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "sp-influx-client-close");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private InfluxSettings settings;
+  private InfluxDB influxDB;
+  private long lastRefresh;
+
+  InfluxClientProvider() {
+    Arrays.asList(BackendConfigKeys.INFLUX_HOST,
+            BackendConfigKeys.INFLUX_PORT,
+            BackendConfigKeys.INFLUX_DATA_BASE,
+            BackendConfigKeys.INFLUX_CONNECT_TIMEOUT,
+            BackendConfigKeys.INFLUX_READ_TIMEOUT,
+            BackendConfigKeys.INFLUX_MAX_IDLE_CONNECTIONS)
+            .forEach(key -> BackendConfig.INSTANCE.addChangeListener(key, value -> invalidate()));
+  }
+
+  public synchronized InfluxDB getInfluxDBClient() {
+    refreshIfRequired();
+    return influxDB;
+  }
+
+  public synchronized String getDatabaseName() {
+    refreshIfRequired();
+    return settings.databaseName;
+  }
+
+  /**
+   * Forces the settings to be read again on next access, e.g., after the influx config has been
+   * updated.
+   */
+  public synchronized void invalidate() {
+    this.lastRefresh = 0;
+  }
+
+  public synchronized void close() {
+    if (influxDB != null) {
+      influxDB.close();
+      influxDB = null;
+      settings = null;
+    }
+  }
+
+  private void refreshIfRequired() {
+    long now = System.currentTimeMillis();
+    if (influxDB != null && now - lastRefresh < CONFIG_REFRESH_INTERVAL_MILLIS) {
+      return;
+    }
+    InfluxSettings currentSettings = InfluxSettings.fromBackendConfig();
+    if (influxDB == null || !currentSettings.equals(settings)) {
+      InfluxDB previous = this.influxDB;
+      this.influxDB = makeClient(currentSettings);
+      if (previous != null) {
+        LOG.info("Influx settings have changed, reconnecting to {}", currentSettings.url);
+        closeExecutor.schedule(previous::close, settings.readTimeout, TimeUnit.SECONDS);
+      }
+      this.settings = currentSettings;
+    }
+    this.lastRefresh = now;
+  }
+
+  private InfluxDB makeClient(InfluxSettings settings) {
+    OkHttpClient.Builder okHttpClientBuilder = new OkHttpClient().newBuilder()
+            .connectionPool(new ConnectionPool(settings.maxIdleConnections, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS))
+            .connectTimeout(settings.connectTimeout, TimeUnit.SECONDS)
+            .readTimeout(settings.readTimeout, TimeUnit.SECONDS)
+            .writeTimeout(settings.readTimeout, TimeUnit.SECONDS);
+
+    return InfluxDBFactory.connect(settings.url, okHttpClientBuilder);
+  }
+
+  private static class InfluxSettings {
+
+    private final String url;
+    private final String databaseName;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final int maxIdleConnections;
+
+    private InfluxSettings(String url,
+                           String databaseName,
+                           int connectTimeout,
+                           int readTimeout,
+                           int maxIdleConnections) {
+      this.url = url;
+      this.databaseName = databaseName;
+      this.connectTimeout = connectTimeout;
+      this.readTimeout = readTimeout;
+      this.maxIdleConnections = maxIdleConnections;
+    }
+
+    static InfluxSettings fromBackendConfig() {
+      BackendConfig config = BackendConfig.INSTANCE;
+      return new InfluxSettings(config.getInfluxUrl(),
+              config.getInfluxDatabaseName(),
+              config.getInfluxConnectTimeout(),
+              config.getInfluxReadTimeout(),
+              config.getInfluxMaxIdleConnections());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      InfluxSettings that = (InfluxSettings) o;
+      return connectTimeout == that.connectTimeout
+              && readTimeout == that.readTimeout
+              && maxIdleConnections == that.maxIdleConnections
+              && url.equals(that.url)
+              && Objects.equals(databaseName, that.databaseName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(url, databaseName, connectTimeout, readTimeout, maxIdleConnections);
+    }
+  }
+}
@@ -17,9 +17,11 @@
  */
 package org.apache.streampipes.dataexplorer.v4;
 
-import org.apache.streampipes.dataexplorer.DataLakeManagementV4;
 import org.apache.streampipes.dataexplorer.model.Order;
+import org.apache.streampipes.dataexplorer.v4.AutoAggregationStatsCache.AutoAggregationStats;
 import org.apache.streampipes.dataexplorer.v4.params.SelectColumn;
+import org.apache.streampipes.dataexplorer.v4.query.DataExplorerQueryV4;
+import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
 import org.apache.streampipes.model.datalake.SpQueryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +31,7 @@ import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.*;
@@ -43,35 +46,26 @@ public class AutoAggregationHandler {
   private final SimpleDateFormat dateFormat1 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
   private final SimpleDateFormat dateFormat2 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
 
-  private final DataLakeManagementV4 dataLakeManagement;
   private final ProvidedQueryParams queryParams;
 
   public AutoAggregationHandler(ProvidedQueryParams params) {
     this.queryParams = params;
-    this.dataLakeManagement = new DataLakeManagementV4();
   }
 
   public ProvidedQueryParams makeAutoAggregationQueryParams() throws IllegalArgumentException {
     //checkAllArgumentsPresent();
     try {
-      SpQueryResult newest = getSingleRecord(Order.DESC);
-      SpQueryResult oldest = getSingleRecord(Order.ASC);
-      if (newest.getTotal() > 0) {
-        String sampleField = getSampleField(newest);
-        Integer count = getCount(sampleField);
-        if (count <= MAX_RETURN_LIMIT) {
-          LOG.debug("Auto-Aggregation disabled as {} results <= max return limit {}", count, MAX_RETURN_LIMIT);
-          return disableAutoAgg(this.queryParams);
-        } else {
-          LOG.debug("Performing auto-aggregation");
-
-          int aggValue = getAggregationValue(newest, oldest);
-          LOG.debug("Setting auto-aggregation value to {} ms", aggValue);
-          queryParams.update(QP_TIME_INTERVAL, aggValue + "ms");
-          return disableAutoAgg(queryParams);
-        }
-      } else {
+      AutoAggregationStats stats = getStats();
+      if (stats.getCount() <= MAX_RETURN_LIMIT) {
+        LOG.debug("Auto-Aggregation disabled as {} results <= max return limit {}", stats.getCount(), MAX_RETURN_LIMIT);
         return disableAutoAgg(this.queryParams);
+      } else {
+        LOG.debug("Performing auto-aggregation");
+
+        int aggValue = getAggregationValue(stats);
+        LOG.debug("Setting auto-aggregation value to {} ms", aggValue);
+        queryParams.update(QP_TIME_INTERVAL, aggValue + "ms");
+        return disableAutoAgg(queryParams);
       }
       } catch(ParseException e){
         e.printStackTrace();
@@ -79,6 +73,44 @@ public class AutoAggregationHandler {
     return null;
   }
 
+  /**
+   * Returns count, oldest and newest timestamp of the requested events. The three values are
+   * fetched with a single request to the data lake and cached for a short time.
+   */
+  private AutoAggregationStats getStats() throws ParseException {
+    String columns = transformColumns(queryParams.getAsString(QP_COLUMNS));
+    String cacheKey = makeCacheKey(columns);
+    Optional<AutoAggregationStats> cachedStats = AutoAggregationStatsCache.INSTANCE.get(cacheKey);
+    if (cachedStats.isPresent()) {
+      return cachedStats.get();
+    }
+
+    List<SpQueryResult> results = DataExplorerQueryV4.executeQueries(Arrays.asList(
+            toQuery(makeSingleRecordParams(Order.DESC, columns)),
+            toQuery(makeSingleRecordParams(Order.ASC, columns)),
+            toQuery(makeCountParams(getCountField(columns)))));
+
+    SpQueryResult newest = results.get(0);
+    SpQueryResult oldest = results.get(1);
+    AutoAggregationStats stats = newest.getTotal() > 0 && oldest.getTotal() > 0 ?
+            new AutoAggregationStats(extractCount(results.get(2)), extractTimestamp(oldest), extractTimestamp(newest)) :
+            AutoAggregationStats.empty();
+
+    AutoAggregationStatsCache.INSTANCE.put(cacheKey, stats);
+    return stats;
+  }
+
+  private String makeCacheKey(String columns) {
+    return queryParams.getMeasurementId() + "|" + columns
+            + "|" + queryParams.getAsString(QP_START_DATE)
+            + "|" + queryParams.getAsString(QP_END_DATE)
+            + "|" + queryParams.getAsString(QP_FILTER);
+  }
+
+  private DataExplorerQueryV4 toQuery(ProvidedQueryParams params) {
+    return new DataExplorerQueryV4(DataLakeManagementUtils.getSelectQueryParams(params));
+  }
+
   private void checkAllArgumentsPresent() throws IllegalArgumentException {
     if (!this.queryParams.has(QP_AGGREGATION_FUNCTION)) {
       throw new IllegalArgumentException("Auto-Aggregate must provide one of the aggregationFunction parameters MEAN, FIRST, LAST.");
@@ -90,36 +122,43 @@ public class AutoAggregationHandler {
     return params;
   }
 
-  public Integer getCount(String fieldName) {
+  private ProvidedQueryParams makeCountParams(String fieldName) {
     ProvidedQueryParams countParams = disableAutoAgg(new ProvidedQueryParams(queryParams));
     countParams.remove(QP_TIME_INTERVAL);
     countParams.remove(QP_AGGREGATION_FUNCTION);
     countParams.update(QP_COUNT_ONLY, true);
     countParams.update(QP_COLUMNS, fieldName);
+    return countParams;
+  }
 
-    SpQueryResult result = new DataLakeManagementV4().getData(countParams);
-    
-    return result.getTotal() > 0 ? ((Double) result.getAllDataSeries().get(0).getRows().get(0).get(1)).intValue() : 0;
+  /**
+   * COUNT() on the time column is not supported by InfluxDB, so the first other column is counted.
+   */
+  private String getCountField(String columns) {
+    return Arrays.stream(columns.split(COMMA))
+            .filter(column -> !column.equals(TIMESTAMP_FIELD))
+            .findFirst()
+            .orElse(columns.split(COMMA)[0]);
   }
 
-  private SpQueryResult fireQuery(ProvidedQueryParams params) {
-    return dataLakeManagement.getData(params);
+  private int extractCount(SpQueryResult result) {
+    return result.getTotal() > 0 ? ((Double) result.getAllDataSeries().get(0).getRows().get(0).get(1)).intValue() : 0;
   }
 
-  private int getAggregationValue(SpQueryResult newest, SpQueryResult oldest) throws ParseException {
-    long timerange = extractTimestamp(newest) - extractTimestamp(oldest);
+  private int getAggregationValue(AutoAggregationStats stats) {
+    long timerange = stats.getNewestTimestamp() - stats.getOldestTimestamp();
     double v = timerange / MAX_RETURN_LIMIT;
     return Double.valueOf(v).intValue();
   }
 
-  private SpQueryResult getSingleRecord(Order order) throws ParseException {
+  private ProvidedQueryParams makeSingleRecordParams(Order order, String columns) {
     ProvidedQueryParams singleEvent = disableAutoAgg(new ProvidedQueryParams(queryParams));
     singleEvent.remove(QP_AGGREGATION_FUNCTION);
+    singleEvent.remove(QP_TIME_INTERVAL);
     singleEvent.update(QP_LIMIT, 1);
     singleEvent.update(QP_ORDER, order.toValue());
-    singleEvent.update(QP_COLUMNS, transformColumns(singleEvent.getAsString(QP_COLUMNS)));
-
-    return fireQuery(singleEvent);
+    singleEvent.update(QP_COLUMNS, columns);
+    return singleEvent;
   }
 
   private String transformColumns(String rawQuery) {
@@ -127,15 +166,6 @@ public class AutoAggregationHandler {
     return columns.stream().map(SelectColumn::getOriginalField).collect(Collectors.joining(COMMA));
   }
 
-  private String getSampleField(SpQueryResult result) {
-    for (String column : result.getHeaders()) {
-      if (!column.equals(TIMESTAMP_FIELD)) {
-        return column;
-      }
-    }
-    throw new IllegalArgumentException("No columns present");
-  }
-
   private long extractTimestamp(SpQueryResult result) throws ParseException {
     int timestampIndex = result.getHeaders().indexOf(TIMESTAMP_FIELD);
     return tryParseDate(result.getAllDataSeries().get(0).getRows().get(0).get(timestampIndex).toString()).getTime();
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.v4;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of the statistics (time range and number of events) the auto-aggregation is
+ * planned with. Dashboards query the same measurement and time range for several widgets at
+ * once, so the statistics are only computed once per refresh.
+ */
+public enum AutoAggregationStatsCache {
+
+  INSTANCE;
+
+  private static final long TTL_MILLIS = 10000;
+  private static final int MAX_ENTRIES = 1000;
+
+  private final Map<String, AutoAggregationStats> cache = new ConcurrentHashMap<>();
+
+  public Optional<AutoAggregationStats> get(String key) {
+    AutoAggregationStats stats = cache.get(key);
+    if (stats != null && stats.isExpired()) {
+      cache.remove(key, stats);
+      return Optional.empty();
+    }
+    return Optional.ofNullable(stats);
+  }
+
+  public void put(String key, AutoAggregationStats stats) {
+    if (cache.size() >= MAX_ENTRIES) {
+      cache.values().removeIf(AutoAggregationStats::isExpired);
+      if (cache.size() >= MAX_ENTRIES) {
+        cache.clear();
+      }
+    }
+    cache.put(key, stats);
+  }
+
+  public void invalidate(String measurementId) {
+    cache.keySet().removeIf(key -> key.startsWith(measurementId + "|"));
+  }
+
+  public void invalidateAll() {
+    cache.clear();
+  }
+
+  public static class AutoAggregationStats {
+
+    private final int count;
+    private final long oldestTimestamp;
+    private final long newestTimestamp;
+    private final long createdAt;
+
+    public AutoAggregationStats(int count, long oldestTimestamp, long newestTimestamp) {
+      this.count = count;
+      this.oldestTimestamp = oldestTimestamp;
+      this.newestTimestamp = newestTimestamp;
+      this.createdAt = System.currentTimeMillis();
+    }
+
+    public static AutoAggregationStats empty() {
+      return new AutoAggregationStats(0, 0, 0);
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+    public long getOldestTimestamp() {
+      return oldestTimestamp;
+    }
+
+    public long getNewestTimestamp() {
+      return newestTimestamp;
+    }
+
+    boolean isExpired() {
+      return System.currentTimeMillis() - createdAt > TTL_MILLIS;
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.v4;
+
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded LRU cache of data explorer query results, keyed by the InfluxDB statement a query
+ * is translated to. Results of time windows which are still open (no end date or an end date
+ * close to now) expire after a few seconds, results of closed windows are kept longer. Large
+ * results and results carrying an InfluxDB error are not cached at all.
+ *
+ * Results are only cached if no invalidation happened since the query was started (see
+ * {@link #getGeneration()}), so that a query running concurrently to a deletion does not put the
+ * deleted events back into the cache.
+ */
+public enum QueryResultCache {
+
+  INSTANCE;
+
+  private static final int MAX_ENTRIES = 500;
+  private static final int MAX_CACHED_ROWS = 20000;
+  private static final long OPEN_WINDOW_TTL_MILLIS = 5000;
+  private static final long CLOSED_WINDOW_TTL_MILLIS = 600000;
+  private static final long OPEN_WINDOW_THRESHOLD_MILLIS = 60000;
+
+  private final LinkedHashMap<String, CachedResult> cache = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+      if (size() > MAX_ENTRIES) {
+        evictions.increment();
+        return true;
+      }
+      return false;
+    }
+  };
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private long generation;
+
+  public synchronized Optional<SpQueryResult> get(String statement) {
+    CachedResult cachedResult = cache.get(statement);
+    if (cachedResult != null && cachedResult.isExpired()) {
+      cache.remove(statement);
+      cachedResult = null;
+    }
+    if (cachedResult != null) {
+      hits.increment();
+      return Optional.of(cachedResult.result);
+    } else {
+      misses.increment();
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @return the current generation of the cache, which needs to be obtained before the query is
+   * executed and passed to {@link #put}.
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * @param endDate    the end of the queried time window in milliseconds, or null if the window is
+   *                   open-ended.
+   * @param generation the generation of the cache at the time the query was started.
+   */
+  public synchronized void put(String measurementId,
+                               String statement,
+                               Long endDate,
+                               SpQueryResult result,
+                               long generation) {
+    if (generation != this.generation || countRows(result) > MAX_CACHED_ROWS) {
+      return;
+    }
+    long ttl = isOpenWindow(endDate) ? OPEN_WINDOW_TTL_MILLIS : CLOSED_WINDOW_TTL_MILLIS;
+    cache.put(statement, new CachedResult(measurementId, result, ttl));
+  }
+
+  public synchronized void invalidate(String measurementId) {
+    generation++;
+    Iterator<CachedResult> iterator = cache.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().measurementId.equals(measurementId)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    generation++;
+    cache.clear();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  public synchronized int getSize() {
+    return cache.size();
+  }
+
+  public double getHitRatio() {
+    long requests = getHits() + getMisses();
+    return requests > 0 ? (double) getHits() / requests : 0.0;
+  }
+
+  @Override
+  public String toString() {
+    return "size=" + getSize()
+            + ", hits=" + getHits()
+            + ", misses=" + getMisses()
+            + ", evictions=" + getEvictions()
+            + ", hitRatio=" + String.format("%.2f", getHitRatio());
+  }
+
+  private boolean isOpenWindow(Long endDate) {
+    return endDate == null || endDate > System.currentTimeMillis() - OPEN_WINDOW_THRESHOLD_MILLIS;
+  }
+
+  private int countRows(SpQueryResult result) {
+    int rows = 0;
+    for (DataSeries series : result.getAllDataSeries()) {
+      rows += series.getRows().size();
+    }
+    return rows;
+  }
+
+  private static class CachedResult {
+
+    private final String measurementId;
+    private final SpQueryResult result;
+    private final long expiresAt;
+
+    CachedResult(String measurementId, SpQueryResult result, long ttl) {
+      this.measurementId = measurementId;
+      this.result = result;
+      this.expiresAt = System.currentTimeMillis() + ttl;
+    }
+
+    boolean isExpired() {
+      return System.currentTimeMillis() > expiresAt;
+    }
+  }
+}
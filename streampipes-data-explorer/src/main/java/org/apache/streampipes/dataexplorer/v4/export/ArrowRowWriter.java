@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes rows as an Apache Arrow IPC stream, which can be read directly into column-oriented data
+ * frames (e.g., pyarrow.ipc.open_stream(...).read_pandas()). Rows are collected into record
+ * batches. The column types are derived from the first batch: the time column becomes a UTC
+ * timestamp, columns with only numbers become doubles, columns with only booleans become bits and
+ * all other columns (including columns with mixed types) become strings. As the schema of an Arrow
+ * stream is fixed, the export fails if a later batch contains a value which does not fit the type
+ * of its column.
+ */
+public class ArrowRowWriter implements RowWriter {
+
+  static final int BATCH_SIZE = 10000;
+  private static final String TIMESTAMP_FIELD = "time";
+
+  private final OutputStream outputStream;
+  private final List<List<Object>> batch = new ArrayList<>(BATCH_SIZE);
+
+  private List<String> headers = Collections.emptyList();
+  private BufferAllocator allocator;
+  private VectorSchemaRoot root;
+  private ArrowStreamWriter writer;
+
+  public ArrowRowWriter(OutputStream outputStream) {
+    this.outputStream = outputStream;
+  }
+
+  @Override
+  public void beforeFirstRow(List<String> headers) {
+    this.headers = headers;
+  }
+
+  @Override
+  public void writeRow(List<Object> row) throws IOException {
+    batch.add(row);
+    if (batch.size() == BATCH_SIZE) {
+      writeBatch();
+    }
+  }
+
+  @Override
+  public void afterLastRow() throws IOException {
+    if (root == null || !batch.isEmpty()) {
+      writeBatch();
+    }
+    writer.end();
+  }
+
+  private void writeBatch() throws IOException {
+    if (root == null) {
+      start();
+    }
+    root.allocateNew();
+    for (int column = 0; column < headers.size(); column++) {
+      FieldVector vector = root.getVector(column);
+      for (int row = 0; row < batch.size(); row++) {
+        setValue(vector, row, batch.get(row).get(column), headers.get(column));
+      }
+      vector.setValueCount(batch.size());
+    }
+    root.setRowCount(batch.size());
+    writer.writeBatch();
+    batch.clear();
+  }
+
+  private void start() throws IOException {
+    List<Field> fields = new ArrayList<>();
+    for (int column = 0; column < headers.size(); column++) {
+      fields.add(Field.nullable(headers.get(column), inferType(column)));
+    }
+    this.allocator = new RootAllocator();
+    this.root = VectorSchemaRoot.create(new Schema(fields), allocator);
+    this.writer = new ArrowStreamWriter(root, null, Channels.newChannel(outputStream));
+    this.writer.start();
+  }
+
+  private ArrowType inferType(int column) {
+    if (TIMESTAMP_FIELD.equals(headers.get(column))) {
+      return new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC");
+    }
+    boolean numbers = false;
+    boolean booleans = false;
+    for (List<Object> row : batch) {
+      Object value = row.get(column);
+      if (value instanceof Number) {
+        numbers = true;
+      } else if (value instanceof Boolean) {
+        booleans = true;
+      } else if (value != null) {
+        return ArrowType.Utf8.INSTANCE;
+      }
+    }
+    if (numbers && !booleans) {
+      return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+    } else if (booleans && !numbers) {
+      return ArrowType.Bool.INSTANCE;
+    } else {
+      return ArrowType.Utf8.INSTANCE;
+    }
+  }
+
+  private void setValue(FieldVector vector, int index, Object value, String column) throws IOException {
+    if (value == null) {
+      vector.setNull(index);
+    } else if (vector instanceof VarCharVector) {
+      ((VarCharVector) vector).setSafe(index, value.toString().getBytes(StandardCharsets.UTF_8));
+    } else if (vector instanceof TimeStampMilliTZVector && value instanceof Number) {
+      ((TimeStampMilliTZVector) vector).setSafe(index, ((Number) value).longValue());
+    } else if (vector instanceof Float8Vector && value instanceof Number) {
+      ((Float8Vector) vector).setSafe(index, ((Number) value).doubleValue());
+    } else if (vector instanceof BitVector && value instanceof Boolean) {
+      ((BitVector) vector).setSafe(index, (Boolean) value ? 1 : 0);
+    } else {
+      throw new IOException("Could not export column '" + column + "' to Arrow: the column was typed as "
+              + vector.getField().getType() + " based on its first " + BATCH_SIZE + " rows, but contains the "
+              + value.getClass().getSimpleName() + " value '" + value + "'. Use the CSV or JSON format "
+              + "to export columns with mixed types.");
+    }
+  }
+
+  /**
+   * Releases the vectors. The stream writer itself is not closed, as this would close the
+   * underlying output stream.
+   */
+  @Override
+  public void close() {
+    batch.clear();
+    if (root != null) {
+      root.close();
+    }
+    if (allocator != null) {
+      allocator.close();
+    }
+  }
+}
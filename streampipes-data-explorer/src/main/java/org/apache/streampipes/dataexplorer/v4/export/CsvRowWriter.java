@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes rows as CSV with a header line, values are separated by semicolons.
+ */
+public class CsvRowWriter implements RowWriter {
+
+  private static final char SEPARATOR = ';';
+  private static final char NEWLINE = '\n';
+
+  private final Writer writer;
+
+  public CsvRowWriter(Writer writer) {
+    this.writer = writer;
+  }
+
+  @Override
+  public void beforeFirstRow(List<String> headers) throws IOException {
+    for (int i = 0; i < headers.size(); i++) {
+      if (i > 0) {
+        writer.write(SEPARATOR);
+      }
+      writer.write(headers.get(i));
+    }
+    writer.write(NEWLINE);
+  }
+
+  @Override
+  public void writeRow(List<Object> row) throws IOException {
+    for (int i = 0; i < row.size(); i++) {
+      if (i > 0) {
+        writer.write(SEPARATOR);
+      }
+      Object element = row.get(i);
+      if (element != null) {
+        writer.write(element.toString());
+      }
+    }
+    writer.write(NEWLINE);
+  }
+
+  @Override
+  public void afterLastRow() throws IOException {
+    writer.flush();
+  }
+}
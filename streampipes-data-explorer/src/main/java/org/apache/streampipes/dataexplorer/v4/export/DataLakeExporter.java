@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.dataexplorer.v4.query.DataExplorerQueryV4;
+import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
+import org.influxdb.Cancellable;
+import org.influxdb.dto.QueryResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.*;
+
+/**
+ * Exports a measurement by streaming the result of a single chunked InfluxDB query into the output
+ * stream. Chunks are written as soon as they arrive, at most a few chunks are held in memory at
+ * any time; if the client is slower than the database, the query is paused.
+ */
+public class DataLakeExporter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DataLakeExporter.class);
+
+  public static final String FORMAT_JSON = "json";
+  public static final String FORMAT_CSV = "csv";
+  public static final String FORMAT_ARROW = "arrow";
+  public static final String COMPRESSION_GZIP = "gzip";
+
+  static final int DEFAULT_PAGE_SIZE = 500000;
+
+  private static final int CHUNK_SIZE = 10000;
+  private static final int BUFFERED_CHUNKS = 4;
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+  private static final long POLL_INTERVAL_MILLIS = 100;
+  private static final String TIMESTAMP_FIELD = "time";
+  private static final String END_OF_RESULTS = "DONE";
+
+  private static final Object COMPLETED = new Object();
+
+  private final ProvidedQueryParams params;
+  private final String format;
+
+  private final BlockingQueue<Object> chunks = new ArrayBlockingQueue<>(BUFFERED_CHUNKS);
+  private volatile boolean closed;
+  private volatile Cancellable cancellable;
+
+  public DataLakeExporter(ProvidedQueryParams params, String format) {
+    this.params = new ProvidedQueryParams(params);
+    this.format = format;
+  }
+
+  public void export(OutputStream outputStream) throws IOException {
+    boolean gzip = params.has(QP_COMPRESSION) && COMPRESSION_GZIP.equals(params.getAsString(QP_COMPRESSION));
+    OutputStream target = gzip ? new GZIPOutputStream(outputStream, WRITE_BUFFER_SIZE) : outputStream;
+    BufferedOutputStream bufferedTarget = new BufferedOutputStream(target, WRITE_BUFFER_SIZE);
+
+    try (RowWriter rowWriter = makeRowWriter(bufferedTarget)) {
+      writeRows(rowWriter);
+      bufferedTarget.flush();
+      if (gzip) {
+        ((GZIPOutputStream) target).finish();
+      }
+    } finally {
+      close();
+    }
+  }
+
+  private RowWriter makeRowWriter(OutputStream outputStream) {
+    if (FORMAT_JSON.equals(format)) {
+      return new JsonRowWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    } else if (FORMAT_CSV.equals(format)) {
+      return new CsvRowWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    } else if (FORMAT_ARROW.equals(format)) {
+      return new ArrowRowWriter(outputStream);
+    } else {
+      throw new IllegalArgumentException("Unsupported export format " + format);
+    }
+  }
+
+  private void writeRows(RowWriter rowWriter) throws IOException {
+    new DataExplorerQueryV4(DataLakeManagementUtils.getSelectQueryParams(toExportParams()))
+            .executeChunkedQuery(CHUNK_SIZE, this::onChunk, () -> enqueue(COMPLETED), this::enqueue);
+
+    int timestampIndex = -1;
+    boolean headersWritten = false;
+    Object chunk;
+    while ((chunk = take()) != COMPLETED) {
+      if (chunk instanceof Throwable) {
+        throw new IOException("Could not export data of measurement " + params.getMeasurementId(), (Throwable) chunk);
+      }
+      QueryResult result = (QueryResult) chunk;
+      if (result.getError() != null) {
+        if (END_OF_RESULTS.equals(result.getError())) {
+          break;
+        }
+        throw new IOException("Could not export data of measurement " + params.getMeasurementId() + ": " + result.getError());
+      }
+      for (QueryResult.Result r : result.getResults()) {
+        if (r.getSeries() == null) {
+          continue;
+        }
+        for (QueryResult.Series series : r.getSeries()) {
+          if (!headersWritten) {
+            rowWriter.beforeFirstRow(series.getColumns());
+            timestampIndex = series.getColumns().indexOf(TIMESTAMP_FIELD);
+            headersWritten = true;
+          }
+          for (List<Object> row : series.getValues()) {
+            if (timestampIndex >= 0) {
+              row.set(timestampIndex, toEpochMillis(row.get(timestampIndex)));
+            }
+            rowWriter.writeRow(row);
+          }
+        }
+      }
+    }
+    rowWriter.afterLastRow();
+  }
+
+  /**
+   * Exports all events starting at the requested page (or offset). The limit parameter used to be
+   * the page size of the export (500000 if not provided) and therefore does not restrict the number
+   * of exported events.
+   */
+  ProvidedQueryParams toExportParams() {
+    ProvidedQueryParams exportParams = new ProvidedQueryParams(params);
+    if (!exportParams.has(QP_OFFSET) && exportParams.has(QP_PAGE)) {
+      int pageSize = exportParams.has(QP_LIMIT) ? exportParams.getAsInt(QP_LIMIT) : DEFAULT_PAGE_SIZE;
+      exportParams.update(QP_OFFSET, exportParams.getAsInt(QP_PAGE) * pageSize);
+    }
+    DataLakeManagementUtils.applyIncrementalCursor(exportParams);
+    exportParams.remove(QP_PAGE);
+    exportParams.remove(QP_LIMIT);
+    exportParams.remove(QP_COMPRESSION);
+    exportParams.remove(QP_FORMAT);
+    return exportParams;
+  }
+
+  private Object toEpochMillis(Object timestamp) {
+    if (timestamp instanceof String) {
+      try {
+        return Instant.parse((String) timestamp).toEpochMilli();
+      } catch (DateTimeParseException e) {
+        return timestamp;
+      }
+    }
+    return timestamp;
+  }
+
+  private void onChunk(Cancellable cancellable, QueryResult result) {
+    this.cancellable = cancellable;
+    enqueue(result);
+  }
+
+  private void enqueue(Object chunk) {
+    try {
+      while (!closed && !chunks.offer(chunk, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+        // waiting for the writer to catch up
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private Object take() throws IOException {
+    try {
+      return chunks.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while exporting measurement " + params.getMeasurementId());
+    }
+  }
+
+  private void close() {
+    this.closed = true;
+    Cancellable currentCancellable = this.cancellable;
+    if (currentCancellable != null && !currentCancellable.isCanceled()) {
+      LOG.debug("Cancelling export query of measurement {}", params.getMeasurementId());
+      currentCancellable.cancel();
+    }
+    chunks.clear();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes rows as a JSON array of objects, e.g., [{"time": 1623871500000, "load": 42}].
+ */
+public class JsonRowWriter implements RowWriter {
+
+  private final Writer writer;
+  private final Gson gson;
+
+  private String[] fieldPrefixes;
+  private boolean firstRow = true;
+
+  public JsonRowWriter(Writer writer) {
+    this.writer = writer;
+    this.gson = new Gson();
+  }
+
+  @Override
+  public void beforeFirstRow(List<String> headers) throws IOException {
+    this.fieldPrefixes = new String[headers.size()];
+    for (int i = 0; i < headers.size(); i++) {
+      fieldPrefixes[i] = (i > 0 ? "," : "") + gson.toJson(headers.get(i)) + ": ";
+    }
+    writer.write('[');
+  }
+
+  @Override
+  public void writeRow(List<Object> row) throws IOException {
+    if (!firstRow) {
+      writer.write(',');
+    }
+    firstRow = false;
+    writer.write('{');
+    for (int i = 0; i < row.size(); i++) {
+      writer.write(fieldPrefixes[i]);
+      gson.toJson(row.get(i), writer);
+    }
+    writer.write('}');
+  }
+
+  @Override
+  public void afterLastRow() throws IOException {
+    if (fieldPrefixes == null) {
+      writer.write('[');
+    }
+    writer.write(']');
+    writer.flush();
+  }
+}
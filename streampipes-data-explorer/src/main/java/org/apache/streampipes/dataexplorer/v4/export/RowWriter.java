@@ -15,26 +15,25 @@
  * limitations under the License.
  *
  */
+package org.apache.streampipes.dataexplorer.v4.export;
 
-package org.apache.streampipes.messaging.jms;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
 
-import org.apache.activemq.ActiveMQConnectionFactory;
+/**
+ * Writes the rows of a data lake export in a specific output format. Closing a row writer
+ * releases its resources, but does not close the underlying stream.
+ */
+public interface RowWriter extends Closeable {
 
-import javax.jms.Connection;
-import javax.jms.JMSException;
+  void beforeFirstRow(List<String> headers) throws IOException;
 
-public abstract class ActiveMQConnectionProvider {
+  void writeRow(List<Object> row) throws IOException;
 
-    protected Connection startJmsConnection(String url) {
-        try {
-            ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(url);
-            connectionFactory.setAlwaysSyncSend(false);
-            Connection connect = connectionFactory.createConnection();
+  void afterLastRow() throws IOException;
 
-            connect.start();
-            return connect;
-        } catch (JMSException e) {
-            throw new AssertionError("Failed to establish the JMS-Connection!", e);
-        }
-    }
+  @Override
+  default void close() throws IOException {
+  }
 }
@@ -18,13 +18,13 @@
 
 package org.apache.streampipes.dataexplorer.v4.query;
 
-import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
 import org.apache.streampipes.dataexplorer.v4.params.*;
 import org.apache.streampipes.dataexplorer.v4.query.elements.*;
 import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
 import org.apache.streampipes.model.datalake.DataSeries;
 import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.influxdb.Cancellable;
 import org.influxdb.InfluxDB;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
@@ -34,6 +34,8 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class DataExplorerQueryV4 {
 
@@ -46,23 +48,76 @@ public class DataExplorerQueryV4 {
     }
 
     public SpQueryResult executeQuery() throws RuntimeException {
-        InfluxDB influxDB = DataExplorerUtils.getInfluxDBClient();
-        List<QueryElement<?>> queryElements = getQueryElements();
+        return postQuery(executeRawQuery());
+    }
 
-        QueryBuilder queryBuilder = QueryBuilder.create(BackendConfig.INSTANCE.getInfluxDatabaseName());
-        Query query = queryBuilder.build(queryElements);
+    /**
+     * @return the unconverted InfluxDB result, which still carries errors reported by InfluxDB.
+     */
+    public QueryResult executeRawQuery() throws RuntimeException {
+        InfluxDB influxDB = DataExplorerUtils.getInfluxDBClient();
+        Query query = toQuery();
         LOG.debug("Data Lake Query (database:" + query.getDatabase() + "): " + query.getCommand());
 
         QueryResult result = influxDB.query(query);
         LOG.debug("Data Lake Query Result: " + result.toString());
 
-        SpQueryResult dataResult = postQuery(result);
+        return result;
+    }
 
-        influxDB.close();
-        return dataResult;
+    /**
+     * @return true if InfluxDB reported an error for the whole query or for one of its statements.
+     */
+    public static boolean hasError(QueryResult queryResult) {
+        return queryResult.hasError()
+                || (queryResult.getResults() != null
+                && queryResult.getResults().stream().anyMatch(QueryResult.Result::hasError));
     }
 
 
+    /**
+     * @return the InfluxDB query this query is translated to.
+     */
+    public Query toQuery() {
+        return QueryBuilder.create(DataExplorerUtils.getInfluxDatabaseName()).build(getQueryElements());
+    }
+
+    /**
+     * Executes the query as a chunked query. InfluxDB streams the result in chunks of the given
+     * size, which are passed to onNext as soon as they have been received.
+     */
+    public void executeChunkedQuery(int chunkSize,
+                                    BiConsumer<Cancellable, QueryResult> onNext,
+                                    Runnable onComplete,
+                                    Consumer<Throwable> onFailure) {
+        InfluxDB influxDB = DataExplorerUtils.getInfluxDBClient();
+        Query query = toQuery();
+        LOG.debug("Chunked Data Lake Query (database:" + query.getDatabase() + "): " + query.getCommand());
+
+        influxDB.query(query, chunkSize, onNext, onComplete, onFailure);
+    }
+
+    /**
+     * Executes several queries in a single request to InfluxDB.
+     *
+     * @return the results in the order of the given queries.
+     */
+    public static List<SpQueryResult> executeQueries(List<DataExplorerQueryV4> queries) throws RuntimeException {
+        InfluxDB influxDB = DataExplorerUtils.getInfluxDBClient();
+        List<List<QueryElement<?>>> statements = new ArrayList<>();
+        queries.forEach(q -> statements.add(q.getQueryElements()));
+
+        Query query = QueryBuilder.create(DataExplorerUtils.getInfluxDatabaseName()).buildAll(statements);
+        LOG.debug("Data Lake Query (database:" + query.getDatabase() + "): " + query.getCommand());
+
+        QueryResult result = influxDB.query(query);
+        List<SpQueryResult> dataResults = new ArrayList<>();
+        for (int i = 0; i < queries.size(); i++) {
+            dataResults.add(queries.get(i).postQuery(result.getResults().get(i)));
+        }
+        return dataResults;
+    }
+
     protected DataSeries convertResult(QueryResult.Series series) {
         List<String> columns = series.getColumns();
         List<List<Object>> values = series.getValues();
@@ -78,12 +133,16 @@ public class DataExplorerQueryV4 {
         return new DataSeries(values.size(), resultingValues, columns, series.getTags());
     }
 
-    protected SpQueryResult postQuery(QueryResult queryResult) throws RuntimeException {
+    public SpQueryResult postQuery(QueryResult queryResult) throws RuntimeException {
+        return postQuery(queryResult.getResults().get(0));
+    }
+
+    protected SpQueryResult postQuery(QueryResult.Result queryResult) throws RuntimeException {
         SpQueryResult result = new SpQueryResult();
 
-        if (queryResult.getResults().get(0).getSeries() != null) {
-            result.setTotal(queryResult.getResults().get(0).getSeries().size());
-            queryResult.getResults().get(0).getSeries().forEach(rs -> {
+        if (queryResult.getSeries() != null) {
+            result.setTotal(queryResult.getSeries().size());
+            queryResult.getSeries().forEach(rs -> {
                 DataSeries series = convertResult(rs);
                 result.setHeaders(series.getHeaders());
                 result.addDataResult(series);
@@ -45,6 +45,20 @@ public class QueryBuilder {
         return toQuery();
     }
 
+    /**
+     * Builds a single query containing several statements, which InfluxDB answers in one round
+     * trip with one result per statement.
+     */
+    public Query buildAll(List<List<QueryElement<?>>> statements) {
+        StringJoiner joinedStatements = new StringJoiner("; ");
+        for (List<QueryElement<?>> queryElements : statements) {
+            StringJoiner statement = new StringJoiner(" ");
+            queryElements.forEach(queryPart -> statement.add(queryPart.getStatement()));
+            joinedStatements.add(statement.toString());
+        }
+        return new Query(joinedStatements.toString(), this.databaseName);
+    }
+
     public Query toQuery() {
         return new Query(this.queryParts.toString(), this.databaseName);
     }
@@ -22,6 +22,8 @@ import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
 import org.apache.streampipes.dataexplorer.v4.params.*;
 
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.*;
 
@@ -42,6 +44,8 @@ public class DataLakeManagementUtils {
 
   public static final String DELETE_FROM = "DELETE";
 
+  private static final Pattern TIME_INTERVAL_PATTERN = Pattern.compile("^(\\d+)(ms|s|m|h|d|w)$");
+
   public static Map<String, QueryParamsV4> getSelectQueryParams(ProvidedQueryParams params) {
     Map<String, QueryParamsV4> queryParts = new HashMap<>();
     String measurementId = params.getMeasurementId();
@@ -111,6 +115,65 @@ public class DataLakeManagementUtils {
     return queryParts;
   }
 
+  /**
+   * Aligns the time window of an aggregated query to the aggregation interval. The first and the
+   * last bucket then cover a full interval, and clients which refresh a few seconds apart issue
+   * the same query.
+   */
+  public static void alignToTimeInterval(ProvidedQueryParams params) {
+    if (params.has(QP_TIME_INTERVAL) && params.has(QP_START_DATE) && params.has(QP_END_DATE)) {
+      long interval = toMillis(params.getAsString(QP_TIME_INTERVAL));
+      if (interval > 0) {
+        long startDate = params.getAsLong(QP_START_DATE);
+        long endDate = params.getAsLong(QP_END_DATE);
+        params.update(QP_START_DATE, String.valueOf(Math.floorDiv(startDate, interval) * interval));
+        params.update(QP_END_DATE, String.valueOf(-Math.floorDiv(-endDate, interval) * interval));
+      }
+    }
+  }
+
+  /**
+   * Restricts a query to events newer than the timestamp of the last event a client has already
+   * received (incremental query). For aggregated queries, the bucket containing that timestamp is
+   * still open and therefore recomputed, all older buckets are skipped.
+   */
+  public static void applyIncrementalCursor(ProvidedQueryParams params) {
+    if (!params.has(QP_SINCE)) {
+      return;
+    }
+    long since = params.getAsLong(QP_SINCE);
+    long cursor = since;
+    if (params.has(QP_TIME_INTERVAL)) {
+      long interval = toMillis(params.getAsString(QP_TIME_INTERVAL));
+      if (interval > 0) {
+        // time boundaries are exclusive, so the open bucket starts one millisecond after the cursor
+        cursor = Math.floorDiv(since, interval) * interval - 1;
+      }
+    }
+    if (!params.has(QP_START_DATE) || params.getAsLong(QP_START_DATE) < cursor) {
+      params.update(QP_START_DATE, String.valueOf(cursor));
+    }
+    params.remove(QP_SINCE);
+    params.remove(QP_PAGE);
+    params.remove(QP_OFFSET);
+  }
+
+  private static long toMillis(String timeInterval) {
+    Matcher matcher = TIME_INTERVAL_PATTERN.matcher(timeInterval);
+    if (!matcher.matches()) {
+      return 0;
+    }
+    long value = Long.parseLong(matcher.group(1));
+    switch (matcher.group(2)) {
+      case "ms": return value;
+      case "s": return value * 1000;
+      case "m": return value * 60000;
+      case "h": return value * 3600000;
+      case "d": return value * 86400000;
+      default: return value * 604800000;
+    }
+  }
+
   private static boolean hasTimeParams(ProvidedQueryParams params) {
     return params.has(QP_START_DATE) ||
             params.has(QP_END_DATE);
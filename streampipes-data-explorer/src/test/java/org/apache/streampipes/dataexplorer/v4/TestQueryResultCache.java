@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.v4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TestQueryResultCache {
+
+  private static final long CLOSED_WINDOW_END = 0L;
+
+  private final QueryResultCache cache = QueryResultCache.INSTANCE;
+
+  @Before
+  public void setUp() {
+    cache.invalidateAll();
+  }
+
+  @Test
+  public void testHitAndMiss() {
+    SpQueryResult result = makeResult(1);
+    long hits = cache.getHits();
+    long misses = cache.getMisses();
+
+    assertFalse(cache.get("SELECT * FROM m1").isPresent());
+    cache.put("m1", "SELECT * FROM m1", CLOSED_WINDOW_END, result, cache.getGeneration());
+
+    assertSame(result, cache.get("SELECT * FROM m1").get());
+    assertEquals(hits + 1, cache.getHits());
+    assertEquals(misses + 1, cache.getMisses());
+  }
+
+  @Test
+  public void testInvalidateMeasurement() {
+    cache.put("m1", "SELECT * FROM m1", CLOSED_WINDOW_END, makeResult(1), cache.getGeneration());
+    cache.put("m2", "SELECT * FROM m2", CLOSED_WINDOW_END, makeResult(1), cache.getGeneration());
+
+    cache.invalidate("m1");
+
+    assertFalse(cache.get("SELECT * FROM m1").isPresent());
+    assertTrue(cache.get("SELECT * FROM m2").isPresent());
+  }
+
+  @Test
+  public void testNoPutAfterConcurrentInvalidation() {
+    long generation = cache.getGeneration();
+
+    cache.invalidate("m1");
+    cache.put("m1", "SELECT * FROM m1", CLOSED_WINDOW_END, makeResult(1), generation);
+
+    assertFalse(cache.get("SELECT * FROM m1").isPresent());
+  }
+
+  @Test
+  public void testLargeResultNotCached() {
+    cache.put("m1", "SELECT * FROM m1", CLOSED_WINDOW_END, makeResult(20001), cache.getGeneration());
+
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testOpenWindowCached() {
+    cache.put("m1", "SELECT * FROM m1", null, makeResult(1), cache.getGeneration());
+
+    assertTrue(cache.get("SELECT * FROM m1").isPresent());
+  }
+
+  @Test
+  public void testEviction() {
+    long evictions = cache.getEvictions();
+
+    for (int i = 0; i <= 500; i++) {
+      cache.put("m1", "SELECT * FROM m1 LIMIT " + i, CLOSED_WINDOW_END, makeResult(1), cache.getGeneration());
+    }
+
+    assertEquals(500, cache.getSize());
+    assertEquals(evictions + 1, cache.getEvictions());
+    assertFalse(cache.get("SELECT * FROM m1 LIMIT 0").isPresent());
+  }
+
+  private SpQueryResult makeResult(int rows) {
+    List<List<Object>> values = new ArrayList<>();
+    for (int i = 0; i < rows; i++) {
+      values.add(Arrays.asList("2021-01-01T00:00:00Z", i));
+    }
+    DataSeries series = new DataSeries(rows, values, Arrays.asList("time", "value"), Collections.emptyMap());
+    return new SpQueryResult(1, series.getHeaders(), Collections.singletonList(series));
+  }
+}
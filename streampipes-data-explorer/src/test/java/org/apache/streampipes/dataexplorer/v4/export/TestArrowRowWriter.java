@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestArrowRowWriter {
+
+  private static final List<String> HEADERS = Arrays.asList("time", "value", "flag", "mixed");
+
+  @Test
+  public void testColumnTypes() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (ArrowRowWriter rowWriter = new ArrowRowWriter(outputStream)) {
+      rowWriter.beforeFirstRow(HEADERS);
+      rowWriter.writeRow(Arrays.asList(1000L, 1.5, true, 1));
+      rowWriter.writeRow(Arrays.asList(2000L, 2, false, "a"));
+      rowWriter.writeRow(Arrays.asList(3000L, null, null, null));
+      rowWriter.afterLastRow();
+    }
+
+    try (BufferAllocator allocator = new RootAllocator();
+         ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(outputStream.toByteArray()),
+                 allocator)) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      Schema schema = root.getSchema();
+      assertEquals(new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC"), schema.findField("time").getType());
+      assertEquals(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE), schema.findField("value").getType());
+      assertEquals(ArrowType.Bool.INSTANCE, schema.findField("flag").getType());
+      assertEquals(ArrowType.Utf8.INSTANCE, schema.findField("mixed").getType());
+
+      assertTrue(reader.loadNextBatch());
+      assertEquals(3, root.getRowCount());
+      assertEquals(2000L, ((TimeStampMilliTZVector) root.getVector("time")).get(1));
+      assertEquals(2.0, ((Float8Vector) root.getVector("value")).get(1), 0.0);
+      assertEquals(1, ((BitVector) root.getVector("flag")).get(0));
+      assertEquals("1", ((VarCharVector) root.getVector("mixed")).getObject(0).toString());
+      assertEquals("a", ((VarCharVector) root.getVector("mixed")).getObject(1).toString());
+      assertTrue(root.getVector("mixed").isNull(2));
+    }
+  }
+
+  @Test
+  public void testMismatchInLaterBatchFails() throws IOException {
+    try (ArrowRowWriter rowWriter = new ArrowRowWriter(new ByteArrayOutputStream())) {
+      rowWriter.beforeFirstRow(HEADERS);
+      for (int i = 0; i < ArrowRowWriter.BATCH_SIZE; i++) {
+        rowWriter.writeRow(Arrays.asList((long) i, 1.0, true, "a"));
+      }
+      rowWriter.writeRow(Arrays.asList((long) ArrowRowWriter.BATCH_SIZE, "text", true, "a"));
+      rowWriter.afterLastRow();
+      fail("Expected the export of a value not matching its column type to fail");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().contains("'value'"));
+    }
+  }
+}
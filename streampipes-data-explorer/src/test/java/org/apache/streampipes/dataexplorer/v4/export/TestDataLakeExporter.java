@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_LIMIT;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_OFFSET;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_PAGE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestDataLakeExporter {
+
+  @Test
+  public void testPageWithLimit() {
+    ProvidedQueryParams exportParams = toExportParams(QP_PAGE, "2", QP_LIMIT, "100");
+
+    assertEquals(Integer.valueOf(200), exportParams.getAsInt(QP_OFFSET));
+    assertFalse(exportParams.has(QP_PAGE));
+    assertFalse(exportParams.has(QP_LIMIT));
+  }
+
+  @Test
+  public void testPageWithoutLimit() {
+    ProvidedQueryParams exportParams = toExportParams(QP_PAGE, "2");
+
+    assertEquals(Integer.valueOf(2 * DataLakeExporter.DEFAULT_PAGE_SIZE), exportParams.getAsInt(QP_OFFSET));
+    assertFalse(exportParams.has(QP_PAGE));
+    assertFalse(exportParams.has(QP_LIMIT));
+  }
+
+  @Test
+  public void testOffsetTakesPrecedence() {
+    ProvidedQueryParams exportParams = toExportParams(QP_PAGE, "2", QP_OFFSET, "5");
+
+    assertEquals(Integer.valueOf(5), exportParams.getAsInt(QP_OFFSET));
+  }
+
+  @Test
+  public void testLimitWithoutPage() {
+    ProvidedQueryParams exportParams = toExportParams(QP_LIMIT, "100");
+
+    assertFalse(exportParams.has(QP_OFFSET));
+    assertFalse(exportParams.has(QP_LIMIT));
+  }
+
+  private ProvidedQueryParams toExportParams(String... keysAndValues) {
+    Map<String, String> params = new HashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      params.put(keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return new DataLakeExporter(new ProvidedQueryParams("m1", params), DataLakeExporter.FORMAT_JSON)
+            .toExportParams();
+  }
+}
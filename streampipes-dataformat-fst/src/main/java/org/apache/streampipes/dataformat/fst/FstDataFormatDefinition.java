@@ -18,9 +18,14 @@
 package org.apache.streampipes.dataformat.fst;
 
 import org.nustaq.serialization.FSTConfiguration;
+import org.nustaq.serialization.FSTObjectOutput;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 
 public class FstDataFormatDefinition implements SpDataFormatDefinition {
@@ -40,4 +45,16 @@ public class FstDataFormatDefinition implements SpDataFormatDefinition {
   public byte[] fromMap(Map<String, Object> event) throws SpRuntimeException {
     return conf.asByteArray(event);
   }
+
+  @Override
+  public void writeEvent(Event event, OutputStream outputStream) throws SpRuntimeException {
+    // the FST wire format is a serialized map, so only the intermediate byte array can be skipped
+    try {
+      FSTObjectOutput objectOutput = conf.getObjectOutput(outputStream);
+      objectOutput.writeObject(new EventConverter(event).toMap());
+      objectOutput.flush();
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not write event to output stream");
+    }
+  }
 }
@@ -17,39 +17,13 @@
  */
 package org.apache.streampipes.dataformat.smile;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.smile.SmileFactory;
-import org.apache.streampipes.commons.exceptions.SpRuntimeException;
-import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.AbstractJacksonDataFormatDefinition;
 
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-
-public class SmileDataFormatDefinition implements SpDataFormatDefinition {
-
-  private ObjectMapper objectMapper;
+public class SmileDataFormatDefinition extends AbstractJacksonDataFormatDefinition {
 
   public SmileDataFormatDefinition() {
-    this.objectMapper = new ObjectMapper(new SmileFactory());
-  }
-
-  @Override
-  public Map<String, Object> toMap(byte[] event) throws SpRuntimeException {
-    try {
-      return objectMapper.readValue(event, HashMap.class);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Could not convert event to map data structure");
-    }
-  }
-
-  @Override
-  public byte[] fromMap(Map<String, Object> event) throws SpRuntimeException {
-    try {
-      return objectMapper.writeValueAsBytes(event);
-    } catch (JsonProcessingException e) {
-      throw new SpRuntimeException("Could not convert map data structure to JSON string");
-    }
+    super(new ObjectMapper(new SmileFactory()));
   }
 }
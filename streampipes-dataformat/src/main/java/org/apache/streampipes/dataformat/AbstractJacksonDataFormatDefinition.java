@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class for data formats backed by a Jackson {@link ObjectMapper}. Events are read from and
+ * written to the wire format in a single streaming pass, without an intermediate map.
+ */
+public abstract class AbstractJacksonDataFormatDefinition implements SpDataFormatDefinition {
+
+  protected final ObjectMapper objectMapper;
+
+  public AbstractJacksonDataFormatDefinition(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public Map<String, Object> toMap(byte[] event) throws SpRuntimeException {
+    try {
+      return objectMapper.readValue(event, HashMap.class);
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to map data structure");
+    }
+  }
+
+  @Override
+  public byte[] fromMap(Map<String, Object> event) throws SpRuntimeException {
+    try {
+      return objectMapper.writeValueAsBytes(event);
+    } catch (JsonProcessingException e) {
+      throw new SpRuntimeException("Could not convert map data structure to JSON string");
+    }
+  }
+
+  @Override
+  public Event toEvent(byte[] event, EventLayout layout) throws SpRuntimeException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(event)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new SpRuntimeException("Could not convert event, expected an object");
+      }
+      SlotEvent slotEvent = new SlotEvent(layout);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String runtimeName = parser.getCurrentName();
+        parser.nextToken();
+        readValue(parser, slotEvent, runtimeName);
+      }
+      return slotEvent;
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to event data structure");
+    }
+  }
+
+  @Override
+  public void writeEvent(Event event, OutputStream outputStream) throws SpRuntimeException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+      generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+      generator.writeStartObject();
+      if (event instanceof SlotEvent) {
+        writeSlots(generator, (SlotEvent) event);
+        writeFields(generator, ((SlotEvent) event).getNonSlotFields());
+      } else {
+        writeFields(generator, event.getFields());
+      }
+      generator.writeEndObject();
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not write event to output stream");
+    }
+  }
+
+  private void readValue(JsonParser parser,
+                         SlotEvent slotEvent,
+                         String runtimeName) throws IOException {
+    switch (parser.currentToken()) {
+      case VALUE_NUMBER_INT:
+        if (parser.getNumberType() == JsonParser.NumberType.INT
+                && slotEvent.setIntSlotValue(runtimeName, parser.getIntValue())) {
+          return;
+        } else if (parser.getNumberType() == JsonParser.NumberType.LONG
+                && slotEvent.setLongSlotValue(runtimeName, parser.getLongValue())) {
+          return;
+        }
+        break;
+      case VALUE_NUMBER_FLOAT:
+        if (parser.getNumberType() == JsonParser.NumberType.DOUBLE
+                && slotEvent.setDoubleSlotValue(runtimeName, parser.getDoubleValue())) {
+          return;
+        } else if (parser.getNumberType() == JsonParser.NumberType.FLOAT
+                && slotEvent.setFloatSlotValue(runtimeName, parser.getFloatValue())) {
+          return;
+        }
+        break;
+      case VALUE_TRUE:
+      case VALUE_FALSE:
+        if (slotEvent.setBooleanSlotValue(runtimeName, parser.getBooleanValue())) {
+          return;
+        }
+        break;
+      default:
+        break;
+    }
+    EventFactory.addValue(slotEvent, runtimeName, objectMapper.readValue(parser, Object.class));
+  }
+
+  private void writeSlots(JsonGenerator generator, SlotEvent event) throws IOException {
+    for (int slot = 0; slot < event.getSlotCount(); slot++) {
+      SlotEvent.SlotType slotType = event.getSlotType(slot);
+      if (slotType != null) {
+        generator.writeFieldName(event.getSlotName(slot, true));
+        switch (slotType) {
+          case INT:
+            generator.writeNumber((int) event.getLongSlotValue(slot));
+            break;
+          case LONG:
+            generator.writeNumber(event.getLongSlotValue(slot));
+            break;
+          case FLOAT:
+            generator.writeNumber((float) event.getDoubleSlotValue(slot));
+            break;
+          case DOUBLE:
+            generator.writeNumber(event.getDoubleSlotValue(slot));
+            break;
+          case BOOLEAN:
+            generator.writeBoolean(event.getBooleanSlotValue(slot));
+            break;
+          default:
+            generator.writeObject(event.getObjectSlotValue(slot));
+        }
+      }
+    }
+  }
+
+  private void writeFields(JsonGenerator generator,
+                           Map<String, AbstractField> fields) throws IOException {
+    for (AbstractField field : fields.values()) {
+      generator.writeFieldName(field.getFieldNameOut());
+      writeField(generator, field);
+    }
+  }
+
+  private void writeField(JsonGenerator generator, AbstractField field) throws IOException {
+    if (field.isPrimitive()) {
+      generator.writeObject(field.getRawValue());
+    } else if (field.isList()) {
+      generator.writeStartArray();
+      for (AbstractField item : field.getAsList().getRawValue()) {
+        writeField(generator, item);
+      }
+      generator.writeEndArray();
+    } else {
+      generator.writeStartObject();
+      writeFields(generator, field.getAsComposite().getRawValue());
+      generator.writeEndObject();
+    }
+  }
+}
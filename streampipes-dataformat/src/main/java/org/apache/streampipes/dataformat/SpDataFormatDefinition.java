@@ -19,7 +19,16 @@
 package org.apache.streampipes.dataformat;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.Map;
 
@@ -28,4 +37,36 @@ public interface SpDataFormatDefinition extends Serializable {
   Map<String, Object> toMap(byte[] event) throws SpRuntimeException;
 
   byte[] fromMap(Map<String, Object> event) throws SpRuntimeException;
+
+  default Event toEvent(byte[] event, SourceInfo sourceInfo, SchemaInfo schemaInfo) throws
+          SpRuntimeException {
+    return EventFactory.fromMap(toMap(event), sourceInfo, schemaInfo);
+  }
+
+  /**
+   * Decodes an event into the slots of the given layout. Formats which can be read as a stream
+   * should override this method to avoid building the intermediate map.
+   */
+  default Event toEvent(byte[] event, EventLayout layout) throws SpRuntimeException {
+    return EventFactory.fromMap(toMap(event), layout);
+  }
+
+  /**
+   * Writes the output representation (i.e., with renamed properties) of the event to the given
+   * stream. Formats which can be written as a stream should override this method to avoid
+   * building the intermediate map.
+   */
+  default void writeEvent(Event event, OutputStream outputStream) throws SpRuntimeException {
+    try {
+      outputStream.write(fromMap(new EventConverter(event).toMap()));
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not write event to output stream");
+    }
+  }
+
+  default byte[] fromEvent(Event event) throws SpRuntimeException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    writeEvent(event, outputStream);
+    return outputStream.toByteArray();
+  }
 }
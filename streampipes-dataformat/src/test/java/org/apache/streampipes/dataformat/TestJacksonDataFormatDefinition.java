@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SlotEvent;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestJacksonDataFormatDefinition {
+
+  private static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+  private EventLayout makeLayout() {
+    EventSchema schema = new EventSchema(Arrays.<EventProperty>asList(
+            new EventPropertyPrimitive(XSD + "integer", "timestamp", "", Collections.emptyList()),
+            new EventPropertyPrimitive(XSD + "double", "sensor1", "", Collections.emptyList()),
+            new EventPropertyPrimitive(XSD + "boolean", "sensor2", "", Collections.emptyList()),
+            new EventPropertyPrimitive(XSD + "string", "name", "", Collections.emptyList())));
+    PropertyRenameRule rule = new PropertyRenameRule("s0::timestamp", "ts");
+    return EventLayout.compile(new SourceInfo("topic", PropertySelectorConstants.FIRST_STREAM_ID_PREFIX),
+            new SchemaInfo(schema, Collections.singletonList(rule)));
+  }
+
+  private Map<String, Object> makeInput() {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("value", 5);
+
+    Map<String, Object> input = new HashMap<>();
+    input.put("timestamp", 1);
+    input.put("sensor1", 2.5);
+    input.put("sensor2", true);
+    input.put("name", "sensor");
+    input.put("nested", nested);
+    input.put("list", Arrays.asList(1, 2));
+    input.put("unknown", "value");
+    return input;
+  }
+
+  private AbstractJacksonDataFormatDefinition makeDefinition(ObjectMapper objectMapper) {
+    return new AbstractJacksonDataFormatDefinition(objectMapper) {
+    };
+  }
+
+  @Test
+  public void testJsonRoundTrip() {
+    assertRoundTrip(makeDefinition(new ObjectMapper()));
+  }
+
+  @Test
+  public void testCborRoundTrip() {
+    assertRoundTrip(makeDefinition(new ObjectMapper(new CBORFactory())));
+  }
+
+  @Test
+  public void testSmileRoundTrip() {
+    assertRoundTrip(makeDefinition(new ObjectMapper(new SmileFactory())));
+  }
+
+  @Test
+  public void testDuplicateNameLastValueWins() throws IOException {
+    AbstractJacksonDataFormatDefinition definition = makeDefinition(new ObjectMapper());
+    byte[] slotFirst = "{\"sensor1\":2.5,\"sensor1\":\"text\"}".getBytes(StandardCharsets.UTF_8);
+    byte[] slotLast = "{\"sensor1\":\"text\",\"sensor1\":2.5}".getBytes(StandardCharsets.UTF_8);
+
+    byte[] slotFirstOutput = definition.fromEvent(definition.toEvent(slotFirst, makeLayout()));
+    byte[] slotLastOutput = definition.fromEvent(definition.toEvent(slotLast, makeLayout()));
+
+    assertEquals(1, countFieldNames(definition, slotFirstOutput, "sensor1"));
+    assertEquals("text", definition.toMap(slotFirstOutput).get("sensor1"));
+    assertEquals(definition.toMap(slotFirst), definition.toMap(slotFirstOutput));
+    assertEquals(1, countFieldNames(definition, slotLastOutput, "sensor1"));
+    assertEquals(2.5, definition.toMap(slotLastOutput).get("sensor1"));
+    assertEquals(definition.toMap(slotLast), definition.toMap(slotLastOutput));
+  }
+
+  private void assertRoundTrip(AbstractJacksonDataFormatDefinition definition) {
+    Map<String, Object> input = makeInput();
+
+    Event event = definition.toEvent(definition.fromMap(input), makeLayout());
+    Map<String, Object> output = definition.toMap(definition.fromEvent(event));
+
+    assertTrue(event instanceof SlotEvent);
+    Map<String, Object> expected = new HashMap<>(input);
+    expected.put("ts", expected.remove("timestamp"));
+    assertEquals(expected, output);
+  }
+
+  private int countFieldNames(AbstractJacksonDataFormatDefinition definition,
+                              byte[] event,
+                              String fieldName) throws IOException {
+    int count = 0;
+    try (JsonParser parser = definition.objectMapper.getFactory().createParser(event)) {
+      while (parser.nextToken() != null) {
+        if (parser.currentToken() == JsonToken.FIELD_NAME && fieldName.equals(parser.getCurrentName())) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging.jms;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.jms.Connection;
+import javax.jms.DeliveryMode;
+import javax.jms.JMSException;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pools JMS connections per broker url. All publishers and consumers of a JVM share a single
+ * connection per broker, which is closed once the last client released it. Each publisher uses its
+ * own session with cached producers per destination, which it closes with
+ * {@link #closeSessions(String, Object)} when it disconnects. Consumers get a dedicated session on
+ * the shared connection.
+ *
+ * Failed connections are re-established in the background with exponential backoff, consumers
+ * can register a listener to re-create their sessions afterwards.
+ */
+public class ActiveMQConnectionManager {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ActiveMQConnectionManager.class);
+
+  private static final long INITIAL_BACKOFF_MS = 100;
+  private static final long MAX_BACKOFF_MS = 30000;
+  private static final int MAX_CONNECT_ATTEMPTS = 10;
+
+  private static final ActiveMQConnectionManager INSTANCE = new ActiveMQConnectionManager();
+
+  private final Map<String, PooledConnection> connections = new ConcurrentHashMap<>();
+  private final ExecutorService reconnectExecutor = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "activemq-reconnect");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public static ActiveMQConnectionManager getInstance() {
+    return INSTANCE;
+  }
+
+  private ActiveMQConnectionManager() {
+
+  }
+
+  /**
+   * Registers a client of the broker, the connection is established if no other client uses it.
+   * Each call needs to be followed by a call to {@link #release(String)} once the client
+   * disconnects. If the broker can not be reached, the client is released again.
+   */
+  public void acquire(String url) throws SpRuntimeException {
+    PooledConnection pooledConnection = connections.compute(url, (key, current) -> {
+      PooledConnection connection = current != null ? current : new PooledConnection(key);
+      connection.refCount++;
+      return connection;
+    });
+    try {
+      pooledConnection.ensureStarted();
+    } catch (SpRuntimeException e) {
+      release(url);
+      throw e;
+    }
+  }
+
+  /**
+   * Releases a client of the broker. The connection is removed from the pool before it is closed,
+   * so that closing it does not block clients of other brokers.
+   */
+  public void release(String url) {
+    PooledConnection[] releasedConnection = new PooledConnection[1];
+    connections.computeIfPresent(url, (key, connection) -> {
+      connection.refCount--;
+      if (connection.refCount <= 0) {
+        releasedConnection[0] = connection;
+        return null;
+      }
+      return connection;
+    });
+    if (releasedConnection[0] != null) {
+      releasedConnection[0].close();
+    }
+  }
+
+  /**
+   * @return the session of the given client on the pooled connection of the broker. The session
+   * must not be used by several threads at once.
+   */
+  public Session getSession(String url, Object client, boolean transacted) throws JMSException {
+    return getClientSession(url, client, transacted).session;
+  }
+
+  /**
+   * @return a cached producer of the client's session for the given topic.
+   */
+  public MessageProducer getProducer(String url, Object client, String topic, boolean transacted)
+          throws JMSException {
+    ClientSession clientSession = getClientSession(url, client, transacted);
+    MessageProducer producer = clientSession.producers.get(topic);
+    if (producer == null) {
+      producer = clientSession.session.createProducer(clientSession.session.createTopic(topic));
+      producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+      clientSession.producers.put(topic, producer);
+    }
+    return producer;
+  }
+
+  /**
+   * Closes the sessions and producers of the given client, needs to be called before the client
+   * releases the broker.
+   */
+  public void closeSessions(String url, Object client) {
+    PooledConnection pooledConnection = connections.get(url);
+    if (pooledConnection != null) {
+      pooledConnection.closeSessions(client);
+    }
+  }
+
+  /**
+   * Creates a new session which is not shared with other clients, e.g. for asynchronous consumers.
+   * The session needs to be closed by the caller.
+   */
+  public Session createSession(String url) throws JMSException {
+    return getConnection(url).createSession(false, Session.AUTO_ACKNOWLEDGE);
+  }
+
+  /**
+   * Registers a listener which is called after the connection to the broker has been
+   * re-established, sessions created before are no longer valid at this point.
+   */
+  public void addReconnectListener(String url, Runnable listener) {
+    PooledConnection pooledConnection = connections.get(url);
+    if (pooledConnection != null) {
+      pooledConnection.reconnectListeners.add(listener);
+    }
+  }
+
+  public void removeReconnectListener(String url, Runnable listener) {
+    PooledConnection pooledConnection = connections.get(url);
+    if (pooledConnection != null) {
+      pooledConnection.reconnectListeners.remove(listener);
+    }
+  }
+
+  private ClientSession getClientSession(String url, Object client, boolean transacted)
+          throws JMSException {
+    PooledConnection pooledConnection = getPooledConnection(url);
+    Connection connection = getConnection(pooledConnection);
+    Map<Object, ClientSession> sessions = transacted ?
+            pooledConnection.transactedSessions :
+            pooledConnection.sessions;
+    ClientSession clientSession = sessions.get(client);
+    if (clientSession == null || clientSession.connection != connection) {
+      Session session = transacted ?
+              connection.createSession(true, Session.SESSION_TRANSACTED) :
+              connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+      clientSession = new ClientSession(connection, session);
+      sessions.put(client, clientSession);
+    }
+    return clientSession;
+  }
+
+  private Connection getConnection(String url) throws JMSException {
+    return getConnection(getPooledConnection(url));
+  }
+
+  private Connection getConnection(PooledConnection pooledConnection) throws JMSException {
+    try {
+      return pooledConnection.getConnection();
+    } catch (SpRuntimeException e) {
+      throw new JMSException(e.getMessage());
+    }
+  }
+
+  private PooledConnection getPooledConnection(String url) throws JMSException {
+    PooledConnection pooledConnection = connections.get(url);
+    if (pooledConnection == null) {
+      throw new JMSException("No connection to broker " + url + " acquired");
+    }
+    return pooledConnection;
+  }
+
+  private static class ClientSession {
+    private final Connection connection;
+    private final Session session;
+    private final Map<String, MessageProducer> producers = new HashMap<>();
+
+    ClientSession(Connection connection, Session session) {
+      this.connection = connection;
+      this.session = session;
+    }
+  }
+
+  private class PooledConnection {
+    private final String url;
+    private final List<Runnable> reconnectListeners = new CopyOnWriteArrayList<>();
+    private final Map<Object, ClientSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Object, ClientSession> transactedSessions = new ConcurrentHashMap<>();
+    private Connection connection;
+    private boolean broken;
+    private boolean closed;
+    private int refCount;
+
+    PooledConnection(String url) {
+      this.url = url;
+    }
+
+    synchronized Connection getConnection() throws SpRuntimeException {
+      if (broken) {
+        reconnect();
+      }
+      ensureStarted();
+      return connection;
+    }
+
+    /**
+     * Connects to the broker, retrying with exponential backoff up to {@link #MAX_CONNECT_ATTEMPTS}
+     * times.
+     */
+    synchronized void ensureStarted() throws SpRuntimeException {
+      long backoff = INITIAL_BACKOFF_MS;
+      int attempts = 0;
+      while (connection == null && !closed) {
+        try {
+          ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(url);
+          connectionFactory.setAlwaysSyncSend(false);
+          Connection newConnection = connectionFactory.createConnection();
+          newConnection.setExceptionListener(e -> onConnectionFailure(newConnection, e));
+          newConnection.start();
+          this.connection = newConnection;
+        } catch (JMSException e) {
+          if (++attempts >= MAX_CONNECT_ATTEMPTS) {
+            throw new SpRuntimeException("Could not connect to broker " + url + " after "
+                    + attempts + " attempts: " + e.getMessage());
+          }
+          LOG.warn("Could not connect to broker {}, retrying in {} ms", url, backoff);
+          try {
+            wait(backoff);
+          } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SpRuntimeException("Interrupted while connecting to broker " + url);
+          }
+          backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+        }
+      }
+      if (connection == null) {
+        throw new SpRuntimeException("Connection to broker " + url + " has been closed");
+      }
+    }
+
+    private synchronized void onConnectionFailure(Connection failedConnection, JMSException e) {
+      if (failedConnection == connection && !broken) {
+        LOG.warn("Connection to broker {} failed, reconnecting", url, e);
+        broken = true;
+        reconnectExecutor.execute(() -> {
+          try {
+            getConnection();
+          } catch (SpRuntimeException re) {
+            LOG.error("Could not reconnect to broker {}", url, re);
+          }
+        });
+      }
+    }
+
+    private synchronized void reconnect() throws SpRuntimeException {
+      closeConnection();
+      this.broken = false;
+      ensureStarted();
+      reconnectListeners.forEach(Runnable::run);
+    }
+
+    synchronized void close() {
+      this.closed = true;
+      sessions.values().forEach(this::closeSession);
+      transactedSessions.values().forEach(this::closeSession);
+      closeConnection();
+      reconnectListeners.clear();
+      notifyAll();
+    }
+
+    void closeSessions(Object client) {
+      ClientSession session = sessions.remove(client);
+      if (session != null) {
+        closeSession(session);
+      }
+      ClientSession transactedSession = transactedSessions.remove(client);
+      if (transactedSession != null) {
+        closeSession(transactedSession);
+      }
+    }
+
+    private void closeConnection() {
+      sessions.clear();
+      transactedSessions.clear();
+      try {
+        if (connection != null) {
+          // closing the connection closes all of its sessions, producers and consumers
+          connection.close();
+        }
+      } catch (JMSException e) {
+        LOG.warn("Could not close connection to broker {}", url, e);
+      } finally {
+        connection = null;
+      }
+    }
+
+    private void closeSession(ClientSession clientSession) {
+      try {
+        // closing the session closes its producers
+        clientSession.session.close();
+      } catch (JMSException e) {
+        LOG.debug("Could not close session", e);
+      }
+    }
+  }
+}
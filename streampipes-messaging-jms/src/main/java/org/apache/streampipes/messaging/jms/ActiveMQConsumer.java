@@ -24,6 +24,8 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventConsumer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 
@@ -32,16 +34,30 @@ import javax.jms.JMSException;
 import javax.jms.MessageConsumer;
 import javax.jms.Session;
 
-public class ActiveMQConsumer extends ActiveMQConnectionProvider implements
+public class ActiveMQConsumer implements
         EventConsumer<JmsTransportProtocol>,
         AutoCloseable, Serializable {
 
+  private static final Logger LOG = LoggerFactory.getLogger(ActiveMQConsumer.class);
+
+  private transient ActiveMQConnectionManager connectionManager;
+  private transient Runnable reconnectListener;
   private Session session;
   private MessageConsumer consumer;
   private InternalEventProcessor<byte[]> eventProcessor;
+  private String url;
+  private String topic;
 
   private Boolean connected = false;
 
+  public ActiveMQConsumer() {
+
+  }
+
+  public ActiveMQConsumer(ActiveMQConnectionManager connectionManager) {
+    this.connectionManager = connectionManager;
+  }
+
   private void initListener() {
     try {
       consumer.setMessageListener(message -> {
@@ -59,31 +75,58 @@ public class ActiveMQConsumer extends ActiveMQConnectionProvider implements
   @Override
   public void connect(JmsTransportProtocol protocolSettings, InternalEventProcessor<byte[]>
           eventProcessor) throws SpRuntimeException {
-    String url = ActiveMQUtils.makeActiveMqUrl(protocolSettings);
+    this.url = ActiveMQUtils.makeActiveMqUrl(protocolSettings);
+    this.topic = protocolSettings.getTopicDefinition().getActualTopicName();
+    this.eventProcessor = eventProcessor;
 
+    getConnectionManager().acquire(url);
     try {
-      this.eventProcessor = eventProcessor;
-      session = startJmsConnection(url).createSession(false, Session.AUTO_ACKNOWLEDGE);
-      consumer = session.createConsumer(session.createTopic(protocolSettings.getTopicDefinition().getActualTopicName()));
-      initListener();
+      subscribe();
+      this.reconnectListener = this::resubscribe;
+      getConnectionManager().addReconnectListener(url, reconnectListener);
       this.connected = true;
     } catch (JMSException e) {
+      getConnectionManager().release(url);
       throw new SpRuntimeException("could not connect to activemq broker");
     }
   }
 
+  private void subscribe() throws JMSException {
+    session = getConnectionManager().createSession(url);
+    consumer = session.createConsumer(session.createTopic(topic));
+    initListener();
+  }
+
+  private void resubscribe() {
+    try {
+      subscribe();
+    } catch (JMSException e) {
+      LOG.error("Could not resubscribe to topic {} after reconnect", topic, e);
+    }
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
+      getConnectionManager().removeReconnectListener(url, reconnectListener);
       consumer.close();
       session.close();
       this.connected = false;
     } catch (JMSException e) {
       throw new SpRuntimeException("could not disconnect from activemq broker");
+    } finally {
+      getConnectionManager().release(url);
     }
 
   }
 
+  private ActiveMQConnectionManager getConnectionManager() {
+    if (connectionManager == null) {
+      connectionManager = ActiveMQConnectionManager.getInstance();
+    }
+    return connectionManager;
+  }
+
   @Override
   public Boolean isConnected() {
     return connected;
@@ -18,7 +18,6 @@
 
 package org.apache.streampipes.messaging.jms;
 
-import org.apache.activemq.ActiveMQConnectionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
@@ -27,21 +26,20 @@ import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 
 import javax.jms.BytesMessage;
-import javax.jms.Connection;
-import javax.jms.ConnectionFactory;
-import javax.jms.DeliveryMode;
 import javax.jms.JMSException;
 import javax.jms.MessageProducer;
 import javax.jms.Session;
 
+import java.util.List;
+
 
 public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ActiveMQPublisher.class);
 
-  private Connection connection;
-  private Session session;
-  private MessageProducer producer;
+  private transient ActiveMQConnectionManager connectionManager;
+  private String url;
+  private String topic;
 
   private Boolean connected = false;
 
@@ -49,6 +47,10 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
 
   }
 
+  public ActiveMQPublisher(ActiveMQConnectionManager connectionManager) {
+    this.connectionManager = connectionManager;
+  }
+
   @Deprecated
   public ActiveMQPublisher(String url, String topic) {
     JmsTransportProtocol protocol = new JmsTransportProtocol();
@@ -80,60 +82,74 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
 
   @Override
   public void connect(JmsTransportProtocol protocolSettings) throws SpRuntimeException {
+    this.url = ActiveMQUtils.makeActiveMqUrl(protocolSettings);
+    this.topic = protocolSettings.getTopicDefinition().getActualTopicName();
+    getConnectionManager().acquire(url);
+    this.connected = true;
+  }
 
-    String url = ActiveMQUtils.makeActiveMqUrl(protocolSettings);
-    ConnectionFactory connectionFactory = new ActiveMQConnectionFactory(url);
-
-    boolean co = false;
-    do {
-      try {
-        this.connection = connectionFactory.createConnection();
-        co = true;
-      } catch (JMSException e) {
-        LOG.error("Trying to connect...", e);
-      }
-    } while (!co);
-
+  /**
+   * The session of a publisher must not be used by several threads at once, therefore publishing
+   * is synchronized.
+   */
+  @Override
+  public synchronized void publish(byte[] event) {
     try {
-      this.session = connection
-              .createSession(false, Session.AUTO_ACKNOWLEDGE);
-      this.producer = session.createProducer(session.createTopic(protocolSettings
-                      .getTopicDefinition()
-                      .getActualTopicName()));
-      this.producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
-      this.connection.start();
-      this.connected = true;
+      Session session = getConnectionManager().getSession(url, this, false);
+      BytesMessage message = session.createBytesMessage();
+      message.writeBytes(event);
+      getConnectionManager().getProducer(url, this, topic, false).send(message);
     } catch (JMSException e) {
-      throw new SpRuntimeException("could not connect to activemq broker. Broker: '" +
-              protocolSettings.getBrokerHostname() + "' Port: " + protocolSettings.getPort());
+      e.printStackTrace();
     }
-
   }
 
+  /**
+   * Sends all events of the batch within a single transaction of a transacted session, so that
+   * the broker is contacted once per batch instead of once per event.
+   */
   @Override
-  public void publish(byte[] event) {
-    BytesMessage message;
+  public synchronized void publish(List<byte[]> events) {
+    Session session = null;
     try {
-      message = session.createBytesMessage();
-      message.writeBytes(event);
-      producer.send(message);
+      session = getConnectionManager().getSession(url, this, true);
+      MessageProducer producer = getConnectionManager().getProducer(url, this, topic, true);
+      for (byte[] event : events) {
+        BytesMessage message = session.createBytesMessage();
+        message.writeBytes(event);
+        producer.send(message);
+      }
+      session.commit();
     } catch (JMSException e) {
-      e.printStackTrace();
+      LOG.error("Could not publish batch of {} events to topic {}", events.size(), topic, e);
+      rollbackBatch(session);
     }
   }
 
-  @Override
-  public void disconnect() throws SpRuntimeException {
+  private void rollbackBatch(Session session) {
     try {
-      producer.close();
-      session.close();
-      connection.close();
-      this.connected = false;
-      //logger.info("ActiveMQ connection closed successfully.");
+      if (session != null) {
+        session.rollback();
+      }
     } catch (JMSException e) {
-      //logger.warn("Could not close ActiveMQ connection.");
-      throw new SpRuntimeException("could not disconnect from activemq broker");
+      LOG.error("Could not roll back batch", e);
+    }
+  }
+
+  @Override
+  public synchronized void disconnect() throws SpRuntimeException {
+    if (connected) {
+      getConnectionManager().closeSessions(url, this);
+      getConnectionManager().release(url);
+      this.connected = false;
+    }
+  }
+
+  private ActiveMQConnectionManager getConnectionManager() {
+    if (connectionManager == null) {
+      connectionManager = ActiveMQConnectionManager.getInstance();
     }
+    return connectionManager;
   }
 
   @Override
@@ -141,4 +157,4 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
     return connected;
   }
 
-}
\ No newline at end of file
+}
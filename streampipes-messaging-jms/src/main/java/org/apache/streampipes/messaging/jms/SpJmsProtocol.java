@@ -28,8 +28,12 @@ public class SpJmsProtocol implements SpProtocolDefinition<JmsTransportProtocol>
   private EventProducer<JmsTransportProtocol> jmsProducer;
 
   public SpJmsProtocol() {
-    this.jmsConsumer = new ActiveMQConsumer();
-    this.jmsProducer = new ActiveMQPublisher();
+    this(ActiveMQConnectionManager.getInstance());
+  }
+
+  public SpJmsProtocol(ActiveMQConnectionManager connectionManager) {
+    this.jmsConsumer = new ActiveMQConsumer(connectionManager);
+    this.jmsProducer = new ActiveMQPublisher(connectionManager);
   }
 
   @Override
@@ -36,7 +36,7 @@ public class SpJmsProtocolFactory extends SpProtocolDefinitionFactory<JmsTranspo
 
   @Override
   public SpProtocolDefinition<JmsTransportProtocol> createInstance() {
-    return new SpJmsProtocol();
+    return new SpJmsProtocol(ActiveMQConnectionManager.getInstance());
   }
 }
 
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Polls a Kafka consumer on the calling thread and hands the records to a pool of workers.
+ * All records of a partition are processed by the same worker, so the order within a partition
+ * is preserved. Partitions whose worker queue is full are paused until the records could be
+ * handed over, and offsets are committed only after the records have been processed.
+ * Events of different partitions are delivered concurrently, so the event processor must be
+ * thread-safe.
+ */
+public class ParallelRecordDispatcher implements ConsumerRebalanceListener {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelRecordDispatcher.class);
+
+  private static final Duration POLL_DURATION = Duration.ofMillis(100);
+  private static final long COMMIT_INTERVAL_MS = 1000;
+  private static final long WORKER_SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+  private final Consumer<String, byte[]> consumer;
+  private final InternalEventProcessor<byte[]> eventProcessor;
+  private final List<PartitionWorker> workers;
+
+  private final Map<TopicPartition, List<ConsumerRecord<String, byte[]>>> pendingRecords;
+  private final Set<TopicPartition> pausedPartitions;
+  private final Map<TopicPartition, OffsetAndMetadata> processedOffsets;
+
+  private volatile boolean workersRunning;
+  private long lastCommit;
+
+  public ParallelRecordDispatcher(Consumer<String, byte[]> consumer,
+                                  InternalEventProcessor<byte[]> eventProcessor,
+                                  int workerCount,
+                                  int queueSize) {
+    this.consumer = consumer;
+    this.eventProcessor = eventProcessor;
+    this.workers = new ArrayList<>();
+    this.pendingRecords = new LinkedHashMap<>();
+    this.pausedPartitions = new HashSet<>();
+    this.processedOffsets = new ConcurrentHashMap<>();
+
+    for (int i = 0; i < workerCount; i++) {
+      this.workers.add(new PartitionWorker(queueSize));
+    }
+  }
+
+  public void run(BooleanSupplier isRunning) {
+    ExecutorService executorService = Executors.newFixedThreadPool(workers.size());
+    this.workersRunning = true;
+    workers.forEach(executorService::submit);
+
+    try {
+      while (isRunning.getAsBoolean()) {
+        ConsumerRecords<String, byte[]> records = consumer.poll(POLL_DURATION);
+        for (TopicPartition partition : records.partitions()) {
+          pendingRecords.computeIfAbsent(partition, p -> new ArrayList<>())
+                  .addAll(records.records(partition));
+        }
+        dispatchPendingRecords();
+        if (System.currentTimeMillis() - lastCommit >= COMMIT_INTERVAL_MS) {
+          commitProcessedOffsets(false);
+        }
+      }
+    } finally {
+      this.workersRunning = false;
+      executorService.shutdown();
+      try {
+        if (!executorService.awaitTermination(WORKER_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+          LOG.warn("Kafka consumer workers did not finish within {} seconds",
+                  WORKER_SHUTDOWN_TIMEOUT_SECONDS);
+          executorService.shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        executorService.shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+      commitProcessedOffsets(true);
+    }
+  }
+
+  private void dispatchPendingRecords() {
+    Iterator<Map.Entry<TopicPartition, List<ConsumerRecord<String, byte[]>>>> iterator =
+            pendingRecords.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<TopicPartition, List<ConsumerRecord<String, byte[]>>> entry = iterator.next();
+      if (getWorker(entry.getKey()).offer(entry.getValue())) {
+        iterator.remove();
+      }
+    }
+
+    Set<TopicPartition> partitionsToPause = new HashSet<>(pendingRecords.keySet());
+    partitionsToPause.removeAll(pausedPartitions);
+    if (!partitionsToPause.isEmpty()) {
+      consumer.pause(partitionsToPause);
+      pausedPartitions.addAll(partitionsToPause);
+    }
+
+    Set<TopicPartition> partitionsToResume = new HashSet<>(pausedPartitions);
+    partitionsToResume.removeAll(pendingRecords.keySet());
+    if (!partitionsToResume.isEmpty()) {
+      consumer.resume(partitionsToResume);
+      pausedPartitions.removeAll(partitionsToResume);
+    }
+  }
+
+  private PartitionWorker getWorker(TopicPartition partition) {
+    return workers.get(Math.floorMod(partition.hashCode(), workers.size()));
+  }
+
+  private void commitProcessedOffsets(boolean sync) {
+    this.lastCommit = System.currentTimeMillis();
+    if (processedOffsets.isEmpty()) {
+      return;
+    }
+    Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>(processedOffsets);
+    offsets.forEach(processedOffsets::remove);
+    try {
+      if (sync) {
+        consumer.commitSync(offsets);
+      } else {
+        consumer.commitAsync(offsets, (committedOffsets, e) -> {
+          if (e != null) {
+            LOG.warn("Could not commit offsets of Kafka consumer", e);
+          }
+        });
+      }
+    } catch (RuntimeException e) {
+      LOG.warn("Could not commit offsets of Kafka consumer", e);
+    }
+  }
+
+  /**
+   * Drops all records of the revoked partitions which have not been processed yet and waits for
+   * batches currently being processed, so that the offsets committed here are final and the new
+   * owner of the partitions continues right after them.
+   */
+  @Override
+  public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+    pendingRecords.keySet().removeAll(partitions);
+    pausedPartitions.removeAll(partitions);
+    workers.forEach(worker -> worker.cancel(partitions));
+    commitProcessedOffsets(true);
+  }
+
+  @Override
+  public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+  }
+
+  private class PartitionWorker implements Runnable {
+
+    private final BlockingQueue<List<ConsumerRecord<String, byte[]>>> queue;
+    // held while a batch is taken from the queue and processed
+    private final ReentrantLock processingLock;
+
+    PartitionWorker(int queueSize) {
+      this.queue = new ArrayBlockingQueue<>(queueSize);
+      this.processingLock = new ReentrantLock(true);
+    }
+
+    boolean offer(List<ConsumerRecord<String, byte[]>> records) {
+      return queue.offer(records);
+    }
+
+    void cancel(Collection<TopicPartition> partitions) {
+      processingLock.lock();
+      try {
+        queue.removeIf(records -> partitions.contains(toPartition(records.get(0))));
+      } finally {
+        processingLock.unlock();
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (workersRunning || !queue.isEmpty()) {
+          processingLock.lockInterruptibly();
+          try {
+            List<ConsumerRecord<String, byte[]>> records = queue.poll(POLL_DURATION.toMillis(),
+                    TimeUnit.MILLISECONDS);
+            if (records != null) {
+              process(records);
+            }
+          } finally {
+            processingLock.unlock();
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void process(List<ConsumerRecord<String, byte[]>> records) {
+      for (ConsumerRecord<String, byte[]> record : records) {
+        try {
+          eventProcessor.onEvent(record.value());
+        } catch (RuntimeException e) {
+          LOG.error("Could not process event from topic {}", record.topic(), e);
+        }
+      }
+      ConsumerRecord<String, byte[]> lastRecord = records.get(records.size() - 1);
+      processedOffsets.put(toPartition(lastRecord), new OffsetAndMetadata(lastRecord.offset() + 1));
+    }
+  }
+
+  private static TopicPartition toPartition(ConsumerRecord<String, byte[]> record) {
+    return new TopicPartition(record.topic(), record.partition());
+  }
+}
@@ -19,7 +19,7 @@
 package org.apache.streampipes.messaging.kafka;
 
 import org.apache.kafka.clients.consumer.*;
-import org.apache.kafka.common.TopicPartition;
+import org.apache.streampipes.commons.constants.Envs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
@@ -33,7 +33,6 @@ import org.apache.streampipes.model.grounding.WildcardTopicDefinition;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Properties;
 import java.util.regex.Pattern;
@@ -41,6 +40,9 @@ import java.util.regex.Pattern;
 public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, Runnable,
         Serializable {
 
+  private static final int CONSUMER_THREADS_DEFAULT = 1;
+  private static final int CONSUMER_QUEUE_SIZE_DEFAULT = 16;
+
   private String topic;
   private InternalEventProcessor<byte[]> eventProcessor;
   private KafkaTransportProtocol protocol;
@@ -91,34 +93,67 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
     } else {
       props = makeProperties(protocol);
     }
+    int consumerThreads = getConsumerThreads();
+    if (consumerThreads > 1 && !eventProcessor.isThreadSafe()) {
+      LOG.info("Kafka consumer: Event processor of " + topic + " is not thread-safe, using a single thread");
+      consumerThreads = 1;
+    }
+    if (consumerThreads > 1) {
+      props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+    }
     KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(props);
-    if (!patternTopic) {
-      consumer.subscribe(Collections.singletonList(topic));
-    } else {
+    ParallelRecordDispatcher dispatcher = consumerThreads > 1 ? new ParallelRecordDispatcher(consumer,
+            eventProcessor, consumerThreads, getConsumerQueueSize()) : null;
+    if (patternTopic) {
       topic = replaceWildcardWithPatternFormat(topic);
-      consumer.subscribe(Pattern.compile(topic), new ConsumerRebalanceListener() {
-        @Override
-        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
-          // TODO
-        }
-
-        @Override
-        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
-          // TODO
-        }
-      });
     }
-    Duration duration = Duration.of(100, ChronoUnit.MILLIS);
-    while (isRunning) {
-      ConsumerRecords<String, byte[]> records = consumer.poll(duration);
-      records.forEach(record -> {
-        eventProcessor.onEvent(record.value());
-      });
+    subscribe(consumer, dispatcher);
+    if (dispatcher != null) {
+      LOG.info("Kafka consumer: Processing events of " + topic + " with " + consumerThreads + " threads");
+      dispatcher.run(() -> isRunning);
+    } else {
+      Duration duration = Duration.of(100, ChronoUnit.MILLIS);
+      while (isRunning) {
+        ConsumerRecords<String, byte[]> records = consumer.poll(duration);
+        records.forEach(record -> {
+          eventProcessor.onEvent(record.value());
+        });
+      }
     }
     LOG.info("Closing Kafka Consumer.");
     consumer.close();
   }
 
+  /**
+   * Offsets are auto-committed in single-threaded mode, so only the dispatcher of the parallel mode
+   * needs to be notified about rebalances.
+   */
+  private void subscribe(KafkaConsumer<String, byte[]> consumer, ParallelRecordDispatcher dispatcher) {
+    if (dispatcher != null) {
+      if (!patternTopic) {
+        consumer.subscribe(Collections.singletonList(topic), dispatcher);
+      } else {
+        consumer.subscribe(Pattern.compile(topic), dispatcher);
+      }
+    } else {
+      if (!patternTopic) {
+        consumer.subscribe(Collections.singletonList(topic));
+      } else {
+        consumer.subscribe(Pattern.compile(topic));
+      }
+    }
+  }
+
+  private int getConsumerThreads() {
+    return Envs.SP_KAFKA_CONSUMER_THREADS.exists() ? Envs.SP_KAFKA_CONSUMER_THREADS.getValueAsInt() :
+            CONSUMER_THREADS_DEFAULT;
+  }
+
+  private int getConsumerQueueSize() {
+    return Envs.SP_KAFKA_CONSUMER_QUEUE_SIZE.exists() ?
+            Envs.SP_KAFKA_CONSUMER_QUEUE_SIZE.getValueAsInt() : CONSUMER_QUEUE_SIZE_DEFAULT;
+  }
+
   private String replaceWildcardWithPatternFormat(String topic) {
     topic = topic.replaceAll("\\.", "\\\\.");
     return topic.replaceAll("\\*", ".*");
@@ -21,12 +21,15 @@ package org.apache.streampipes.messaging.kafka;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.CreateTopicsResult;
 import org.apache.kafka.clients.admin.KafkaAdminClient;
+import org.apache.kafka.clients.admin.NewPartitions;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.TopicExistsException;
 import org.apache.streampipes.commons.constants.Envs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +40,7 @@ import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
@@ -46,6 +50,8 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
 
   private static final String COLON = ":";
   private static final String SP_KAFKA_RETENTION_MS_DEFAULT = "600000";
+  private static final int PARTITIONS_DEFAULT = 1;
+  private static final short REPLICATION_FACTOR_DEFAULT = 1;
 
   private String brokerUrl;
   private String topic;
@@ -85,6 +91,27 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
     producer.send(new ProducerRecord<>(topic, message));
   }
 
+  @Override
+  public void publish(String key, byte[] message) {
+    producer.send(new ProducerRecord<>(topic, key, message));
+  }
+
+  /**
+   * Hands over all events to the producer without waiting in between, the producer groups them
+   * into batches according to the batch size and linger settings of the protocol.
+   */
+  @Override
+  public void publish(List<byte[]> messages) {
+    for (byte[] message : messages) {
+      producer.send(new ProducerRecord<>(topic, message));
+    }
+  }
+
+  @Override
+  public void flush() {
+    producer.flush();
+  }
+
   private Properties makeProperties(KafkaTransportProtocol protocol) {
     return new ProducerConfigFactory(protocol).makeProperties();
   }
@@ -123,15 +150,45 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
 
     AdminClient adminClient = KafkaAdminClient.create(props);
 
-    final NewTopic newTopic = new NewTopic(topic, 1, (short) 1);
+    int partitions = settings.getPartitions() != null && settings.getPartitions() > 0 ?
+            settings.getPartitions() : PARTITIONS_DEFAULT;
+    short replicationFactor = settings.getReplicationFactor() != null && settings.getReplicationFactor() > 0 ?
+            settings.getReplicationFactor().shortValue() : REPLICATION_FACTOR_DEFAULT;
+
+    final NewTopic newTopic = new NewTopic(topic, partitions, replicationFactor);
     newTopic.configs(topicConfig);
 
     final CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic));
 
     try {
       createTopicsResult.values().get(topic).get();
-    } catch (InterruptedException | ExecutionException e) {
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof TopicExistsException) {
+        increasePartitions(adminClient, partitions);
+      } else {
+        LOG.error("Could not create topic: " + topic + " on broker " + zookeeperHost);
+      }
+    } catch (InterruptedException e) {
       LOG.error("Could not create topic: " + topic + " on broker " + zookeeperHost);
+    } finally {
+      adminClient.close();
+    }
+  }
+
+  /**
+   * Adds partitions to an already existing topic if it has less partitions than requested, e.g.
+   * when a pipeline is restarted with a higher partition count. Partitions are never removed.
+   */
+  private void increasePartitions(AdminClient adminClient, int partitions) {
+    try {
+      TopicDescription description = adminClient.describeTopics(Collections.singleton(topic))
+              .values().get(topic).get();
+      if (description.partitions().size() < partitions) {
+        adminClient.createPartitions(Collections.singletonMap(topic, NewPartitions.increaseTo(partitions)))
+                .all().get();
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      LOG.error("Could not increase partitions of topic: " + topic + " to " + partitions);
     }
   }
 
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestParallelRecordDispatcher {
+
+  private static final String TOPIC = "test-topic";
+  private static final int PARTITIONS = 4;
+  private static final int RECORDS_PER_PARTITION = 500;
+  private static final long TIMEOUT_MS = 10000;
+
+  @Test
+  public void testOrderPerPartitionWithSeveralWorkers() throws InterruptedException {
+    MockConsumer<String, byte[]> consumer = makeConsumer();
+    RecordingProcessor processor = new RecordingProcessor();
+
+    runDispatcher(consumer, processor, PARTITIONS);
+
+    assertEquals(PARTITIONS * RECORDS_PER_PARTITION, processor.received.get());
+    for (int partition = 0; partition < PARTITIONS; partition++) {
+      List<Long> offsets = processor.offsets.get(partition);
+      assertEquals(RECORDS_PER_PARTITION, offsets.size());
+      for (int i = 0; i < RECORDS_PER_PARTITION; i++) {
+        assertEquals(Long.valueOf(i), offsets.get(i));
+      }
+    }
+    assertTrue(processor.threads.size() > 1);
+  }
+
+  @Test
+  public void testCommitProcessedOffsets() throws InterruptedException {
+    MockConsumer<String, byte[]> consumer = makeConsumer();
+
+    runDispatcher(consumer, new RecordingProcessor(), 2);
+
+    for (int partition = 0; partition < PARTITIONS; partition++) {
+      TopicPartition topicPartition = new TopicPartition(TOPIC, partition);
+      assertEquals(RECORDS_PER_PARTITION,
+              consumer.committed(Collections.singleton(topicPartition)).get(topicPartition).offset());
+    }
+  }
+
+  private MockConsumer<String, byte[]> makeConsumer() {
+    MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    List<TopicPartition> partitions = new ArrayList<>();
+    Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+    for (int partition = 0; partition < PARTITIONS; partition++) {
+      TopicPartition topicPartition = new TopicPartition(TOPIC, partition);
+      partitions.add(topicPartition);
+      beginningOffsets.put(topicPartition, 0L);
+    }
+    consumer.assign(partitions);
+    consumer.updateBeginningOffsets(beginningOffsets);
+
+    for (int offset = 0; offset < RECORDS_PER_PARTITION; offset++) {
+      for (int partition = 0; partition < PARTITIONS; partition++) {
+        String value = partition + ":" + offset;
+        consumer.addRecord(new ConsumerRecord<>(TOPIC, partition, offset, null,
+                value.getBytes(StandardCharsets.UTF_8)));
+      }
+    }
+    return consumer;
+  }
+
+  private void runDispatcher(MockConsumer<String, byte[]> consumer,
+                             RecordingProcessor processor,
+                             int workers) {
+    ParallelRecordDispatcher dispatcher = new ParallelRecordDispatcher(consumer, processor, workers, 2);
+    long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+    dispatcher.run(() -> processor.received.get() < PARTITIONS * RECORDS_PER_PARTITION
+            && System.currentTimeMillis() < deadline);
+  }
+
+  private static class RecordingProcessor implements InternalEventProcessor<byte[]> {
+
+    private final Map<Integer, List<Long>> offsets = new ConcurrentHashMap<>();
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger received = new AtomicInteger();
+
+    @Override
+    public void onEvent(byte[] event) {
+      String[] value = new String(event, StandardCharsets.UTF_8).split(":");
+      offsets.computeIfAbsent(Integer.parseInt(value[0]), p -> Collections.synchronizedList(new ArrayList<>()))
+              .add(Long.parseLong(value[1]));
+      threads.add(Thread.currentThread().getName());
+      received.incrementAndGet();
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+      return true;
+    }
+  }
+}
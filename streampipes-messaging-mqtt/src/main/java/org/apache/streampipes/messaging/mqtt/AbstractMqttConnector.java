@@ -18,22 +18,57 @@ package org.apache.streampipes.messaging.mqtt;
 
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.fusesource.mqtt.client.BlockingConnection;
+import org.fusesource.mqtt.client.CallbackConnection;
+import org.fusesource.mqtt.client.FutureConnection;
 import org.fusesource.mqtt.client.MQTT;
+import org.fusesource.mqtt.client.QoS;
 
 public class AbstractMqttConnector {
 
   protected MQTT mqtt;
   protected BlockingConnection connection;
-  protected Boolean connected = false;
+  protected FutureConnection futureConnection;
+  protected CallbackConnection callbackConnection;
+  protected volatile boolean connected = false;
 
   protected void createBrokerConnection(MqttTransportProtocol protocolSettings) throws Exception {
-    this.mqtt = new MQTT();
-    this.mqtt.setHost(makeBrokerUrl(protocolSettings));
+    this.mqtt = makeMqtt(protocolSettings);
     this.connection = mqtt.blockingConnection();
     this.connection.connect();
     this.connected = true;
   }
 
+  protected void createAsyncBrokerConnection(MqttTransportProtocol protocolSettings) throws Exception {
+    this.mqtt = makeMqtt(protocolSettings);
+    this.futureConnection = mqtt.futureConnection();
+    this.futureConnection.connect().await();
+    this.connected = true;
+  }
+
+  protected void createCallbackBrokerConnection(MqttTransportProtocol protocolSettings) throws Exception {
+    this.mqtt = makeMqtt(protocolSettings);
+    this.callbackConnection = mqtt.callbackConnection();
+  }
+
+  protected QoS getQoS(MqttTransportProtocol protocolSettings) {
+    Integer qos = protocolSettings.getQos();
+    if (qos == null) {
+      return QoS.AT_LEAST_ONCE;
+    } else if (qos == 0) {
+      return QoS.AT_MOST_ONCE;
+    } else if (qos == 2) {
+      return QoS.EXACTLY_ONCE;
+    } else {
+      return QoS.AT_LEAST_ONCE;
+    }
+  }
+
+  private MQTT makeMqtt(MqttTransportProtocol protocolSettings) throws Exception {
+    MQTT mqtt = new MQTT();
+    mqtt.setHost(makeBrokerUrl(protocolSettings));
+    return mqtt;
+  }
+
   private String makeBrokerUrl(MqttTransportProtocol protocolSettings) {
     return "tcp://" + protocolSettings.getBrokerHostname() + ":" + protocolSettings.getPort();
   }
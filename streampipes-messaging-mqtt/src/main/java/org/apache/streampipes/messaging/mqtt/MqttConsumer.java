@@ -20,29 +20,119 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventConsumer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
-import org.fusesource.mqtt.client.Message;
+import org.fusesource.hawtbuf.Buffer;
+import org.fusesource.hawtbuf.UTF8Buffer;
+import org.fusesource.mqtt.client.Callback;
+import org.fusesource.mqtt.client.Listener;
 import org.fusesource.mqtt.client.QoS;
 import org.fusesource.mqtt.client.Topic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Asynchronous MQTT consumer. Messages are received on the connection's dispatch queue and handed
+ * over to an inbound buffer, which is drained by a single processing thread. A message is
+ * acknowledged after it has been processed, so that acknowledgements of up to inFlightWindow
+ * messages are pending at the same time. Reading from the socket is suspended while the buffer
+ * holds inFlightWindow messages and resumed once it is drained to half of the window. Messages
+ * which were already read when the connection got suspended are still buffered; the buffer is
+ * bounded to twice the window, beyond that the dispatch queue blocks until the processing thread
+ * took a message.
+ */
 public class MqttConsumer extends AbstractMqttConnector implements
         EventConsumer<MqttTransportProtocol>,
         AutoCloseable, Serializable {
 
+  private static final Logger LOG = LoggerFactory.getLogger(MqttConsumer.class);
+
+  private static final int IN_FLIGHT_WINDOW_DEFAULT = 1000;
+  private static final long CONNECT_TIMEOUT_SECONDS = 30;
+  private static final long SHUTDOWN_TIMEOUT_MS = 10000;
+
+  private transient BlockingQueue<InboundMessage> buffer;
+  private transient Thread consumerThread;
+  private int inFlightWindow;
+  private volatile boolean suspended;
+
   @Override
   public void connect(MqttTransportProtocol protocolSettings, InternalEventProcessor<byte[]> eventProcessor) throws SpRuntimeException {
     try {
-      this.createBrokerConnection(protocolSettings);
-      Topic[] topics = {new Topic(protocolSettings.getTopicDefinition().getActualTopicName(), QoS.AT_LEAST_ONCE)};
-      connection.subscribe(topics);
-      new Thread(new ConsumerThread(eventProcessor)).start();
+      this.inFlightWindow = protocolSettings.getInFlightWindow() != null && protocolSettings.getInFlightWindow() > 0 ?
+              protocolSettings.getInFlightWindow() : IN_FLIGHT_WINDOW_DEFAULT;
+      QoS qos = getQoS(protocolSettings);
+      this.buffer = new LinkedBlockingQueue<>(inFlightWindow > Integer.MAX_VALUE / 2 ?
+              Integer.MAX_VALUE : 2 * inFlightWindow);
+      this.suspended = false;
+
+      this.createCallbackBrokerConnection(protocolSettings);
+      this.callbackConnection.listener(new InboundListener());
 
+      CompletableFuture<Void> connectFuture = new CompletableFuture<>();
+      this.callbackConnection.connect(toCallback(connectFuture));
+      connectFuture.get(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      this.connected = true;
+
+      CompletableFuture<byte[]> subscribeFuture = new CompletableFuture<>();
+      Topic[] topics = {new Topic(protocolSettings.getTopicDefinition().getActualTopicName(), qos)};
+      this.callbackConnection.subscribe(topics, toCallback(subscribeFuture));
+      subscribeFuture.get(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+      this.consumerThread = new Thread(new ConsumerThread(eventProcessor),
+              "mqtt-consumer-" + protocolSettings.getTopicDefinition().getActualTopicName());
+      this.consumerThread.start();
     } catch (Exception e) {
+      this.connected = false;
       throw new SpRuntimeException(e);
     }
   }
 
+  private static class InboundMessage {
+    private final byte[] payload;
+    private final Runnable ack;
+
+    InboundMessage(byte[] payload, Runnable ack) {
+      this.payload = payload;
+      this.ack = ack;
+    }
+  }
+
+  private class InboundListener implements Listener {
+
+    @Override
+    public void onConnected() {
+    }
+
+    @Override
+    public void onDisconnected() {
+    }
+
+    @Override
+    public void onPublish(UTF8Buffer topic, Buffer body, Runnable ack) {
+      try {
+        buffer.put(new InboundMessage(body.toByteArray(), ack));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (!suspended && buffer.size() >= inFlightWindow) {
+        // stop reading from the socket until the processing thread caught up
+        suspended = true;
+        callbackConnection.suspend();
+      }
+    }
+
+    @Override
+    public void onFailure(Throwable value) {
+      LOG.error("MQTT connection failure", value);
+    }
+  }
+
   private class ConsumerThread implements Runnable {
 
     private final InternalEventProcessor<byte[]> eventProcessor;
@@ -53,30 +143,59 @@ public class MqttConsumer extends AbstractMqttConnector implements
 
     @Override
     public void run() {
-      try {
-        while (connected) {
-          Message message = connection.receive();
-          byte[] payload = message.getPayload();
-          eventProcessor.onEvent(payload);
-          message.ack();
+      while (connected || !buffer.isEmpty()) {
+        try {
+          InboundMessage message = buffer.poll(100, TimeUnit.MILLISECONDS);
+          if (message != null) {
+            eventProcessor.onEvent(message.payload);
+            callbackConnection.getDispatchQueue().execute(message.ack);
+          }
+          if (suspended && buffer.size() <= inFlightWindow / 2) {
+            suspended = false;
+            callbackConnection.getDispatchQueue().execute(() -> callbackConnection.resume());
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        } catch (Exception e) {
+          LOG.error("Could not process MQTT message", e);
         }
-      } catch (Exception e) {
-        e.printStackTrace();
       }
     }
   }
 
   @Override
   public void disconnect() throws SpRuntimeException {
+    this.connected = false;
     try {
-      this.connection.disconnect();
+      if (consumerThread != null && consumerThread != Thread.currentThread()) {
+        // let the processing thread drain the buffer before the connection is closed
+        consumerThread.join(SHUTDOWN_TIMEOUT_MS);
+      } else if (buffer != null) {
+        buffer.clear();
+      }
+      CompletableFuture<Void> disconnectFuture = new CompletableFuture<>();
+      this.callbackConnection.disconnect(toCallback(disconnectFuture));
+      disconnectFuture.get(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
     } catch (Exception e) {
       throw new SpRuntimeException(e);
-    } finally {
-      this.connected = false;
     }
   }
 
+  private static <T> Callback<T> toCallback(CompletableFuture<T> future) {
+    return new Callback<T>() {
+      @Override
+      public void onSuccess(T value) {
+        future.complete(value);
+      }
+
+      @Override
+      public void onFailure(Throwable value) {
+        future.completeExceptionally(value);
+      }
+    };
+  }
+
   @Override
   public Boolean isConnected() {
     return this.connected;
@@ -19,42 +19,82 @@ package org.apache.streampipes.messaging.mqtt;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
+import org.fusesource.mqtt.client.Future;
 import org.fusesource.mqtt.client.QoS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Publishes events asynchronously: up to inFlightWindow messages are sent without waiting for
+ * the broker's acknowledgement, a publish only blocks once the window is full. With QoS 0, the
+ * window only limits the number of messages which are not yet written to the socket.
+ */
 public class MqttPublisher extends AbstractMqttConnector implements EventProducer<MqttTransportProtocol> {
 
   private static final Logger LOG = LoggerFactory.getLogger(MqttPublisher.class);
 
+  private static final int IN_FLIGHT_WINDOW_DEFAULT = 100;
+
   private String currentTopic;
+  private int inFlightWindow;
+  private QoS qos;
+  private final Deque<Future<Void>> inFlight = new ArrayDeque<>();
 
   @Override
   public void connect(MqttTransportProtocol protocolSettings) throws SpRuntimeException {
     try {
-      this.createBrokerConnection(protocolSettings);
+      this.createAsyncBrokerConnection(protocolSettings);
       this.currentTopic = protocolSettings.getTopicDefinition().getActualTopicName();
+      this.qos = getQoS(protocolSettings);
+      this.inFlightWindow = protocolSettings.getInFlightWindow() != null && protocolSettings.getInFlightWindow() > 0 ?
+              protocolSettings.getInFlightWindow() : IN_FLIGHT_WINDOW_DEFAULT;
     } catch (Exception e) {
       throw new SpRuntimeException(e);
     }
   }
 
   @Override
-  public void publish(byte[] event) {
+  public synchronized void publish(byte[] event) {
     if (connected && currentTopic != null) {
-      try {
-        this.connection.publish(currentTopic, event, QoS.AT_LEAST_ONCE, false);
-      } catch (Exception e) {
-        // TODO exception handling once system-wide logging is implemented
-        LOG.error(e.getMessage());
+      if (inFlight.size() >= inFlightWindow) {
+        awaitOldest();
       }
+      inFlight.add(this.futureConnection.publish(currentTopic, event, qos, false));
+    }
+  }
+
+  @Override
+  public synchronized void publish(List<byte[]> events) {
+    for (byte[] event : events) {
+      publish(event);
+    }
+  }
+
+  @Override
+  public synchronized void flush() {
+    while (!inFlight.isEmpty()) {
+      awaitOldest();
+    }
+  }
+
+  private void awaitOldest() {
+    try {
+      inFlight.poll().await();
+    } catch (Exception e) {
+      // TODO exception handling once system-wide logging is implemented
+      LOG.error(e.getMessage());
     }
   }
 
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
-      this.connection.disconnect();
+      flush();
+      this.futureConnection.disconnect().await();
     } catch (Exception e) {
       e.printStackTrace();
     } finally {
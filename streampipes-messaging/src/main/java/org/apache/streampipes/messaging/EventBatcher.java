@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects serialized events and hands them over to a producer as batches via
+ * {@link EventProducer#publish(List)}. A batch is published once it is full or once its first
+ * event waited for the linger time, so that slow streams are not delayed any longer.
+ *
+ * Lingering batches are published on a shared pool of threads, so that a producer blocking in
+ * {@link EventProducer#publish(List)} only delays its own events. Producers which batch on their own
+ * (e.g. Kafka with its linger.ms setting) should not be wrapped in a batcher.
+ */
+public class EventBatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EventBatcher.class);
+
+  public static final int DEFAULT_BATCH_SIZE = 100;
+  public static final long DEFAULT_LINGER_MS = 5;
+
+  private static final ScheduledExecutorService LINGER_EXECUTOR =
+          Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sp-event-batcher");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private static final ExecutorService PUBLISH_EXECUTOR =
+          Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "sp-event-batcher-publish");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final EventProducer<?> producer;
+  private final int batchSize;
+  private final long lingerMs;
+
+  private List<byte[]> batch;
+  private ScheduledFuture<?> scheduledPublish;
+
+  public EventBatcher(EventProducer<?> producer) {
+    this(producer, DEFAULT_BATCH_SIZE, DEFAULT_LINGER_MS);
+  }
+
+  public EventBatcher(EventProducer<?> producer, int batchSize, long lingerMs) {
+    this.producer = producer;
+    this.batchSize = batchSize;
+    this.lingerMs = lingerMs;
+    this.batch = new ArrayList<>(batchSize);
+  }
+
+  public synchronized void add(byte[] event) {
+    batch.add(event);
+    if (batch.size() >= batchSize) {
+      publishBatch();
+    } else if (scheduledPublish == null) {
+      scheduledPublish = LINGER_EXECUTOR.schedule(() -> PUBLISH_EXECUTOR.execute(this::publishLingering),
+              lingerMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Publishes all pending events and blocks until the producer sent them to the broker.
+   */
+  public synchronized void flush() {
+    publishBatch();
+    producer.flush();
+  }
+
+  private synchronized void publishLingering() {
+    try {
+      publishBatch();
+    } catch (RuntimeException e) {
+      LOG.error("Could not publish batch of events", e);
+    }
+  }
+
+  private void publishBatch() {
+    if (scheduledPublish != null) {
+      scheduledPublish.cancel(false);
+      scheduledPublish = null;
+    }
+    if (!batch.isEmpty()) {
+      List<byte[]> events = batch;
+      this.batch = new ArrayList<>(batchSize);
+      producer.publish(events);
+    }
+  }
+}
@@ -22,6 +22,7 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
 import java.io.Serializable;
+import java.util.List;
 
 public interface EventProducer<TP extends TransportProtocol> extends Serializable {
 
@@ -29,6 +30,29 @@ public interface EventProducer<TP extends TransportProtocol> extends Serializabl
 
     void publish(byte[] event);
 
+    /**
+     * Publishes an event together with a key which is used by partitioned protocols to assign the
+     * event to a partition. Protocols without partitioning ignore the key.
+     */
+    default void publish(String key, byte[] event) {
+        publish(event);
+    }
+
+    /**
+     * Publishes a batch of events. Implementations may send the batch in fewer round trips than
+     * single events, the events are guaranteed to be handed over to the broker once
+     * {@link #flush()} returns.
+     */
+    default void publish(List<byte[]> events) {
+        events.forEach(this::publish);
+    }
+
+    /**
+     * Blocks until all events published so far have been sent to the broker.
+     */
+    default void flush() {
+    }
+
     void disconnect() throws SpRuntimeException;
 
     Boolean isConnected();
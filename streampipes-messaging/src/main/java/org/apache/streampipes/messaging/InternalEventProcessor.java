@@ -21,4 +21,11 @@ package org.apache.streampipes.messaging;
 public interface InternalEventProcessor<T> {
 
   void onEvent(T event);
+
+  /**
+   * @return true if {@link #onEvent} may be called from several threads at once
+   */
+  default boolean isThreadSafe() {
+    return false;
+  }
 }
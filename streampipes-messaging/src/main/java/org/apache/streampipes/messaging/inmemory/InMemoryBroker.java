@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging.inmemory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of the in-memory topics of this JVM. Channels are created by the first producer or
+ * consumer of a topic and removed once the last one has disconnected.
+ */
+public enum InMemoryBroker {
+
+  INSTANCE;
+
+  public static final int BUFFER_SIZE_DEFAULT = 1024;
+
+  private final Map<String, InMemoryChannel> channels = new HashMap<>();
+  private final Map<String, Integer> usages = new HashMap<>();
+
+  public synchronized InMemoryChannel acquire(String topic, Integer bufferSize) {
+    InMemoryChannel channel = channels.computeIfAbsent(topic, t ->
+            new InMemoryChannel(t, bufferSize != null && bufferSize > 0 ? bufferSize :
+                    BUFFER_SIZE_DEFAULT));
+    usages.merge(topic, 1, Integer::sum);
+    channel.start();
+    return channel;
+  }
+
+  /**
+   * Releases a channel and stops it once it is no longer used. Stopping waits for the dispatcher
+   * thread, so it happens outside the broker lock to not block other topics in the meantime.
+   */
+  public void release(InMemoryChannel channel) {
+    if (removeIfUnused(channel)) {
+      channel.stop();
+    }
+  }
+
+  private synchronized boolean removeIfUnused(InMemoryChannel channel) {
+    String topic = channel.getTopic();
+    Integer remaining = usages.computeIfPresent(topic, (t, count) -> count > 1 ? count - 1 : null);
+    return remaining == null && channels.remove(topic, channel);
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging.inmemory;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single in-memory topic. Published payloads are stored in a bounded buffer and handed over to
+ * all subscribers by a dispatcher thread, so that a slow consumer applies back pressure to the
+ * publisher instead of letting the buffer grow without limits.
+ */
+public class InMemoryChannel {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InMemoryChannel.class);
+
+  @SuppressWarnings("unchecked")
+  private static final InternalEventProcessor<Object>[] NO_SUBSCRIBERS =
+          new InternalEventProcessor[0];
+
+  private static final long POLL_TIMEOUT_MS = 100;
+  private static final long STOP_TIMEOUT_MS = 5000;
+
+  private final String topic;
+  private final BlockingQueue<Object> buffer;
+
+  private volatile InternalEventProcessor<Object>[] subscribers = NO_SUBSCRIBERS;
+  private volatile boolean running;
+  private Thread dispatcher;
+
+  public InMemoryChannel(String topic, int bufferSize) {
+    this.topic = topic;
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+  }
+
+  /**
+   * Adds a payload to the buffer, blocking while the buffer is full.
+   */
+  public void publish(Object payload) {
+    try {
+      buffer.put(payload);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while publishing to in-memory topic {}", topic);
+    }
+  }
+
+  public synchronized void subscribe(InternalEventProcessor<Object> subscriber) {
+    InternalEventProcessor<Object>[] current = this.subscribers;
+    InternalEventProcessor<Object>[] updated = Arrays.copyOf(current, current.length + 1);
+    updated[current.length] = subscriber;
+    this.subscribers = updated;
+  }
+
+  public synchronized void unsubscribe(InternalEventProcessor<Object> subscriber) {
+    this.subscribers = Arrays.stream(this.subscribers)
+            .filter(s -> s != subscriber)
+            .toArray(size -> Arrays.copyOf(NO_SUBSCRIBERS, size));
+  }
+
+  synchronized void start() {
+    if (!running) {
+      running = true;
+      dispatcher = new Thread(this::dispatch, "sp-inmemory-" + topic);
+      dispatcher.setDaemon(true);
+      dispatcher.start();
+    }
+  }
+
+  /**
+   * Stops the dispatcher after the event it is currently delivering. Events still buffered are
+   * delivered to the remaining subscribers, or dropped with a warning if there are none.
+   */
+  synchronized void stop() {
+    running = false;
+    if (dispatcher != null) {
+      try {
+        dispatcher.join(STOP_TIMEOUT_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (dispatcher.isAlive()) {
+        LOG.warn("Dispatcher of in-memory topic {} did not stop within {} ms", topic, STOP_TIMEOUT_MS);
+        dispatcher.interrupt();
+      }
+      dispatcher = null;
+    }
+
+    List<Object> remaining = new ArrayList<>();
+    buffer.drainTo(remaining);
+    if (!remaining.isEmpty()) {
+      if (subscribers.length > 0) {
+        remaining.forEach(this::deliver);
+      } else {
+        LOG.warn("Dropped {} undelivered events of in-memory topic {} without subscribers",
+                remaining.size(), topic);
+      }
+    }
+  }
+
+  private void dispatch() {
+    while (running) {
+      try {
+        Object payload = buffer.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (payload != null) {
+          deliver(payload);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void deliver(Object payload) {
+    for (InternalEventProcessor<Object> subscriber : subscribers) {
+      try {
+        subscriber.onEvent(payload);
+      } catch (RuntimeException e) {
+        LOG.error("Subscriber of in-memory topic {} failed to process event", topic, e);
+      }
+    }
+  }
+
+  public String getTopic() {
+    return topic;
+  }
+
+  public int getBufferedEvents() {
+    return buffer.size();
+  }
+}
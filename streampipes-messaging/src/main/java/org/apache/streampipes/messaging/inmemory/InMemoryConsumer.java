@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging.inmemory;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class InMemoryConsumer implements EventConsumer<InMemoryTransportProtocol> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InMemoryConsumer.class);
+
+  private InMemoryChannel channel;
+  private InternalEventProcessor<Object> subscriber;
+
+  @Override
+  public void connect(InMemoryTransportProtocol protocolSettings,
+                      InternalEventProcessor<byte[]> eventProcessor) throws SpRuntimeException {
+    connect(protocolSettings, eventProcessor, null);
+  }
+
+  /**
+   * Connects to an in-memory topic. Events published as bytes are passed to the raw processor,
+   * events published as event objects to the decoded processor.
+   */
+  public synchronized void connect(InMemoryTransportProtocol protocolSettings,
+                                   InternalEventProcessor<byte[]> rawProcessor,
+                                   InternalEventProcessor<Event> decodedProcessor)
+          throws SpRuntimeException {
+    this.channel = InMemoryBroker.INSTANCE.acquire(protocolSettings.getTopicDefinition()
+            .getActualTopicName(), protocolSettings.getBufferSize());
+    this.subscriber = payload -> {
+      if (payload instanceof byte[]) {
+        rawProcessor.onEvent((byte[]) payload);
+      } else if (decodedProcessor != null) {
+        decodedProcessor.onEvent((Event) payload);
+      } else {
+        LOG.warn("Dropping decoded event on topic {}, consumer expects serialized events",
+                channel.getTopic());
+      }
+    };
+    this.channel.subscribe(subscriber);
+  }
+
+  @Override
+  public synchronized void disconnect() throws SpRuntimeException {
+    if (channel != null) {
+      channel.unsubscribe(subscriber);
+      InMemoryBroker.INSTANCE.release(channel);
+      channel = null;
+      subscriber = null;
+    }
+  }
+
+  @Override
+  public Boolean isConnected() {
+    return channel != null;
+  }
+}
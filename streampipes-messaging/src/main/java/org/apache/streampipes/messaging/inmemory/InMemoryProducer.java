@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging.inmemory;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+
+public class InMemoryProducer implements EventProducer<InMemoryTransportProtocol> {
+
+  private transient InMemoryChannel channel;
+
+  @Override
+  public void connect(InMemoryTransportProtocol protocolSettings) throws SpRuntimeException {
+    this.channel = InMemoryBroker.INSTANCE.acquire(protocolSettings.getTopicDefinition()
+            .getActualTopicName(), protocolSettings.getBufferSize());
+  }
+
+  @Override
+  public void publish(byte[] event) {
+    channel.publish(event);
+  }
+
+  /**
+   * Publishes an event without serializing or copying it. Consumers receive the event object as
+   * is, so it must not be modified after it has been published.
+   */
+  public void publish(Event event) {
+    channel.publish(event);
+  }
+
+  @Override
+  public void disconnect() throws SpRuntimeException {
+    if (channel != null) {
+      InMemoryBroker.INSTANCE.release(channel);
+      channel = null;
+    }
+  }
+
+  @Override
+  public Boolean isConnected() {
+    return channel != null;
+  }
+}
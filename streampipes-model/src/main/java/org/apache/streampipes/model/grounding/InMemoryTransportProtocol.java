@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.grounding;
+
+/**
+ * Transport protocol for pipeline elements which run in the same extensions service. Events are
+ * handed over within the JVM through a bounded buffer instead of being sent to a broker.
+ */
+public class InMemoryTransportProtocol extends TransportProtocol {
+
+  private static final long serialVersionUID = 4523181826235393764L;
+
+  private Integer bufferSize;
+
+  public InMemoryTransportProtocol(String topic) {
+    super(null, new SimpleTopicDefinition(topic));
+  }
+
+  public InMemoryTransportProtocol(String topic, Integer bufferSize) {
+    super(null, new SimpleTopicDefinition(topic));
+    this.bufferSize = bufferSize;
+  }
+
+  public InMemoryTransportProtocol(InMemoryTransportProtocol other) {
+    super(other);
+    this.bufferSize = other.getBufferSize();
+  }
+
+  public InMemoryTransportProtocol() {
+    super();
+  }
+
+  /**
+   * @return the maximum number of events buffered between producer and consumers, or null if
+   * the default is used.
+   */
+  public Integer getBufferSize() {
+    return bufferSize;
+  }
+
+  public void setBufferSize(Integer bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+}
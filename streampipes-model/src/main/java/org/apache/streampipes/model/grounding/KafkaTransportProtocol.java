@@ -42,6 +42,12 @@ public class KafkaTransportProtocol extends TransportProtocol {
 
   private String groupId;
 
+  private Integer partitions;
+
+  private Integer replicationFactor;
+
+  private String partitionKeySelector;
+
   public KafkaTransportProtocol(String kafkaHost, int kafkaPort, String topic) {
     super(kafkaHost, new SimpleTopicDefinition(topic));
     this.zookeeperHost = kafkaHost;
@@ -68,6 +74,9 @@ public class KafkaTransportProtocol extends TransportProtocol {
     this.maxRequestSize = other.getMaxRequestSize();
     this.messageMaxBytes = other.getMessageMaxBytes();
     this.offset = other.getOffset();
+    this.partitions = other.getPartitions();
+    this.replicationFactor = other.getReplicationFactor();
+    this.partitionKeySelector = other.getPartitionKeySelector();
   }
 
   public KafkaTransportProtocol(String kafkaHost, Integer kafkaPort, WildcardTopicDefinition wildcardTopicDefinition) {
@@ -164,4 +173,32 @@ public class KafkaTransportProtocol extends TransportProtocol {
   public void setMaxRequestSize(String maxRequestSize) {
     this.maxRequestSize = maxRequestSize;
   }
+
+  public Integer getPartitions() {
+    return partitions;
+  }
+
+  public void setPartitions(Integer partitions) {
+    this.partitions = partitions;
+  }
+
+  public Integer getReplicationFactor() {
+    return replicationFactor;
+  }
+
+  public void setReplicationFactor(Integer replicationFactor) {
+    this.replicationFactor = replicationFactor;
+  }
+
+  /**
+   * @return the runtime name (e.g. sensorId) of the output event property whose value is used as
+   * the record key, or null if records are published without a key.
+   */
+  public String getPartitionKeySelector() {
+    return partitionKeySelector;
+  }
+
+  public void setPartitionKeySelector(String partitionKeySelector) {
+    this.partitionKeySelector = partitionKeySelector;
+  }
 }
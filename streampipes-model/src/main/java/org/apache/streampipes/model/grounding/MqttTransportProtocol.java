@@ -20,6 +20,10 @@ public class MqttTransportProtocol extends TransportProtocol {
 
   private int port;
 
+  private Integer qos;
+
+  private Integer inFlightWindow;
+
   public MqttTransportProtocol(String hostname, int port, String topicName)
   {
     super(hostname, new SimpleTopicDefinition(topicName));
@@ -30,6 +34,8 @@ public class MqttTransportProtocol extends TransportProtocol {
   {
     super(other);
     this.port = other.getPort();
+    this.qos = other.getQos();
+    this.inFlightWindow = other.getInFlightWindow();
   }
 
   public MqttTransportProtocol()
@@ -45,6 +51,31 @@ public class MqttTransportProtocol extends TransportProtocol {
     this.port = port;
   }
 
+  /**
+   * @return the MQTT quality of service level (0, 1 or 2) used to publish and subscribe, or null
+   * for the default level 1 (at least once).
+   */
+  public Integer getQos() {
+    return qos;
+  }
+
+  public void setQos(Integer qos) {
+    this.qos = qos;
+  }
+
+  /**
+   * @return the maximum number of messages a client keeps in flight, i.e. unacknowledged published
+   * messages or received messages which are not yet processed, or null if the client default is
+   * used.
+   */
+  public Integer getInFlightWindow() {
+    return inFlightWindow;
+  }
+
+  public void setInFlightWindow(Integer inFlightWindow) {
+    this.inFlightWindow = inFlightWindow;
+  }
+
   @Override
   public String toString() {
     return getBrokerHostname() + ":" + getPort();
@@ -23,6 +23,7 @@ import org.apache.streampipes.model.base.UnnamedStreamPipesEntity;
 import org.apache.streampipes.model.util.Cloner;
 
 @JsonSubTypes({
+				@JsonSubTypes.Type(InMemoryTransportProtocol.class),
 				@JsonSubTypes.Type(JmsTransportProtocol.class),
 				@JsonSubTypes.Type(KafkaTransportProtocol.class),
 				@JsonSubTypes.Type(MqttTransportProtocol.class),
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.monitoring;
+
+import org.apache.streampipes.model.shared.annotation.TsModel;
+
+/**
+ * Statistics of a single run of the pipeline health check.
+ */
+@TsModel
+public class PipelineHealthCheckMetrics {
+
+  private long startedAt;
+  private long durationMillis;
+  private long instanceCheckDurationMillis;
+  private long restoreDurationMillis;
+  private long persistDurationMillis;
+  private int checkedPipelines;
+  private int checkedEndpoints;
+  private int unavailableEndpoints;
+  private int restoredElements;
+  private int failedElements;
+  private int updatedPipelines;
+
+  public PipelineHealthCheckMetrics() {
+  }
+
+  public long getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(long startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  public void setDurationMillis(long durationMillis) {
+    this.durationMillis = durationMillis;
+  }
+
+  public long getInstanceCheckDurationMillis() {
+    return instanceCheckDurationMillis;
+  }
+
+  public void setInstanceCheckDurationMillis(long instanceCheckDurationMillis) {
+    this.instanceCheckDurationMillis = instanceCheckDurationMillis;
+  }
+
+  public long getRestoreDurationMillis() {
+    return restoreDurationMillis;
+  }
+
+  public void setRestoreDurationMillis(long restoreDurationMillis) {
+    this.restoreDurationMillis = restoreDurationMillis;
+  }
+
+  public long getPersistDurationMillis() {
+    return persistDurationMillis;
+  }
+
+  public void setPersistDurationMillis(long persistDurationMillis) {
+    this.persistDurationMillis = persistDurationMillis;
+  }
+
+  public int getCheckedPipelines() {
+    return checkedPipelines;
+  }
+
+  public void setCheckedPipelines(int checkedPipelines) {
+    this.checkedPipelines = checkedPipelines;
+  }
+
+  public int getCheckedEndpoints() {
+    return checkedEndpoints;
+  }
+
+  public void setCheckedEndpoints(int checkedEndpoints) {
+    this.checkedEndpoints = checkedEndpoints;
+  }
+
+  public int getUnavailableEndpoints() {
+    return unavailableEndpoints;
+  }
+
+  public void setUnavailableEndpoints(int unavailableEndpoints) {
+    this.unavailableEndpoints = unavailableEndpoints;
+  }
+
+  public int getRestoredElements() {
+    return restoredElements;
+  }
+
+  public void setRestoredElements(int restoredElements) {
+    this.restoredElements = restoredElements;
+  }
+
+  public int getFailedElements() {
+    return failedElements;
+  }
+
+  public void setFailedElements(int failedElements) {
+    this.failedElements = failedElements;
+  }
+
+  public int getUpdatedPipelines() {
+    return updatedPipelines;
+  }
+
+  public void setUpdatedPipelines(int updatedPipelines) {
+    this.updatedPipelines = updatedPipelines;
+  }
+}
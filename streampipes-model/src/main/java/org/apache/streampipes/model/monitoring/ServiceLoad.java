@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.monitoring;
+
+/**
+ * Load of an extensions service, reported by the service and used by the backend to place
+ * pipeline elements.
+ */
+public class ServiceLoad {
+
+  private int runningInstances;
+  private int availableProcessors;
+  private double cpuLoad;
+  private long usedMemory;
+  private long maxMemory;
+
+  public ServiceLoad() {
+  }
+
+  public ServiceLoad(int runningInstances,
+                     int availableProcessors,
+                     double cpuLoad,
+                     long usedMemory,
+                     long maxMemory) {
+    this.runningInstances = runningInstances;
+    this.availableProcessors = availableProcessors;
+    this.cpuLoad = cpuLoad;
+    this.usedMemory = usedMemory;
+    this.maxMemory = maxMemory;
+  }
+
+  public ServiceLoad(ServiceLoad other) {
+    this(other.getRunningInstances(),
+            other.getAvailableProcessors(),
+            other.getCpuLoad(),
+            other.getUsedMemory(),
+            other.getMaxMemory());
+  }
+
+  public int getRunningInstances() {
+    return runningInstances;
+  }
+
+  public void setRunningInstances(int runningInstances) {
+    this.runningInstances = runningInstances;
+  }
+
+  public int getAvailableProcessors() {
+    return availableProcessors;
+  }
+
+  public void setAvailableProcessors(int availableProcessors) {
+    this.availableProcessors = availableProcessors;
+  }
+
+  /**
+   * @return the recent CPU load of the service's host between 0.0 and 1.0, or a negative value
+   * if not available.
+   */
+  public double getCpuLoad() {
+    return cpuLoad;
+  }
+
+  public void setCpuLoad(double cpuLoad) {
+    this.cpuLoad = cpuLoad;
+  }
+
+  public long getUsedMemory() {
+    return usedMemory;
+  }
+
+  public void setUsedMemory(long usedMemory) {
+    this.usedMemory = usedMemory;
+  }
+
+  public long getMaxMemory() {
+    return maxMemory;
+  }
+
+  public void setMaxMemory(long maxMemory) {
+    this.maxMemory = maxMemory;
+  }
+}
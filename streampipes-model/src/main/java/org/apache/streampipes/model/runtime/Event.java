@@ -65,15 +65,34 @@ public class Event {
 
   public AbstractField getFieldByRuntimeName(String runtimeName) {
     // TODO this currently only works for first-level properties
+    AbstractField field = fieldMap.get(makeKey(runtimeName));
+    if (field == null || !runtimeName.equals(field.getFieldNameIn())) {
+      field = fieldMap.get(runtimeName);
+    }
+    if (field != null && runtimeName.equals(field.getFieldNameIn())) {
+      return field;
+    }
     return fieldMap
-            .entrySet()
+            .values()
             .stream()
-            .map(Map.Entry::getValue)
             .filter(entry -> entry.getFieldNameIn().equals(runtimeName))
             .findFirst()
             .orElseThrow(() -> new IllegalArgumentException("Field " + runtimeName + " not found"));
   }
 
+  /**
+   * @return the first-level field which is written with the given name (i.e. after renaming), or
+   * null if the event has no such field.
+   */
+  public AbstractField getFieldByOutputName(String outputName) {
+    return fieldMap
+            .values()
+            .stream()
+            .filter(field -> outputName.equals(field.getFieldNameOut()))
+            .findFirst()
+            .orElse(null);
+  }
+
   public void removeFieldBySelector(String fieldSelector) {
     this.fieldMap.remove(fieldSelector);
   }
@@ -194,7 +213,7 @@ public class Event {
     addPrimitive(runtimeName, value);
   }
 
-  private void addPrimitive(String runtimeName, Object value) {
+  protected void addPrimitive(String runtimeName, Object value) {
     this.fieldMap.put(runtimeName, new PrimitiveField(runtimeName, runtimeName, value));
   }
 
@@ -203,11 +222,15 @@ public class Event {
             (makeSelector(baseSelector, field.getFieldNameIn()), field);
   }
 
-  private String makeKey(AbstractField field) {
+  protected String makeKey(AbstractField field) {
+    return makeKey(field.getFieldNameIn());
+  }
+
+  private String makeKey(String runtimeName) {
     return sourceInfo != null && sourceInfo.getSelectorPrefix() != null ? sourceInfo
             .getSelectorPrefix()
             + PropertySelectorConstants.PROPERTY_DELIMITER
-            + field.getFieldNameIn() : field.getFieldNameIn();
+            + runtimeName : runtimeName;
   }
 
   public Event getSubset(List<String> fieldSelectors) {
@@ -36,9 +36,16 @@ public class EventConverter {
 
   public Map<String, Object> toMap(Boolean renameProperties) {
     Map<String, Object> outMap = new HashMap<>();
+    Map<String, AbstractField> fields;
 
-    event.getFields()
-            .forEach((key, value) -> outMap.put(getValue(value, renameProperties), makeEntry(value, renameProperties)));
+    if (event instanceof SlotEvent) {
+      ((SlotEvent) event).putSlotValues(outMap, renameProperties);
+      fields = ((SlotEvent) event).getNonSlotFields();
+    } else {
+      fields = event.getFields();
+    }
+
+    fields.forEach((key, value) -> outMap.put(getValue(value, renameProperties), makeEntry(value, renameProperties)));
 
     return outMap;
   }
@@ -27,9 +27,12 @@ import org.apache.streampipes.model.runtime.field.PrimitiveField;
 import org.apache.streampipes.model.schema.EventSchema;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class EventFactory {
 
@@ -66,18 +69,68 @@ public class EventFactory {
                               SchemaInfo schemaInfo) {
 
     Map<String, AbstractField> fields = new LinkedTreeMap<>();
-    String selectorPrefix = sourceInfo.getSelectorPrefix();
+    FieldPlan fieldPlan = FieldPlan.unresolved(sourceInfo, schemaInfo);
 
     event.keySet().forEach(key -> {
-      String currentSelector = makeSelector(key, selectorPrefix);
-      fields.put(currentSelector, makeField(key, event.get(key), currentSelector, schemaInfo));
+      FieldPlan childPlan = fieldPlan.getChild(key);
+      fields.put(childPlan.getSelector(), makeField(key, event.get(key), childPlan));
     });
 
     return new Event(fields, sourceInfo, schemaInfo);
   }
 
+  public static Event fromMap(Map<String, Object> event, EventLayout layout) {
+    SlotEvent slotEvent = new SlotEvent(layout);
+
+    for (Map.Entry<String, Object> entry : event.entrySet()) {
+      addValue(slotEvent, entry.getKey(), entry.getValue());
+    }
+
+    return slotEvent;
+  }
+
+  /**
+   * Binds an event emitted by another pipeline element to the layout of a receiving element. The
+   * fields are transferred under the names they are written with, without building an
+   * intermediate map. The emitted event is not modified.
+   */
+  public static Event fromEvent(Event event, EventLayout layout) {
+    SlotEvent slotEvent = new SlotEvent(layout);
+    Map<String, AbstractField> fields;
+
+    if (event instanceof SlotEvent) {
+      SlotEvent source = (SlotEvent) event;
+      for (int slot = 0; slot < source.getSlotCount(); slot++) {
+        if (source.getSlotType(slot) != null) {
+          addValue(slotEvent, source.getSlotName(slot, true), source.getSlotValue(slot));
+        }
+      }
+      fields = source.getNonSlotFields();
+    } else {
+      fields = event.getFields();
+    }
+
+    for (AbstractField field : fields.values()) {
+      String runtimeName = field.getFieldNameOut();
+      if (!field.isPrimitive() || !slotEvent.setSlotValue(runtimeName, field.getRawValue())) {
+        FieldPlan childPlan = layout.getFieldPlan().getChild(runtimeName);
+        slotEvent.putNonSlotField(childPlan.getSelector(), makeField(runtimeName, field,
+                childPlan));
+      }
+    }
+
+    return slotEvent;
+  }
+
+  public static void addValue(SlotEvent slotEvent, String runtimeName, Object value) {
+    if (!slotEvent.setSlotValue(runtimeName, value)) {
+      FieldPlan childPlan = slotEvent.getLayout().getFieldPlan().getChild(runtimeName);
+      slotEvent.putNonSlotField(childPlan.getSelector(), makeField(runtimeName, value, childPlan));
+    }
+  }
+
   public static Event makeSubset(Event event, List<String> fieldSelectors) {
-    Map<String, AbstractField> fieldMap = makeFieldMap(event.getFields(), fieldSelectors);
+    Map<String, AbstractField> fieldMap = makeFieldMap(event.getFields(), new HashSet<>(fieldSelectors));
     return new Event(fieldMap, event.getSourceInfo(), event.getSchemaInfo());
   }
 
@@ -99,7 +152,7 @@ public class EventFactory {
   }
 
   private static Map<String, AbstractField> makeFieldMap(Map<String, AbstractField> fields,
-                                                         List<String> fieldSelectors) {
+                                                         Set<String> fieldSelectors) {
     Map<String, AbstractField> outMap = new HashMap<>();
     for (String key : fields.keySet()) {
       if (contains(key, fieldSelectors)) {
@@ -117,43 +170,49 @@ public class EventFactory {
     return outMap;
   }
 
-  private static boolean contains(String key, List<String> fieldSelectors) {
-    return fieldSelectors.stream().anyMatch(f -> f.equals(key));
+  private static boolean contains(String key, Collection<String> fieldSelectors) {
+    return fieldSelectors.contains(key);
   }
 
-  private static AbstractField makeField(String runtimeName, Object o, String currentSelector,
-                                         SchemaInfo schemaInfo) {
+  private static AbstractField makeField(String runtimeName, Object o, FieldPlan fieldPlan) {
     if (o instanceof Map) {
       Map<String, Object> items = (Map<String, Object>) o;
       Map<String, AbstractField> fieldMap = new LinkedTreeMap<>();
       items.forEach((key, value) -> {
-        String selector = makeSelector(key, currentSelector);
-        fieldMap.put(selector, makeField(key, value, selector, schemaInfo));
+        FieldPlan childPlan = fieldPlan.getChild(key);
+        fieldMap.put(childPlan.getSelector(), makeField(key, value, childPlan));
       });
-      return new NestedField(runtimeName, getNewRuntimeName(currentSelector, runtimeName,
-              schemaInfo.getRenameRules()),
-              fieldMap);
+      return new NestedField(runtimeName, fieldPlan.getOutputName(), fieldMap);
     } else if (o instanceof List) {
       List<AbstractField> items = new ArrayList<>();
-      for(Integer i = 0; i < ((List) o).size(); i++) {
-        items.add(makeField("", ((List) o).get(i), currentSelector + "::" +i, schemaInfo));
+      for(int i = 0; i < ((List) o).size(); i++) {
+        items.add(makeField("", ((List) o).get(i), fieldPlan.getListItem(i)));
       }
-      return new ListField(runtimeName, getNewRuntimeName(currentSelector, runtimeName, schemaInfo
-              .getRenameRules()), items);
+      return new ListField(runtimeName, fieldPlan.getOutputName(), items);
     } else {
-      return new PrimitiveField(runtimeName, getNewRuntimeName(currentSelector, runtimeName,
-              schemaInfo.getRenameRules()), o);
+      return new PrimitiveField(runtimeName, fieldPlan.getOutputName(), o);
     }
   }
 
-  private static String getNewRuntimeName(String currentSelector, String
-          runtimeName, List<PropertyRenameRule>
-                                                  renameRules) {
-    return renameRules
-            .stream()
-            .filter(r -> r.getRuntimeId().equals(currentSelector))
-            .findFirst()
-            .map(PropertyRenameRule::getNewRuntimeName).orElse(runtimeName);
+  private static AbstractField makeField(String runtimeName, AbstractField field, FieldPlan
+          fieldPlan) {
+    if (field.isComposite()) {
+      Map<String, AbstractField> fieldMap = new LinkedTreeMap<>();
+      for (AbstractField child : field.getAsComposite().getRawValue().values()) {
+        FieldPlan childPlan = fieldPlan.getChild(child.getFieldNameOut());
+        fieldMap.put(childPlan.getSelector(), makeField(child.getFieldNameOut(), child, childPlan));
+      }
+      return new NestedField(runtimeName, fieldPlan.getOutputName(), fieldMap);
+    } else if (field.isList()) {
+      List<AbstractField> items = new ArrayList<>();
+      List<AbstractField> sourceItems = field.getAsList().getRawValue();
+      for (int i = 0; i < sourceItems.size(); i++) {
+        items.add(makeField("", sourceItems.get(i), fieldPlan.getListItem(i)));
+      }
+      return new ListField(runtimeName, fieldPlan.getOutputName(), items);
+    } else {
+      return new PrimitiveField(runtimeName, fieldPlan.getOutputName(), field.getRawValue());
+    }
   }
 
   private static String makeSelector(String key, String selectorPrefix) {
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.util.ModelUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slot layout of the events of a single input stream, compiled once from the stream's
+ * {@link SchemaInfo}. Every first-level primitive property of the schema is assigned a slot in
+ * one of the typed value columns of a {@link SlotEvent}; all other properties are kept as
+ * regular fields.
+ */
+public class EventLayout implements Serializable {
+
+  static final byte KIND_LONG = 0;
+  static final byte KIND_DOUBLE = 1;
+  static final byte KIND_BOOLEAN = 2;
+  static final byte KIND_OBJECT = 3;
+
+  private final SourceInfo sourceInfo;
+  private final SchemaInfo schemaInfo;
+  private final FieldPlan fieldPlan;
+
+  private final String[] selectors;
+  private final String[] runtimeNames;
+  private final String[] outputNames;
+  private final byte[] kinds;
+  private final int[] columns;
+  private final int[] columnSizes;
+
+  private final Map<String, Integer> slotsBySelector;
+  private final Map<String, Integer> slotsByRuntimeName;
+  private final Map<String, Integer> slotsByOutputName;
+
+  private EventLayout(SourceInfo sourceInfo,
+                      SchemaInfo schemaInfo,
+                      List<EventPropertyPrimitive> properties) {
+    this.sourceInfo = sourceInfo;
+    this.schemaInfo = schemaInfo;
+    this.fieldPlan = FieldPlan.compile(sourceInfo, schemaInfo);
+    this.selectors = new String[properties.size()];
+    this.runtimeNames = new String[properties.size()];
+    this.outputNames = new String[properties.size()];
+    this.kinds = new byte[properties.size()];
+    this.columns = new int[properties.size()];
+    this.columnSizes = new int[4];
+    this.slotsBySelector = new HashMap<>();
+    this.slotsByRuntimeName = new HashMap<>();
+    this.slotsByOutputName = new HashMap<>();
+
+    for (int slot = 0; slot < properties.size(); slot++) {
+      EventPropertyPrimitive property = properties.get(slot);
+      FieldPlan plan = fieldPlan.getChild(property.getRuntimeName());
+      String selector = plan.getSelector();
+      selectors[slot] = selector;
+      runtimeNames[slot] = property.getRuntimeName();
+      outputNames[slot] = plan.getOutputName();
+      kinds[slot] = toKind(property.getRuntimeType());
+      columns[slot] = columnSizes[kinds[slot]]++;
+      slotsBySelector.put(selector, slot);
+      slotsByRuntimeName.put(property.getRuntimeName(), slot);
+      slotsByOutputName.put(plan.getOutputName(), slot);
+    }
+  }
+
+  public static EventLayout compile(SourceInfo sourceInfo, SchemaInfo schemaInfo) {
+    List<EventPropertyPrimitive> properties = new ArrayList<>();
+    if (schemaInfo.getEventSchema() != null) {
+      for (EventProperty property : schemaInfo.getEventSchema().getEventProperties()) {
+        if (property instanceof EventPropertyPrimitive && property.getRuntimeName() != null) {
+          properties.add((EventPropertyPrimitive) property);
+        }
+      }
+    }
+    return new EventLayout(sourceInfo, schemaInfo, properties);
+  }
+
+  public SourceInfo getSourceInfo() {
+    return sourceInfo;
+  }
+
+  public SchemaInfo getSchemaInfo() {
+    return schemaInfo;
+  }
+
+  public FieldPlan getFieldPlan() {
+    return fieldPlan;
+  }
+
+  public int getSlotCount() {
+    return selectors.length;
+  }
+
+  Integer getSlotBySelector(String selector) {
+    return slotsBySelector.get(selector);
+  }
+
+  Integer getSlotByRuntimeName(String runtimeName) {
+    return slotsByRuntimeName.get(runtimeName);
+  }
+
+  Integer getSlotByOutputName(String outputName) {
+    return slotsByOutputName.get(outputName);
+  }
+
+  String getSelector(int slot) {
+    return selectors[slot];
+  }
+
+  String getRuntimeName(int slot) {
+    return runtimeNames[slot];
+  }
+
+  String getOutputName(int slot) {
+    return outputNames[slot];
+  }
+
+  byte getKind(int slot) {
+    return kinds[slot];
+  }
+
+  int getColumn(int slot) {
+    return columns[slot];
+  }
+
+  int getColumnSize(byte kind) {
+    return columnSizes[kind];
+  }
+
+  private static byte toKind(String runtimeType) {
+    Class<?> primitiveClass = runtimeType != null ? ModelUtils.getPrimitiveClass(runtimeType) : null;
+    if (primitiveClass == Long.class || primitiveClass == Integer.class) {
+      return KIND_LONG;
+    } else if (primitiveClass == Double.class || primitiveClass == Float.class) {
+      return KIND_DOUBLE;
+    } else if (primitiveClass == Boolean.class) {
+      return KIND_BOOLEAN;
+    } else {
+      return KIND_OBJECT;
+    }
+  }
+}
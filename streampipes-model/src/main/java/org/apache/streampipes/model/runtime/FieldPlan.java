@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-resolved selector and output name of a (possibly nested) event property. Plans for the
+ * properties of the event schema are compiled once per input stream, plans for properties which
+ * are not part of the schema are resolved on demand using the rename index of the
+ * {@link SchemaInfo}.
+ */
+public class FieldPlan implements Serializable {
+
+  private final String selector;
+  private final String outputName;
+  private final SchemaInfo schemaInfo;
+  private final Map<String, FieldPlan> children;
+
+  private FieldPlan(String selector,
+                    String runtimeName,
+                    SchemaInfo schemaInfo,
+                    Map<String, FieldPlan> children) {
+    this.selector = selector;
+    this.outputName = schemaInfo.getNewRuntimeName(selector, runtimeName);
+    this.schemaInfo = schemaInfo;
+    this.children = children;
+  }
+
+  /**
+   * Compiles the plans for all properties of the event schema of the given stream.
+   */
+  public static FieldPlan compile(SourceInfo sourceInfo, SchemaInfo schemaInfo) {
+    List<EventProperty> properties = schemaInfo.getEventSchema() != null ?
+            schemaInfo.getEventSchema().getEventProperties() : Collections.emptyList();
+    return new FieldPlan(sourceInfo.getSelectorPrefix(), null, schemaInfo,
+            makeChildren(sourceInfo.getSelectorPrefix(), properties, schemaInfo));
+  }
+
+  /**
+   * Creates a plan which resolves all properties on demand, e.g., if no schema is available.
+   */
+  public static FieldPlan unresolved(SourceInfo sourceInfo, SchemaInfo schemaInfo) {
+    return new FieldPlan(sourceInfo.getSelectorPrefix(), null, schemaInfo, Collections.emptyMap());
+  }
+
+  private static Map<String, FieldPlan> makeChildren(String parentSelector,
+                                                     List<EventProperty> properties,
+                                                     SchemaInfo schemaInfo) {
+    Map<String, FieldPlan> children = new HashMap<>();
+    for (EventProperty property : properties) {
+      if (property.getRuntimeName() != null) {
+        String selector = makeSelector(parentSelector, property.getRuntimeName());
+        Map<String, FieldPlan> nestedChildren = property instanceof EventPropertyNested ?
+                makeChildren(selector, ((EventPropertyNested) property).getEventProperties(),
+                        schemaInfo) : Collections.emptyMap();
+        children.put(property.getRuntimeName(), new FieldPlan(selector, property.getRuntimeName(),
+                schemaInfo, nestedChildren));
+      }
+    }
+    return children;
+  }
+
+  private static String makeSelector(String parentSelector, String key) {
+    return parentSelector + PropertySelectorConstants.PROPERTY_DELIMITER + key;
+  }
+
+  public FieldPlan getChild(String runtimeName) {
+    FieldPlan child = children.get(runtimeName);
+    return child != null ? child : new FieldPlan(makeSelector(selector, runtimeName), runtimeName,
+            schemaInfo, Collections.emptyMap());
+  }
+
+  public FieldPlan getListItem(int index) {
+    return new FieldPlan(makeSelector(selector, String.valueOf(index)), "", schemaInfo,
+            Collections.emptyMap());
+  }
+
+  public String getSelector() {
+    return selector;
+  }
+
+  public String getOutputName() {
+    return outputName;
+  }
+}
@@ -21,17 +21,31 @@ import org.apache.streampipes.model.output.PropertyRenameRule;
 import org.apache.streampipes.model.schema.EventSchema;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class SchemaInfo implements Serializable {
 
   private EventSchema eventSchema;
   private List<PropertyRenameRule> renameRules;
+  private Map<String, String> newRuntimeNames;
 
   public SchemaInfo(EventSchema eventSchema, List<PropertyRenameRule> renameRules) {
     this.eventSchema = eventSchema;
     this.renameRules = renameRules;
+    this.newRuntimeNames = makeNewRuntimeNames(renameRules);
+  }
+
+  private Map<String, String> makeNewRuntimeNames(List<PropertyRenameRule> renameRules) {
+    Map<String, String> newRuntimeNames = new HashMap<>();
+    if (renameRules != null) {
+      // the first rule for a selector wins, as in the former linear search
+      renameRules.forEach(rule -> newRuntimeNames.putIfAbsent(rule.getRuntimeId(), rule
+              .getNewRuntimeName()));
+    }
+    return newRuntimeNames;
   }
 
   public EventSchema getEventSchema() {
@@ -42,6 +56,10 @@ public class SchemaInfo implements Serializable {
     return renameRules;
   }
 
+  public String getNewRuntimeName(String selector, String runtimeName) {
+    return newRuntimeNames.getOrDefault(selector, runtimeName);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
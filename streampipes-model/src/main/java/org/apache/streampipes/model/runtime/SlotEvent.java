@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link Event} whose first-level primitive values are stored in typed slot arrays as defined
+ * by an {@link EventLayout}. A slot is converted into a regular {@link PrimitiveField} only when it
+ * is accessed as a field, all other properties (nested, list and unknown properties) are kept in
+ * the field map of the event. Consumers on the hot path can read slot values through
+ * {@link #getSlotBySelector(String)} and the typed slot getters without materializing fields.
+ */
+public class SlotEvent extends Event {
+
+  public enum SlotType {
+    INT, LONG, FLOAT, DOUBLE, BOOLEAN, OBJECT
+  }
+
+  private final EventLayout layout;
+  private final SlotType[] states;
+  private final long[] longValues;
+  private final double[] doubleValues;
+  private final boolean[] booleanValues;
+  private final Object[] objectValues;
+
+  public SlotEvent(EventLayout layout) {
+    super(new HashMap<>(), layout.getSourceInfo(), layout.getSchemaInfo());
+    this.layout = layout;
+    this.states = new SlotType[layout.getSlotCount()];
+    this.longValues = new long[layout.getColumnSize(EventLayout.KIND_LONG)];
+    this.doubleValues = new double[layout.getColumnSize(EventLayout.KIND_DOUBLE)];
+    this.booleanValues = new boolean[layout.getColumnSize(EventLayout.KIND_BOOLEAN)];
+    this.objectValues = new Object[layout.getColumnSize(EventLayout.KIND_OBJECT)];
+  }
+
+  /**
+   * Stores the value of a first-level property in its slot.
+   *
+   * @return false if the property has no slot in the layout or the value does not fit the slot
+   * type, in this case the value needs to be added as a regular field.
+   */
+  public boolean setSlotValue(String runtimeName, Object value) {
+    Integer slot = layout.getSlotByRuntimeName(runtimeName);
+    return slot != null && setSlotValue(slot, value);
+  }
+
+  public boolean setIntSlotValue(String runtimeName, int value) {
+    Integer slot = layout.getSlotByRuntimeName(runtimeName);
+    return slot != null && setLongSlotValue(slot, value, SlotType.INT);
+  }
+
+  public boolean setLongSlotValue(String runtimeName, long value) {
+    Integer slot = layout.getSlotByRuntimeName(runtimeName);
+    return slot != null && setLongSlotValue(slot, value, SlotType.LONG);
+  }
+
+  public boolean setFloatSlotValue(String runtimeName, float value) {
+    Integer slot = layout.getSlotByRuntimeName(runtimeName);
+    return slot != null && setDoubleSlotValue(slot, value, SlotType.FLOAT);
+  }
+
+  public boolean setDoubleSlotValue(String runtimeName, double value) {
+    Integer slot = layout.getSlotByRuntimeName(runtimeName);
+    return slot != null && setDoubleSlotValue(slot, value, SlotType.DOUBLE);
+  }
+
+  public boolean setBooleanSlotValue(String runtimeName, boolean value) {
+    Integer slot = layout.getSlotByRuntimeName(runtimeName);
+    if (slot != null && layout.getKind(slot) == EventLayout.KIND_BOOLEAN) {
+      booleanValues[layout.getColumn(slot)] = value;
+      markSet(slot, SlotType.BOOLEAN);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean setLongSlotValue(int slot, long value, SlotType slotType) {
+    if (layout.getKind(slot) == EventLayout.KIND_LONG) {
+      longValues[layout.getColumn(slot)] = value;
+      markSet(slot, slotType);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean setDoubleSlotValue(int slot, double value, SlotType slotType) {
+    if (layout.getKind(slot) == EventLayout.KIND_DOUBLE) {
+      doubleValues[layout.getColumn(slot)] = value;
+      markSet(slot, slotType);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean setSlotValue(int slot, Object value) {
+    if (value instanceof Integer) {
+      return setLongSlotValue(slot, (Integer) value, SlotType.INT);
+    } else if (value instanceof Long) {
+      return setLongSlotValue(slot, (Long) value, SlotType.LONG);
+    } else if (value instanceof Float) {
+      return setDoubleSlotValue(slot, (Float) value, SlotType.FLOAT);
+    } else if (value instanceof Double) {
+      return setDoubleSlotValue(slot, (Double) value, SlotType.DOUBLE);
+    } else if (value instanceof Boolean && layout.getKind(slot) == EventLayout.KIND_BOOLEAN) {
+      booleanValues[layout.getColumn(slot)] = (Boolean) value;
+      markSet(slot, SlotType.BOOLEAN);
+      return true;
+    } else if (layout.getKind(slot) == EventLayout.KIND_OBJECT && value != null
+            && !(value instanceof Map) && !(value instanceof List)) {
+      objectValues[layout.getColumn(slot)] = value;
+      markSet(slot, SlotType.OBJECT);
+      return true;
+    }
+    return false;
+  }
+
+  public EventLayout getLayout() {
+    return layout;
+  }
+
+  public int getSlotCount() {
+    return states.length;
+  }
+
+  /**
+   * @return the type of the value currently stored in the slot or null if the slot is empty.
+   */
+  public SlotType getSlotType(int slot) {
+    return states[slot];
+  }
+
+  /**
+   * @return the slot currently holding the value of the property with the given selector, or -1
+   * if the value is not stored in a slot (e.g. because it has already been accessed as a field).
+   */
+  public int getSlotBySelector(String fieldSelector) {
+    Integer slot = layout.getSlotBySelector(fieldSelector);
+    return isSet(slot) ? slot : -1;
+  }
+
+  /**
+   * @return the slot currently holding the value of the first-level property with the given
+   * runtime name, or -1 if the value is not stored in a slot.
+   */
+  public int getSlotByRuntimeName(String runtimeName) {
+    Integer slot = layout.getSlotByRuntimeName(runtimeName);
+    return isSet(slot) ? slot : -1;
+  }
+
+  /**
+   * @return the slot currently holding the value of the first-level property which is written
+   * with the given name (i.e. after renaming), or -1 if the value is not stored in a slot.
+   */
+  public int getSlotByOutputName(String outputName) {
+    Integer slot = layout.getSlotByOutputName(outputName);
+    return isSet(slot) ? slot : -1;
+  }
+
+  public String getSlotName(int slot, Boolean renameProperties) {
+    return renameProperties ? layout.getOutputName(slot) : layout.getRuntimeName(slot);
+  }
+
+  public long getLongSlotValue(int slot) {
+    return longValues[layout.getColumn(slot)];
+  }
+
+  public double getDoubleSlotValue(int slot) {
+    return doubleValues[layout.getColumn(slot)];
+  }
+
+  public boolean getBooleanSlotValue(int slot) {
+    return booleanValues[layout.getColumn(slot)];
+  }
+
+  public Object getObjectSlotValue(int slot) {
+    return objectValues[layout.getColumn(slot)];
+  }
+
+  /**
+   * @return the value of the slot boxed according to its slot type, the slot stays a slot.
+   */
+  public Object getSlotValue(int slot) {
+    int column = layout.getColumn(slot);
+    switch (states[slot]) {
+      case INT:
+        return (int) longValues[column];
+      case LONG:
+        return longValues[column];
+      case FLOAT:
+        return (float) doubleValues[column];
+      case DOUBLE:
+        return doubleValues[column];
+      case BOOLEAN:
+        return booleanValues[column];
+      default:
+        return objectValues[column];
+    }
+  }
+
+  /**
+   * Marks a slot as set. A value previously stored as a regular field (e.g. for a duplicate key of
+   * the input) is replaced, so the value set last wins.
+   */
+  private void markSet(int slot, SlotType slotType) {
+    states[slot] = slotType;
+    Map<String, AbstractField> fields = super.getFields();
+    if (!fields.isEmpty()) {
+      fields.remove(layout.getSelector(slot));
+    }
+  }
+
+  /**
+   * Stores a value as a regular field, replacing a value previously stored in the property's slot.
+   */
+  void putNonSlotField(String selector, AbstractField field) {
+    clearSlot(layout.getSlotBySelector(selector));
+    super.getFields().put(selector, field);
+  }
+
+  private boolean isSet(Integer slot) {
+    return slot != null && states[slot] != null;
+  }
+
+  private void clearSlot(Integer slot) {
+    if (slot != null) {
+      states[slot] = null;
+      if (layout.getKind(slot) == EventLayout.KIND_OBJECT) {
+        objectValues[layout.getColumn(slot)] = null;
+      }
+    }
+  }
+
+  private AbstractField toField(int slot) {
+    AbstractField field = new PrimitiveField(layout.getRuntimeName(slot), layout.getOutputName(slot),
+            getSlotValue(slot));
+    super.getFields().put(layout.getSelector(slot), field);
+    clearSlot(slot);
+    return field;
+  }
+
+  private void toFields() {
+    for (int slot = 0; slot < states.length; slot++) {
+      if (states[slot] != null) {
+        toField(slot);
+      }
+    }
+  }
+
+  /**
+   * @return the fields which are not stored in a slot, without converting slot values to fields.
+   */
+  public Map<String, AbstractField> getNonSlotFields() {
+    return super.getFields();
+  }
+
+  void putSlotValues(Map<String, Object> outMap, Boolean renameProperties) {
+    for (int slot = 0; slot < states.length; slot++) {
+      if (states[slot] != null) {
+        outMap.put(getSlotName(slot, renameProperties), getSlotValue(slot));
+      }
+    }
+  }
+
+  @Override
+  public Map<String, AbstractField> getFields() {
+    toFields();
+    return super.getFields();
+  }
+
+  @Override
+  public AbstractField getFieldByRuntimeName(String runtimeName) {
+    Integer slot = layout.getSlotByRuntimeName(runtimeName);
+    return isSet(slot) ? toField(slot) : super.getFieldByRuntimeName(runtimeName);
+  }
+
+  @Override
+  public AbstractField getFieldByOutputName(String outputName) {
+    Integer slot = layout.getSlotByOutputName(outputName);
+    return isSet(slot) ? toField(slot) : super.getFieldByOutputName(outputName);
+  }
+
+  @Override
+  public AbstractField getFieldBySelector(String fieldSelector) {
+    Integer slot = layout.getSlotBySelector(fieldSelector);
+    return isSet(slot) ? toField(slot) : super.getFieldBySelector(fieldSelector);
+  }
+
+  @Override
+  public void removeFieldBySelector(String fieldSelector) {
+    clearSlot(layout.getSlotBySelector(fieldSelector));
+    super.removeFieldBySelector(fieldSelector);
+  }
+
+  @Override
+  public void updateFieldBySelector(String selector, AbstractField field) {
+    Integer slot = layout.getSlotBySelector(selector);
+    if (isSet(slot)) {
+      clearSlot(slot);
+      super.getFields().put(selector, field);
+    } else {
+      super.updateFieldBySelector(selector, field);
+    }
+  }
+
+  @Override
+  public void addField(AbstractField field) {
+    clearSlot(layout.getSlotBySelector(makeKey(field)));
+    super.addField(field);
+  }
+
+  @Override
+  protected void addPrimitive(String runtimeName, Object value) {
+    clearSlot(layout.getSlotByRuntimeName(runtimeName));
+    super.addPrimitive(runtimeName, value);
+  }
+}
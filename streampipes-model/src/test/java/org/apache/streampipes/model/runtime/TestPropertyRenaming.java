@@ -18,6 +18,7 @@
 package org.apache.streampipes.model.runtime;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -37,6 +38,17 @@ public class TestPropertyRenaming {
     assertEquals(1, outMap.keySet().size());
   }
 
+  @Test
+  public void testFieldByOutputName() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.simpleMap();
+    Event event = RuntimeTestUtils.makeSimpleEventWithRenameRule(runtimeMap, RuntimeTestUtils.getSourceInfo());
+    event.addField("added", 2);
+
+    assertEquals(1, event.getFieldByOutputName("ts").getRawValue());
+    assertEquals(2, event.getFieldByOutputName("added").getRawValue());
+    assertNull(event.getFieldByOutputName("timestamp"));
+  }
+
   @Test
   public void testNoRenaming() {
     Map<String, Object> runtimeMap = RuntimeTestUtils.simpleMap();
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+public class TestSlotEvent {
+
+  private static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+  private EventLayout makeLayout() {
+    EventSchema schema = new EventSchema(Arrays.<EventProperty>asList(
+            new EventPropertyPrimitive(XSD + "integer", "timestamp", "", Collections.emptyList()),
+            new EventPropertyPrimitive(XSD + "integer", "sensor1", "", Collections.emptyList()),
+            new EventPropertyPrimitive(XSD + "boolean", "sensor2", "", Collections.emptyList())));
+    PropertyRenameRule rule = new PropertyRenameRule("s0::timestamp", "ts");
+    return EventLayout.compile(RuntimeTestUtils.getSourceInfo(), new SchemaInfo(schema,
+            Collections.singletonList(rule)));
+  }
+
+  @Test
+  public void testSlotValues() {
+    Event event = EventFactory.fromMap(RuntimeTestUtils.multiplePropertiesMap(), makeLayout());
+
+    assertTrue(event instanceof SlotEvent);
+    assertEquals(1, event.getFieldBySelector("s0::timestamp").getRawValue());
+    assertEquals("ts", event.getFieldBySelector("s0::timestamp").getFieldNameOut());
+    assertEquals(2, event.getFieldByRuntimeName("sensor1").getAsPrimitive().getAsInt().intValue());
+  }
+
+  @Test
+  public void testValueNotMatchingSlotType() {
+    Event event = EventFactory.fromMap(RuntimeTestUtils.multiplePropertiesMap(), makeLayout());
+
+    assertEquals(3, event.getFieldBySelector("s0::sensor2").getRawValue());
+    assertEquals(3, event.getFields().size());
+  }
+
+  @Test
+  public void testUpdateAndRemove() {
+    Event event = EventFactory.fromMap(RuntimeTestUtils.multiplePropertiesMap(), makeLayout());
+
+    event.updateFieldBySelector("s0::sensor1", 5);
+    event.removeFieldBySelector("s0::timestamp");
+
+    Map<String, Object> convertedMap = new EventConverter(event).toMap();
+    assertEquals(5, convertedMap.get("sensor1"));
+    assertFalse(convertedMap.containsKey("ts"));
+    assertFalse(convertedMap.containsKey("timestamp"));
+  }
+
+  @Test
+  public void testAddFieldReplacesSlot() {
+    Event event = EventFactory.fromMap(RuntimeTestUtils.multiplePropertiesMap(), makeLayout());
+
+    event.addField("sensor1", 7);
+
+    Map<String, Object> convertedMap = new EventConverter(event).toMap();
+    assertEquals(3, convertedMap.size());
+    assertEquals(7, convertedMap.get("sensor1"));
+  }
+
+  @Test
+  public void testSlotAccessWithoutFields() {
+    SlotEvent event = (SlotEvent) EventFactory.fromMap(RuntimeTestUtils.multiplePropertiesMap(),
+            makeLayout());
+
+    int slot = event.getSlotBySelector("s0::sensor1");
+
+    assertEquals(slot, event.getSlotByRuntimeName("sensor1"));
+    assertEquals(2, event.getLongSlotValue(slot));
+    assertEquals(2, event.getSlotValue(slot));
+    assertEquals(-1, event.getSlotBySelector("s0::sensor2"));
+    assertEquals(1, event.getNonSlotFields().size());
+
+    event.getFieldBySelector("s0::sensor1");
+    assertEquals(-1, event.getSlotBySelector("s0::sensor1"));
+  }
+
+  @Test
+  public void testAccessByOutputName() {
+    SlotEvent event = (SlotEvent) EventFactory.fromMap(RuntimeTestUtils.multiplePropertiesMap(),
+            makeLayout());
+    event.addField("added", "a");
+
+    int slot = event.getSlotByOutputName("ts");
+    assertEquals(slot, event.getSlotBySelector("s0::timestamp"));
+    assertEquals(1, event.getSlotValue(slot));
+    assertEquals(-1, event.getSlotByOutputName("timestamp"));
+    assertEquals("a", event.getFieldByOutputName("added").getRawValue());
+
+    assertEquals(1, event.getFieldByOutputName("ts").getRawValue());
+    assertEquals(-1, event.getSlotByOutputName("ts"));
+    assertEquals(1, event.getFieldByOutputName("ts").getRawValue());
+    assertNull(event.getFieldByOutputName("timestamp"));
+  }
+
+  @Test
+  public void testConversion() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    Event event = EventFactory.fromMap(runtimeMap, makeLayout());
+
+    Map<String, Object> convertedMap = new EventConverter(event).toMap();
+
+    assertEquals(2, convertedMap.size());
+    assertEquals(1, convertedMap.get("ts"));
+    assertTrue(convertedMap.get("nested") instanceof Map);
+    assertEquals(1, event.getRaw().get("timestamp"));
+  }
+
+  @Test
+  public void testNestedRenaming() {
+    EventLayout layout = EventLayout.compile(RuntimeTestUtils.getSourceInfo(), new SchemaInfo(null,
+            Arrays.asList(new PropertyRenameRule("s0::nested", "ns"),
+                    new PropertyRenameRule("s0::nested::timestamp2", "ts2"))));
+    Event event = EventFactory.fromMap(RuntimeTestUtils.nestedMap(), layout);
+
+    Map<String, Object> convertedMap = new EventConverter(event).toMap();
+
+    assertTrue(convertedMap.containsKey("ns"));
+    assertEquals(2, ((Map<String, Object>) convertedMap.get("ns")).get("ts2"));
+    assertEquals("timestamp2", event.getFieldBySelector("s0::nested::timestamp2").getFieldNameIn());
+  }
+
+  @Test
+  public void testFromEvent() {
+    EventLayout producerLayout = EventLayout.compile(RuntimeTestUtils.getSourceInfo(),
+            new SchemaInfo(null, Arrays.asList(new PropertyRenameRule("s0::timestamp", "ts"),
+                    new PropertyRenameRule("s0::nested::timestamp2", "ts2"))));
+    Event emitted = EventFactory.fromMap(RuntimeTestUtils.nestedMap(), producerLayout);
+    EventSchema consumerSchema = new EventSchema(Collections.<EventProperty>singletonList(
+            new EventPropertyPrimitive(XSD + "integer", "ts", "", Collections.emptyList())));
+    EventLayout consumerLayout = EventLayout.compile(RuntimeTestUtils.getSourceInfo(),
+            new SchemaInfo(consumerSchema, Collections.emptyList()));
+
+    SlotEvent event = (SlotEvent) EventFactory.fromEvent(emitted, consumerLayout);
+
+    assertEquals(1, event.getSlotValue(event.getSlotBySelector("s0::ts")));
+    assertEquals(2, event.getFieldBySelector("s0::nested::ts2").getRawValue());
+    assertEquals(new EventConverter(emitted).toMap(), new EventConverter(event).toMap());
+
+    event.updateFieldBySelector("s0::nested::ts2", 5);
+    assertEquals(2, emitted.getFieldBySelector("s0::nested::timestamp2").getRawValue());
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.endpoint;
+
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class EndpointSelectionStrategies {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EndpointSelectionStrategies.class);
+
+  public static final String FIRST = "first";
+  public static final String ROUND_ROBIN = "round-robin";
+  public static final String LEAST_INSTANCES = "least-instances";
+  public static final String LEAST_LOADED = "least-loaded";
+
+  private static final ServiceLoadProvider LOAD_PROVIDER = new ServiceLoadProvider();
+
+  private static final EndpointSelectionStrategy FIRST_STRATEGY =
+          new FirstEndpointSelectionStrategy();
+  private static final EndpointSelectionStrategy ROUND_ROBIN_STRATEGY =
+          new RoundRobinEndpointSelectionStrategy();
+  private static final EndpointSelectionStrategy LEAST_INSTANCES_STRATEGY =
+          new LeastRunningInstancesSelectionStrategy(LOAD_PROVIDER);
+  private static final EndpointSelectionStrategy LEAST_LOADED_STRATEGY =
+          new ResourceAwareSelectionStrategy(LOAD_PROVIDER);
+
+  public static EndpointSelectionStrategy first() {
+    return FIRST_STRATEGY;
+  }
+
+  public static EndpointSelectionStrategy fromConfig() {
+    return byName(BackendConfig.INSTANCE.getEndpointSelectionStrategy());
+  }
+
+  public static EndpointSelectionStrategy byName(String name) {
+    if (name == null || FIRST.equals(name)) {
+      return FIRST_STRATEGY;
+    } else if (ROUND_ROBIN.equals(name)) {
+      return ROUND_ROBIN_STRATEGY;
+    } else if (LEAST_INSTANCES.equals(name)) {
+      return LEAST_INSTANCES_STRATEGY;
+    } else if (LEAST_LOADED.equals(name)) {
+      return LEAST_LOADED_STRATEGY;
+    } else {
+      LOG.warn("Unknown endpoint selection strategy {}, selecting the first endpoint", name);
+      return FIRST_STRATEGY;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.endpoint;
+
+import java.util.List;
+
+/**
+ * Selects the extensions service a pipeline element is placed on if more than one service
+ * provides the element.
+ */
+public interface EndpointSelectionStrategy {
+
+  /**
+   * @param serviceTag the service tag the endpoints were discovered for
+   * @param endpoints  the base urls of all healthy services providing the element, never empty
+   * @return one of the given endpoints
+   */
+  String selectEndpoint(String serviceTag, List<String> endpoints);
+}
@@ -25,8 +25,12 @@ import org.apache.streampipes.svcdiscovery.api.model.SpServiceUrlProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 public class ExtensionsServiceEndpointGenerator {
 
@@ -34,38 +38,106 @@ public class ExtensionsServiceEndpointGenerator {
 
   private String appId;
   private SpServiceUrlProvider spServiceUrlProvider;
+  private ServiceEndpointCache endpointCache;
+  private EndpointSelectionStrategy selectionStrategy;
 
   public ExtensionsServiceEndpointGenerator(String appId,
                                             SpServiceUrlProvider spServiceUrlProvider) {
+    this(appId, spServiceUrlProvider, new ServiceEndpointCache());
+  }
+
+  public ExtensionsServiceEndpointGenerator(String appId,
+                                            SpServiceUrlProvider spServiceUrlProvider,
+                                            ServiceEndpointCache endpointCache) {
     this.appId = appId;
     this.spServiceUrlProvider = spServiceUrlProvider;
+    this.endpointCache = endpointCache;
+    this.selectionStrategy = EndpointSelectionStrategies.first();
   }
 
   public ExtensionsServiceEndpointGenerator(NamedStreamPipesEntity entity) {
     this.appId = entity.getAppId();
     this.spServiceUrlProvider = ExtensionsServiceEndpointUtils.getPipelineElementType(entity);
+    this.endpointCache = new ServiceEndpointCache();
+    this.selectionStrategy = EndpointSelectionStrategies.first();
+  }
+
+  /**
+   * Uses the given strategy instead of always selecting the first endpoint. Only placement of
+   * pipeline elements should use other strategies, lookups which must reach the same service again,
+   * e.g., to fetch descriptions or stop an element, rely on the stable first selection.
+   */
+  public ExtensionsServiceEndpointGenerator withSelectionStrategy(EndpointSelectionStrategy selectionStrategy) {
+    this.selectionStrategy = selectionStrategy;
+    return this;
   }
 
   public String getEndpointResourceUrl() throws NoServiceEndpointsAvailableException {
-    return spServiceUrlProvider.getInvocationUrl(selectService(), appId);
+    return spServiceUrlProvider.getInvocationUrl(selectService(null), appId);
+  }
+
+  /**
+   * Selects the service the given endpoint belongs to if it provides this element, e.g., to place
+   * elements which are connected in-memory on the same service. Otherwise, the configured
+   * selection strategy decides.
+   */
+  public String getEndpointResourceUrl(String preferredEndpoint) throws NoServiceEndpointsAvailableException {
+    return spServiceUrlProvider.getInvocationUrl(selectService(preferredEndpoint), appId);
   }
 
   public String getEndpointBaseUrl() throws NoServiceEndpointsAvailableException {
-    return selectService();
+    return selectService(null);
+  }
+
+  /**
+   * Selects one of the services running on the given hosts (as returned by {@link #toAuthority}).
+   */
+  public String getEndpointBaseUrl(Collection<String> allowedAuthorities) throws NoServiceEndpointsAvailableException {
+    List<String> serviceEndpoints = getServiceEndpoints()
+            .stream()
+            .filter(endpoint -> allowedAuthorities.contains(toAuthority(endpoint)))
+            .collect(Collectors.toList());
+    if (serviceEndpoints.size() > 0) {
+      return selectionStrategy.selectEndpoint(getServiceTag(), serviceEndpoints);
+    } else {
+      throw new NoServiceEndpointsAvailableException("Could not find any matching service endpoints");
+    }
+  }
+
+  public List<String> getCandidateEndpoints() {
+    return getServiceEndpoints();
+  }
+
+  private String getServiceTag() {
+    return this.spServiceUrlProvider.getServiceTag(appId).asString();
   }
 
   private List<String> getServiceEndpoints() {
-    return SpServiceDiscovery.getServiceDiscovery().getServiceEndpoints(DefaultSpServiceGroups.EXT, true,
-            Collections.singletonList(this.spServiceUrlProvider.getServiceTag(appId).asString()));
+    String serviceTag = getServiceTag();
+    return endpointCache.getServiceEndpoints(serviceTag, () ->
+            SpServiceDiscovery.getServiceDiscovery().getServiceEndpoints(DefaultSpServiceGroups.EXT, true,
+                    Collections.singletonList(serviceTag)));
   }
 
-  private String selectService() throws NoServiceEndpointsAvailableException {
+  private String selectService(String preferredEndpoint) throws NoServiceEndpointsAvailableException {
     List<String> serviceEndpoints = getServiceEndpoints();
     if (serviceEndpoints.size() > 0) {
-      return getServiceEndpoints().get(0);
+      if (preferredEndpoint != null) {
+        String preferredAuthority = toAuthority(preferredEndpoint);
+        for (String serviceEndpoint : serviceEndpoints) {
+          if (Objects.equals(toAuthority(serviceEndpoint), preferredAuthority)) {
+            return serviceEndpoint;
+          }
+        }
+      }
+      return selectionStrategy.selectEndpoint(getServiceTag(), serviceEndpoints);
     } else {
-      LOG.error("Could not find any service endpoints for appId {}, serviceTag {}", appId, this.spServiceUrlProvider.getServiceTag(appId).asString());
+      LOG.error("Could not find any service endpoints for appId {}, serviceTag {}", appId, getServiceTag());
       throw new NoServiceEndpointsAvailableException("Could not find any matching service endpoints");
     }
   }
+
+  public static String toAuthority(String endpointUrl) {
+    return endpointUrl != null ? URI.create(endpointUrl).getAuthority() : null;
+  }
 }
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.endpoint;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Selects the service which currently runs the fewest pipeline element instances. Services which
+ * do not report their load are only selected if no other service is available.
+ */
+public class LeastRunningInstancesSelectionStrategy implements EndpointSelectionStrategy {
+
+  private final ServiceLoadProvider loadProvider;
+
+  public LeastRunningInstancesSelectionStrategy(ServiceLoadProvider loadProvider) {
+    this.loadProvider = loadProvider;
+  }
+
+  @Override
+  public String selectEndpoint(String serviceTag, List<String> endpoints) {
+    String selected = endpoints
+            .stream()
+            .min(Comparator.comparingInt(loadProvider::getRunningInstances))
+            .orElse(endpoints.get(0));
+    loadProvider.recordPlacement(selected);
+    return selected;
+  }
+}
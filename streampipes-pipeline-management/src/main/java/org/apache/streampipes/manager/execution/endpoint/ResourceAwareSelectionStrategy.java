@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.endpoint;
+
+import org.apache.streampipes.model.monitoring.ServiceLoad;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Selects the service with the lowest CPU or memory utilization. Utilization is compared in steps
+ * of ten percent, services within the same step are ordered by their number of running instances.
+ */
+public class ResourceAwareSelectionStrategy implements EndpointSelectionStrategy {
+
+  private static final int UNKNOWN_UTILIZATION = Integer.MAX_VALUE;
+
+  private final ServiceLoadProvider loadProvider;
+
+  public ResourceAwareSelectionStrategy(ServiceLoadProvider loadProvider) {
+    this.loadProvider = loadProvider;
+  }
+
+  @Override
+  public String selectEndpoint(String serviceTag, List<String> endpoints) {
+    String selected = endpoints
+            .stream()
+            .min(Comparator.comparingInt(this::getUtilizationStep)
+                    .thenComparingInt(loadProvider::getRunningInstances))
+            .orElse(endpoints.get(0));
+    loadProvider.recordPlacement(selected);
+    return selected;
+  }
+
+  private int getUtilizationStep(String endpoint) {
+    Optional<ServiceLoad> load = loadProvider.getLoad(endpoint);
+    if (!load.isPresent()) {
+      return UNKNOWN_UTILIZATION;
+    }
+    ServiceLoad serviceLoad = load.get();
+    double memory = serviceLoad.getMaxMemory() > 0 ?
+            (double) serviceLoad.getUsedMemory() / serviceLoad.getMaxMemory() : 0.0;
+    double utilization = Math.max(serviceLoad.getCpuLoad(), memory);
+    return (int) (utilization * 10);
+  }
+}
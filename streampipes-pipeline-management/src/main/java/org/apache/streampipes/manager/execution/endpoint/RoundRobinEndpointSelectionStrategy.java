@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.endpoint;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RoundRobinEndpointSelectionStrategy implements EndpointSelectionStrategy {
+
+  private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+  @Override
+  public String selectEndpoint(String serviceTag, List<String> endpoints) {
+    int next = counters.computeIfAbsent(serviceTag, tag -> new AtomicInteger()).getAndIncrement();
+    return endpoints.get(Math.floorMod(next, endpoints.size()));
+  }
+}
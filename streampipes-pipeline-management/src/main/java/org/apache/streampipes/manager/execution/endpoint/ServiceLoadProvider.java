@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.endpoint;
+
+import org.apache.http.client.fluent.Request;
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.apache.streampipes.model.monitoring.ServiceLoad;
+import org.apache.streampipes.serializers.json.JacksonSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Provides the load reported by extensions services under {@code /load}. Reported loads are reused
+ * for a short time and updated locally for every element placed on a service in the meantime, so
+ * that consecutive placements do not all end up on the same service.
+ */
+public class ServiceLoadProvider {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ServiceLoadProvider.class);
+
+  private static final String LOAD_PATH = "/load";
+  private static final int REQUEST_TIMEOUT_MILLIS = 2000;
+
+  private final Map<String, CachedLoad> loads = new ConcurrentHashMap<>();
+  private final Function<String, ServiceLoad> loadFetcher;
+  private final LongSupplier cacheDurationMillis;
+
+  public ServiceLoadProvider() {
+    this(ServiceLoadProvider::fetchLoad,
+            () -> BackendConfig.INSTANCE.getServiceLoadCacheDuration() * 1000L);
+  }
+
+  /**
+   * @param loadFetcher         fetches the current load of an endpoint, returns null if the
+   *                            endpoint does not report its load
+   * @param cacheDurationMillis duration a fetched load is reused
+   */
+  public ServiceLoadProvider(Function<String, ServiceLoad> loadFetcher,
+                             LongSupplier cacheDurationMillis) {
+    this.loadFetcher = loadFetcher;
+    this.cacheDurationMillis = cacheDurationMillis;
+  }
+
+  public Optional<ServiceLoad> getLoad(String endpoint) {
+    CachedLoad cached = loads.get(endpoint);
+    if (cached == null || cached.isExpired(cacheDurationMillis.getAsLong())) {
+      // fetched outside of the map, concurrent lookups of an expired endpoint may fetch twice
+      cached = new CachedLoad(loadFetcher.apply(endpoint), System.currentTimeMillis());
+      loads.put(endpoint, cached);
+    }
+    return Optional.ofNullable(cached.load).map(ServiceLoad::new);
+  }
+
+  /**
+   * @return the number of running instances of the service, or {@link Integer#MAX_VALUE} if the
+   * service does not report its load.
+   */
+  public int getRunningInstances(String endpoint) {
+    return getLoad(endpoint).map(ServiceLoad::getRunningInstances).orElse(Integer.MAX_VALUE);
+  }
+
+  public void recordPlacement(String endpoint) {
+    loads.computeIfPresent(endpoint, (key, cached) -> cached.withAdditionalInstance());
+  }
+
+  private static ServiceLoad fetchLoad(String endpoint) {
+    try {
+      String response = Request
+              .Get(makeLoadUrl(endpoint))
+              .connectTimeout(REQUEST_TIMEOUT_MILLIS)
+              .socketTimeout(REQUEST_TIMEOUT_MILLIS)
+              .execute()
+              .returnContent()
+              .asString();
+      return JacksonSerializer.getObjectMapper().readValue(response, ServiceLoad.class);
+    } catch (IOException e) {
+      LOG.warn("Could not fetch load of service {}: {}", endpoint, e.getMessage());
+      return null;
+    }
+  }
+
+  private static String makeLoadUrl(String endpoint) {
+    return endpoint.endsWith("/") ?
+            endpoint.substring(0, endpoint.length() - 1) + LOAD_PATH : endpoint + LOAD_PATH;
+  }
+
+  private static class CachedLoad {
+
+    private final ServiceLoad load;
+    private final long fetchedAt;
+
+    CachedLoad(ServiceLoad load, long fetchedAt) {
+      this.load = load;
+      this.fetchedAt = fetchedAt;
+    }
+
+    boolean isExpired(long cacheDurationMillis) {
+      return System.currentTimeMillis() - fetchedAt > cacheDurationMillis;
+    }
+
+    CachedLoad withAdditionalInstance() {
+      if (load == null) {
+        return this;
+      }
+      ServiceLoad updated = new ServiceLoad(load);
+      updated.setRunningInstances(load.getRunningInstances() + 1);
+      return new CachedLoad(updated, fetchedAt);
+    }
+  }
+}
@@ -21,6 +21,8 @@ package org.apache.streampipes.manager.execution.http;
 import org.apache.streampipes.commons.constants.InstanceIdExtractor;
 import org.apache.streampipes.model.SpDataSet;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.base.NamedStreamPipesEntity;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
 import org.apache.streampipes.model.pipeline.PipelineElementStatus;
 import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
 import org.slf4j.Logger;
@@ -28,8 +30,16 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Invokes and detaches the elements of a pipeline. Elements are submitted concurrently in stages:
+ * data sinks are started before data processors, so that no events are lost on non-persistent
+ * transports; data sets are started once all other elements are running. If an element cannot be
+ * started, all previously started elements are detached in parallel.
+ */
 public class GraphSubmitter {
 
   private List<InvocableStreamPipesEntity> graphs;
@@ -55,39 +65,46 @@ public class GraphSubmitter {
     status.setPipelineId(pipelineId);
     status.setPipelineName(pipelineName);
 
+    List<NamedStreamPipesEntity> startedElements = new ArrayList<>();
 
-    graphs.forEach(g -> status.addPipelineElementStatus(performInvocation(g)));
-    if (status.getElementStatus().stream().allMatch(PipelineElementStatus::isSuccess)) {
-      dataSets.forEach(dataSet ->
-              status.addPipelineElementStatus
-                      (performInvocation(dataSet)));
-    }
-    status.setSuccess(status.getElementStatus().stream().allMatch(PipelineElementStatus::isSuccess));
+    boolean success = invokeStage(filterGraphs(true), status, startedElements)
+            && invokeStage(filterGraphs(false), status, startedElements)
+            && invokeStage(dataSets, status, startedElements);
+    status.setSuccess(success);
 
     if (status.isSuccess()) {
       status.setTitle("Pipeline " + pipelineName + " successfully started");
     } else {
       LOG.info("Could not start pipeline, initializing rollback...");
-      rollbackInvokedPipelineElements(status);
+      rollbackInvokedPipelineElements(startedElements);
       status.setTitle("Could not start pipeline " + pipelineName + ".");
     }
     return status;
   }
 
-  private void rollbackInvokedPipelineElements(PipelineOperationStatus status) {
-    for (PipelineElementStatus s : status.getElementStatus()) {
-      if (s.isSuccess()) {
-        Optional<InvocableStreamPipesEntity> graph = findGraph(s.getElementId());
-        graph.ifPresent(g -> {
-          LOG.info("Rolling back element " + g.getElementId());
-          performDetach(g);
-        });
+  private boolean invokeStage(List<? extends NamedStreamPipesEntity> elements,
+                              PipelineOperationStatus status,
+                              List<NamedStreamPipesEntity> startedElements) {
+    List<PipelineElementStatus> elementStatus = submitAll(elements, this::performInvocation);
+    for (int i = 0; i < elements.size(); i++) {
+      status.addPipelineElementStatus(elementStatus.get(i));
+      if (elementStatus.get(i).isSuccess()) {
+        startedElements.add(elements.get(i));
       }
     }
+    return elementStatus.stream().allMatch(PipelineElementStatus::isSuccess);
   }
 
-  private Optional<InvocableStreamPipesEntity> findGraph(String elementId) {
-    return graphs.stream().filter(g -> g.getBelongsTo().equals(elementId)).findFirst();
+  private void rollbackInvokedPipelineElements(List<NamedStreamPipesEntity> startedElements) {
+    startedElements.forEach(e -> LOG.info("Rolling back element " + e.getElementId()));
+    submitAll(startedElements, this::performDetach);
+  }
+
+  private List<InvocableStreamPipesEntity> filterGraphs(boolean sinks) {
+    return graphs
+            .stream()
+            .filter(g -> (g instanceof DataSinkInvocation) == sinks)
+            .collect(Collectors.toList());
   }
 
   public PipelineOperationStatus detachGraphs() {
@@ -95,8 +112,8 @@ public class GraphSubmitter {
     status.setPipelineId(pipelineId);
     status.setPipelineName(pipelineName);
 
-    graphs.forEach(g -> status.addPipelineElementStatus(performDetach(g)));
-    dataSets.forEach(dataSet -> status.addPipelineElementStatus(performDetach(dataSet)));
+    submitAll(graphs, this::performDetach).forEach(status::addPipelineElementStatus);
+    submitAll(dataSets, this::performDetach).forEach(status::addPipelineElementStatus);
     status.setSuccess(status.getElementStatus().stream().allMatch(PipelineElementStatus::isSuccess));
 
     if (status.isSuccess()) {
@@ -108,6 +125,39 @@ public class GraphSubmitter {
     return status;
   }
 
+  /**
+   * Applies the operation to all elements concurrently and returns the resulting status in the
+   * order of the given elements.
+   */
+  private List<PipelineElementStatus> submitAll(List<? extends NamedStreamPipesEntity> elements,
+                                                Function<NamedStreamPipesEntity, PipelineElementStatus> operation) {
+    List<CompletableFuture<PipelineElementStatus>> futures = elements
+            .stream()
+            .map(e -> PipelineElementHttpClient.INSTANCE.submit(() -> operation.apply(e)))
+            .collect(Collectors.toList());
+
+    return futures
+            .stream()
+            .map(CompletableFuture::join)
+            .collect(Collectors.toList());
+  }
+
+  private PipelineElementStatus performInvocation(NamedStreamPipesEntity entity) {
+    if (entity instanceof SpDataSet) {
+      return performInvocation((SpDataSet) entity);
+    } else {
+      return performInvocation((InvocableStreamPipesEntity) entity);
+    }
+  }
+
+  private PipelineElementStatus performDetach(NamedStreamPipesEntity entity) {
+    if (entity instanceof SpDataSet) {
+      return performDetach((SpDataSet) entity);
+    } else {
+      return performDetach((InvocableStreamPipesEntity) entity);
+    }
+  }
+
   private PipelineElementStatus performInvocation(InvocableStreamPipesEntity entity) {
     String endpointUrl = entity.getSelectedEndpointUrl();
     return new HttpRequestBuilder(entity, endpointUrl).invoke();
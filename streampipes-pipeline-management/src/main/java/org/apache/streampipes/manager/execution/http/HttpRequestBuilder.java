@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.manager.execution.http;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.JsonSyntaxException;
 import org.apache.http.client.fluent.Request;
 import org.apache.http.client.fluent.Response;
@@ -37,6 +38,8 @@ public class HttpRequestBuilder {
 
   private final static Logger LOG = LoggerFactory.getLogger(HttpRequestBuilder.class);
 
+  private static final ObjectMapper MAPPER = JacksonSerializer.getObjectMapper();
+
   public HttpRequestBuilder(NamedStreamPipesEntity payload, String endpointUrl) {
     this.payload = payload;
     this.endpointUrl = endpointUrl;
@@ -46,8 +49,8 @@ public class HttpRequestBuilder {
     LOG.info("Invoking element: " + endpointUrl);
     try {
       String jsonDocument = toJson();
-      Response httpResp =
-              Request.Post(endpointUrl).bodyString(jsonDocument, ContentType.APPLICATION_JSON).connectTimeout(10000).execute();
+      Response httpResp = PipelineElementHttpClient.INSTANCE
+              .execute(Request.Post(endpointUrl).bodyString(jsonDocument, ContentType.APPLICATION_JSON));
       return handleResponse(httpResp);
     } catch (Exception e) {
       LOG.error(e.getMessage());
@@ -57,7 +60,7 @@ public class HttpRequestBuilder {
 
   public PipelineElementStatus detach() {
     try {
-      Response httpResp = Request.Delete(endpointUrl).connectTimeout(10000).execute();
+      Response httpResp = PipelineElementHttpClient.INSTANCE.execute(Request.Delete(endpointUrl));
       return handleResponse(httpResp);
     } catch (Exception e) {
       LOG.error("Could not stop pipeline " + endpointUrl, e.getMessage());
@@ -67,14 +70,13 @@ public class HttpRequestBuilder {
 
   private PipelineElementStatus handleResponse(Response httpResp) throws JsonSyntaxException, IOException {
     String resp = httpResp.returnContent().asString();
-    org.apache.streampipes.model.Response streamPipesResp = JacksonSerializer
-            .getObjectMapper()
+    org.apache.streampipes.model.Response streamPipesResp = MAPPER
             .readValue(resp, org.apache.streampipes.model.Response.class);
     return convert(streamPipesResp);
   }
 
   private String toJson() throws Exception {
-    return JacksonSerializer.getObjectMapper().writeValueAsString(payload);
+    return MAPPER.writeValueAsString(payload);
   }
 
   private PipelineElementStatus convert(org.apache.streampipes.model.Response response) {
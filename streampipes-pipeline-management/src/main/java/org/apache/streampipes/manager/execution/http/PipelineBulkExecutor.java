@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.http;
+
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.apache.streampipes.manager.execution.endpoint.ServiceEndpointCache;
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.model.pipeline.PipelineElementStatus;
+import org.apache.streampipes.model.pipeline.PipelineHealthStatus;
+import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
+import org.apache.streampipes.storage.api.IPipelineStorage;
+import org.apache.streampipes.storage.management.StorageDispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Starts or stops a batch of pipelines. Pipelines are processed concurrently by a bounded thread
+ * pool, service endpoints are resolved once per appId for the whole batch and the resulting
+ * pipeline states are written to the pipeline storage in a single bulk update.
+ */
+public class PipelineBulkExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PipelineBulkExecutor.class);
+
+  private final List<Pipeline> pipelines;
+  private final ServiceEndpointCache endpointCache;
+
+  public PipelineBulkExecutor(List<Pipeline> pipelines) {
+    this.pipelines = pipelines;
+    this.endpointCache = new ServiceEndpointCache();
+  }
+
+  public List<PipelineOperationStatus> startPipelines() {
+    List<PipelineOperationStatus> status = executeAll(pipeline ->
+            new PipelineExecutor(pipeline, true, false, false, false, endpointCache).startPipeline(),
+            "Could not start pipeline ");
+
+    long startedAt = System.currentTimeMillis();
+    List<Pipeline> startedPipelines = new ArrayList<>();
+    for (int i = 0; i < pipelines.size(); i++) {
+      if (status.get(i).isSuccess()) {
+        Pipeline pipeline = pipelines.get(i);
+        pipeline.setHealthStatus(PipelineHealthStatus.OK);
+        pipeline.setRunning(true);
+        pipeline.setStartedAt(startedAt);
+        startedPipelines.add(pipeline);
+      }
+    }
+    getPipelineStorage().updatePipelines(startedPipelines);
+
+    return status;
+  }
+
+  public List<PipelineOperationStatus> stopPipelines(boolean forceStop) {
+    List<PipelineOperationStatus> status = executeAll(pipeline ->
+            new PipelineExecutor(pipeline, true, false, false, forceStop, endpointCache).stopPipeline(),
+            "Could not stop pipeline ");
+
+    List<Pipeline> stoppedPipelines = new ArrayList<>();
+    for (int i = 0; i < pipelines.size(); i++) {
+      if (status.get(i).isSuccess() || forceStop) {
+        Pipeline pipeline = pipelines.get(i);
+        pipeline.setRunning(false);
+        stoppedPipelines.add(pipeline);
+      }
+    }
+    getPipelineStorage().updatePipelines(stoppedPipelines);
+
+    return status;
+  }
+
+  private List<PipelineOperationStatus> executeAll(Function<Pipeline, PipelineOperationStatus> operation,
+                                                   String errorTitle) {
+    if (pipelines.isEmpty()) {
+      return Collections.emptyList();
+    }
+    int parallelism = Math.min(pipelines.size(), getParallelism());
+    ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+
+    try {
+      List<Future<PipelineOperationStatus>> futures = pipelines
+              .stream()
+              .map(pipeline -> executorService.submit(() -> operation.apply(pipeline)))
+              .collect(Collectors.toList());
+
+      List<PipelineOperationStatus> status = new ArrayList<>();
+      for (int i = 0; i < futures.size(); i++) {
+        status.add(await(futures.get(i), pipelines.get(i), errorTitle));
+      }
+      return status;
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  private PipelineOperationStatus await(Future<PipelineOperationStatus> future,
+                                        Pipeline pipeline,
+                                        String errorTitle) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return makeErrorStatus(pipeline, errorTitle, e);
+    } catch (ExecutionException e) {
+      LOG.error("Operation on pipeline {} failed", pipeline.getName(), e.getCause());
+      return makeErrorStatus(pipeline, errorTitle, e.getCause());
+    }
+  }
+
+  private PipelineOperationStatus makeErrorStatus(Pipeline pipeline, String errorTitle, Throwable e) {
+    PipelineOperationStatus status = new PipelineOperationStatus(pipeline.getPipelineId(),
+            pipeline.getName(),
+            errorTitle + pipeline.getName() + ".",
+            Collections.singletonList(new PipelineElementStatus(pipeline.getPipelineId(),
+                    pipeline.getName(), false, e.getMessage())));
+    status.setSuccess(false);
+    return status;
+  }
+
+  private static int getParallelism() {
+    return Math.max(1, BackendConfig.INSTANCE.getPipelineBulkOperationParallelism());
+  }
+
+  private IPipelineStorage getPipelineStorage() {
+    return StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI();
+  }
+}
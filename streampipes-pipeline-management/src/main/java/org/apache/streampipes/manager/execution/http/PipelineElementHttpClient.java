@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.http;
+
+import org.apache.http.client.fluent.Executor;
+import org.apache.http.client.fluent.Request;
+import org.apache.http.client.fluent.Response;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.streampipes.config.backend.BackendConfig;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shared HTTP client to invoke and detach pipeline elements. Requests are sent over a pooled
+ * connection manager and can be submitted to a bounded thread pool, so that all elements of a
+ * pipeline are invoked concurrently.
+ */
+public enum PipelineElementHttpClient {
+
+  INSTANCE;
+
+  private static final int CONNECT_TIMEOUT_MILLIS = 10000;
+
+  private final Executor httpExecutor;
+  private final ExecutorService invocationExecutor;
+
+  PipelineElementHttpClient() {
+    int parallelism = BackendConfig.INSTANCE.getPipelineElementInvocationParallelism();
+
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(parallelism * 4);
+    connectionManager.setDefaultMaxPerRoute(parallelism);
+    CloseableHttpClient httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+
+    this.httpExecutor = Executor.newInstance(httpClient);
+    AtomicInteger threadCount = new AtomicInteger();
+    this.invocationExecutor = Executors.newFixedThreadPool(parallelism, r -> {
+      Thread thread = new Thread(r, "sp-pipeline-element-invocation-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public Response execute(Request request) throws IOException {
+    return execute(request, BackendConfig.INSTANCE.getPipelineElementInvocationTimeout() * 1000);
+  }
+
+  public Response execute(Request request, int timeoutMillis) throws IOException {
+    return httpExecutor.execute(request
+            .connectTimeout(Math.min(CONNECT_TIMEOUT_MILLIS, timeoutMillis))
+            .socketTimeout(timeoutMillis));
+  }
+
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    return CompletableFuture.supplyAsync(task, invocationExecutor);
+  }
+}
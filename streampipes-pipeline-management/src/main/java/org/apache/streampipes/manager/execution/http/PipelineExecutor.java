@@ -22,8 +22,13 @@ import org.apache.streampipes.commons.MD5;
 import org.apache.streampipes.commons.Utils;
 import org.apache.streampipes.commons.constants.GlobalStreamPipesConstants;
 import org.apache.streampipes.commons.exceptions.NoServiceEndpointsAvailableException;
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.apache.streampipes.config.backend.MessagingSettings;
+import org.apache.streampipes.manager.execution.endpoint.EndpointSelectionStrategies;
+import org.apache.streampipes.manager.execution.endpoint.EndpointSelectionStrategy;
 import org.apache.streampipes.manager.execution.endpoint.ExtensionsServiceEndpointGenerator;
 import org.apache.streampipes.manager.execution.endpoint.ExtensionsServiceEndpointUtils;
+import org.apache.streampipes.manager.execution.endpoint.ServiceEndpointCache;
 import org.apache.streampipes.manager.execution.status.PipelineStatusManager;
 import org.apache.streampipes.manager.secret.SecretProvider;
 import org.apache.streampipes.manager.util.TemporaryGraphStorage;
@@ -32,13 +37,17 @@ import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.message.PipelineStatusMessage;
 import org.apache.streampipes.model.message.PipelineStatusMessageType;
 import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.pipeline.PipelineElementStatus;
 import org.apache.streampipes.model.pipeline.PipelineHealthStatus;
 import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.PropertyScope;
 import org.apache.streampipes.storage.api.IPipelineStorage;
 import org.apache.streampipes.storage.management.StorageDispatcher;
 import org.apache.streampipes.svcdiscovery.SpServiceDiscovery;
@@ -50,7 +59,13 @@ import org.lightcouch.DocumentConflictException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class PipelineExecutor {
@@ -60,23 +75,37 @@ public class PipelineExecutor {
   private boolean storeStatus;
   private boolean monitor;
   private boolean forceStop;
+  private ServiceEndpointCache endpointCache;
+  private EndpointSelectionStrategy selectionStrategy;
 
   public PipelineExecutor(Pipeline pipeline,
                           boolean visualize,
                           boolean storeStatus,
                           boolean monitor,
                           boolean forceStop) {
+    this(pipeline, visualize, storeStatus, monitor, forceStop, new ServiceEndpointCache());
+  }
+
+  public PipelineExecutor(Pipeline pipeline,
+                          boolean visualize,
+                          boolean storeStatus,
+                          boolean monitor,
+                          boolean forceStop,
+                          ServiceEndpointCache endpointCache) {
     this.pipeline = pipeline;
     this.visualize = visualize;
     this.storeStatus = storeStatus;
     this.monitor = monitor;
     this.forceStop = forceStop;
+    this.endpointCache = endpointCache;
+    this.selectionStrategy = EndpointSelectionStrategies.fromConfig();
   }
 
   public PipelineOperationStatus startPipeline() {
 
     pipeline.getSepas().forEach(this::updateGroupIds);
     pipeline.getActions().forEach(this::updateGroupIds);
+    pipeline.getSepas().forEach(this::updateKafkaPartitioning);
 
     List<DataProcessorInvocation> sepas = pipeline.getSepas();
     List<DataSinkInvocation> secs = pipeline.getActions();
@@ -105,13 +134,18 @@ public class PipelineExecutor {
 
     decryptSecrets(graphs);
 
-      graphs.forEach(g -> {
-        try {
-          g.setSelectedEndpointUrl(findSelectedEndpoint(g));
-        } catch (NoServiceEndpointsAvailableException e) {
-          failedServices.add(g);
-        }
-      });
+    Map<InvocableStreamPipesEntity, String> coLocatedServices = selectCoLocatedServices(graphs);
+    graphs.forEach(g -> {
+      try {
+        g.setSelectedEndpointUrl(findSelectedEndpoint(g, coLocatedServices.get(g)));
+      } catch (NoServiceEndpointsAvailableException e) {
+        failedServices.add(g);
+      }
+    });
+
+    if (failedServices.size() == 0) {
+      failedServices.addAll(findSeparatedInMemoryElements(graphs));
+    }
 
     PipelineOperationStatus status;
     if (failedServices.size() == 0) {
@@ -138,7 +172,9 @@ public class PipelineExecutor {
               new PipelineElementStatus(fs.getElementId(),
                       fs.getName(),
                       false,
-                      "No active supporting service found")).collect(Collectors.toList());
+                      fs instanceof InvocableStreamPipesEntity && isConnectedInMemory((InvocableStreamPipesEntity) fs) ?
+                              "In-memory connected elements were assigned to different services" :
+                              "No active supporting service found")).collect(Collectors.toList());
       status = new PipelineOperationStatus(pipeline.getPipelineId(),
               pipeline.getName(),
               "Could not start pipeline " + pipeline.getName() + ".",
@@ -147,11 +183,88 @@ public class PipelineExecutor {
     return status;
   }
 
-  private String findSelectedEndpoint(InvocableStreamPipesEntity g) throws NoServiceEndpointsAvailableException {
+  private String findSelectedEndpoint(InvocableStreamPipesEntity g,
+                                      String preferredEndpoint) throws NoServiceEndpointsAvailableException {
+    return makeEndpointGenerator(g).getEndpointResourceUrl(preferredEndpoint);
+  }
+
+  private ExtensionsServiceEndpointGenerator makeEndpointGenerator(InvocableStreamPipesEntity g) {
     return new ExtensionsServiceEndpointGenerator(
             g.getAppId(),
-            ExtensionsServiceEndpointUtils.getPipelineElementType(g))
-            .getEndpointResourceUrl();
+            ExtensionsServiceEndpointUtils.getPipelineElementType(g),
+            endpointCache)
+            .withSelectionStrategy(selectionStrategy);
+  }
+
+  /**
+   * Selects a single service for each group of elements connected by in-memory topics. The
+   * service is chosen by the configured selection strategy among all services providing every
+   * element of the group.
+   */
+  private Map<InvocableStreamPipesEntity, String> selectCoLocatedServices(List<InvocableStreamPipesEntity> graphs) {
+    List<Set<String>> groupTopics = new ArrayList<>();
+    List<List<InvocableStreamPipesEntity>> groupMembers = new ArrayList<>();
+
+    for (InvocableStreamPipesEntity g : graphs) {
+      Set<String> topics = new HashSet<>(getInMemoryTopics(g));
+      if (topics.isEmpty()) {
+        continue;
+      }
+      List<InvocableStreamPipesEntity> members = new ArrayList<>();
+      members.add(g);
+      for (int i = groupTopics.size() - 1; i >= 0; i--) {
+        if (!Collections.disjoint(groupTopics.get(i), topics)) {
+          topics.addAll(groupTopics.remove(i));
+          members.addAll(groupMembers.remove(i));
+        }
+      }
+      groupTopics.add(topics);
+      groupMembers.add(members);
+    }
+
+    Map<InvocableStreamPipesEntity, String> selectedServices = new IdentityHashMap<>();
+    for (List<InvocableStreamPipesEntity> members : groupMembers) {
+      Set<String> sharedServices = null;
+      for (InvocableStreamPipesEntity member : members) {
+        Set<String> services = makeEndpointGenerator(member)
+                .getCandidateEndpoints()
+                .stream()
+                .map(ExtensionsServiceEndpointGenerator::toAuthority)
+                .collect(Collectors.toSet());
+        if (sharedServices == null) {
+          sharedServices = services;
+        } else {
+          sharedServices.retainAll(services);
+        }
+      }
+      try {
+        String selectedService = makeEndpointGenerator(members.get(0)).getEndpointBaseUrl(sharedServices);
+        members.forEach(member -> selectedServices.put(member, selectedService));
+      } catch (NoServiceEndpointsAvailableException e) {
+        // no common service, reported by findSeparatedInMemoryElements
+      }
+    }
+    return selectedServices;
+  }
+
+  private List<String> getInMemoryTopics(InvocableStreamPipesEntity g) {
+    List<String> topics = g.getInputStreams()
+            .stream()
+            .map(is -> is.getEventGrounding().getTransportProtocol())
+            .filter(tp -> tp instanceof InMemoryTransportProtocol)
+            .map(this::getTopic)
+            .collect(Collectors.toList());
+    if (g instanceof DataProcessorInvocation
+            && ((DataProcessorInvocation) g).getOutputStream() != null) {
+      TransportProtocol outputProtocol = ((DataProcessorInvocation) g)
+              .getOutputStream()
+              .getEventGrounding()
+              .getTransportProtocol();
+      if (outputProtocol instanceof InMemoryTransportProtocol) {
+        topics.add(getTopic(outputProtocol));
+      }
+    }
+    return topics;
   }
 
   private String findSelectedEndpoint(SpDataSet ds) throws NoServiceEndpointsAvailableException {
@@ -159,7 +272,8 @@ public class PipelineExecutor {
     if (ds.isInternallyManaged()) {
       return getConnectMasterSourcesUrl();
     } else {
-      return new ExtensionsServiceEndpointGenerator(appId, SpServiceUrlProvider.DATA_SET)
+      return new ExtensionsServiceEndpointGenerator(appId, SpServiceUrlProvider.DATA_SET, endpointCache)
+              .withSelectionStrategy(selectionStrategy)
               .getEndpointResourceUrl();
     }
   }
@@ -173,6 +287,44 @@ public class PipelineExecutor {
     }
   }
 
+  /**
+   * Elements connected by an in-memory topic exchange events within a single JVM, so producer and
+   * consumers of such a topic must have been assigned to the same extensions service.
+   */
+  private List<InvocableStreamPipesEntity> findSeparatedInMemoryElements(List<InvocableStreamPipesEntity> graphs) {
+    Map<String, String> producerServices = new HashMap<>();
+    graphs.stream()
+            .filter(g -> g instanceof DataProcessorInvocation)
+            .map(DataProcessorInvocation.class::cast)
+            .filter(g -> g.getOutputStream() != null
+                    && g.getOutputStream().getEventGrounding().getTransportProtocol() instanceof InMemoryTransportProtocol)
+            .forEach(g -> producerServices.put(getTopic(g.getOutputStream().getEventGrounding().getTransportProtocol()),
+                    toServiceAuthority(g.getSelectedEndpointUrl())));
+
+    return graphs.stream()
+            .filter(g -> g.getInputStreams()
+                    .stream()
+                    .map(is -> is.getEventGrounding().getTransportProtocol())
+                    .filter(tp -> tp instanceof InMemoryTransportProtocol)
+                    .anyMatch(tp -> !Objects.equals(producerServices.get(getTopic(tp)),
+                            toServiceAuthority(g.getSelectedEndpointUrl()))))
+            .collect(Collectors.toList());
+  }
+
+  private boolean isConnectedInMemory(InvocableStreamPipesEntity entity) {
+    return entity.getInputStreams()
+            .stream()
+            .anyMatch(is -> is.getEventGrounding().getTransportProtocol() instanceof InMemoryTransportProtocol);
+  }
+
+  private String getTopic(TransportProtocol protocol) {
+    return protocol.getTopicDefinition().getActualTopicName();
+  }
+
+  private String toServiceAuthority(String endpointUrl) {
+    return ExtensionsServiceEndpointGenerator.toAuthority(endpointUrl);
+  }
+
   private void updateGroupIds(InvocableStreamPipesEntity entity) {
     entity.getInputStreams()
             .stream()
@@ -182,6 +334,35 @@ public class PipelineExecutor {
             .forEach(tp -> tp.setGroupId(Utils.filterSpecialChar(pipeline.getName()) + MD5.crypt(tp.getElementId())));
   }
 
+  /**
+   * Defines partition count and replication factor of the output topic of a data processor. Events
+   * are keyed by the first dimension property of the output schema (if any), so that events of the
+   * same entity keep their order across partitions.
+   */
+  private void updateKafkaPartitioning(DataProcessorInvocation processor) {
+    if (processor.getOutputStream() == null
+            || !(processor.getOutputStream().getEventGrounding().getTransportProtocol() instanceof KafkaTransportProtocol)) {
+      return;
+    }
+    KafkaTransportProtocol tp = (KafkaTransportProtocol) processor.getOutputStream()
+            .getEventGrounding()
+            .getTransportProtocol();
+    MessagingSettings settings = BackendConfig.INSTANCE.getMessagingSettings();
+
+    tp.setPartitions(settings.getKafkaPartitions() != null ? settings.getKafkaPartitions() : 1);
+    tp.setReplicationFactor(settings.getKafkaReplicationFactor() != null ? settings.getKafkaReplicationFactor() : 1);
+    if (tp.getPartitions() > 1 && processor.getOutputStream().getEventSchema() != null) {
+      processor.getOutputStream()
+              .getEventSchema()
+              .getEventProperties()
+              .stream()
+              .filter(ep -> ep instanceof EventPropertyPrimitive)
+              .filter(ep -> PropertyScope.DIMENSION_PROPERTY.name().equals(ep.getPropertyScope()))
+              .findFirst()
+              .ifPresent(ep -> tp.setPartitionKeySelector(ep.getRuntimeName()));
+    }
+  }
+
   private void decryptSecrets(List<InvocableStreamPipesEntity> graphs) {
     SecretProvider.getDecryptionService(pipeline.getCreatedByUser()).apply(graphs);
   }
@@ -19,25 +19,21 @@
 package org.apache.streampipes.manager.execution.status;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.streampipes.model.message.PipelineStatusMessage;
 
 public class PipelineStatusManager {
 
-	private static Map<String, List<PipelineStatusMessage>> pipelineStatusMessages = new HashMap<>();
+	private static Map<String, List<PipelineStatusMessage>> pipelineStatusMessages = new ConcurrentHashMap<>();
 	
 	public static void addPipelineStatus(String pipelineId, PipelineStatusMessage message) {
-		if (isInitialized(pipelineId))
-			pipelineStatusMessages.get(pipelineId).add(message);
-		else {
-			List<PipelineStatusMessage> statusMessageList = new ArrayList<>();
-			statusMessageList.add(message);
-			pipelineStatusMessages.put(pipelineId, statusMessageList);
-		}
-		
+		pipelineStatusMessages
+						.computeIfAbsent(pipelineId, id -> new CopyOnWriteArrayList<>())
+						.add(message);
 	}
 	
 	private static boolean isInitialized(String pipelineId) {
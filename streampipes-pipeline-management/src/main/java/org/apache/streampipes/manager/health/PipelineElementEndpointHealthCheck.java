@@ -19,6 +19,7 @@ package org.apache.streampipes.manager.health;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.http.client.fluent.Request;
+import org.apache.streampipes.manager.execution.http.PipelineElementHttpClient;
 import org.apache.streampipes.serializers.json.JacksonSerializer;
 
 import java.io.IOException;
@@ -28,15 +29,25 @@ import java.util.List;
 public class PipelineElementEndpointHealthCheck {
 
   private static final String InstancePath = "/instances";
+  private static final int DefaultTimeoutMillis = 5000;
 
   private final String endpointUrl;
+  private final int timeoutMillis;
 
   public PipelineElementEndpointHealthCheck(String endpointUrl) {
+    this(endpointUrl, DefaultTimeoutMillis);
+  }
+
+  public PipelineElementEndpointHealthCheck(String endpointUrl, int timeoutMillis) {
     this.endpointUrl = endpointUrl;
+    this.timeoutMillis = timeoutMillis;
   }
 
   public List<String> checkRunningInstances() throws IOException {
-    return asList(Request.Get(makeRequestUrl()).execute().returnContent().toString());
+    return asList(PipelineElementHttpClient.INSTANCE
+            .execute(Request.Get(makeRequestUrl()), timeoutMillis)
+            .returnContent()
+            .toString());
   }
 
   private List<String> asList(String json) throws JsonProcessingException {
@@ -22,8 +22,10 @@ import org.apache.streampipes.commons.exceptions.NoServiceEndpointsAvailableExce
 import org.apache.streampipes.manager.execution.endpoint.ExtensionsServiceEndpointGenerator;
 import org.apache.streampipes.manager.execution.endpoint.ExtensionsServiceEndpointUtils;
 import org.apache.streampipes.manager.execution.http.HttpRequestBuilder;
+import org.apache.streampipes.manager.execution.http.PipelineElementHttpClient;
 import org.apache.streampipes.manager.util.TemporaryGraphStorage;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.monitoring.PipelineHealthCheckMetrics;
 import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.pipeline.PipelineHealthStatus;
 import org.apache.streampipes.storage.management.StorageDispatcher;
@@ -35,75 +37,131 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+/**
+ * Periodically checks whether all pipeline elements of running pipelines are still running and
+ * restores missing elements. Running instances of all endpoints are queried concurrently, missing
+ * elements are restored in parallel and all changed pipelines are stored in a single bulk update.
+ */
 public class PipelineHealthCheck implements Runnable {
 
   private static final Logger LOG = LoggerFactory.getLogger(PipelineHealthCheck.class);
   private static final int MAX_FAILED_ATTEMPTS = 10;
 
-  private static final Map<String, Integer> failedRestartAttempts = new HashMap<>();
+  private static final Map<String, Integer> failedRestartAttempts = new ConcurrentHashMap<>();
+  private static final AtomicReference<PipelineHealthCheckMetrics> lastMetrics = new AtomicReference<>();
 
   public PipelineHealthCheck() {
 
   }
 
+  public static Optional<PipelineHealthCheckMetrics> getLastMetrics() {
+    return Optional.ofNullable(lastMetrics.get());
+  }
+
   public void checkAndRestorePipelineElements() {
+    PipelineHealthCheckMetrics metrics = new PipelineHealthCheckMetrics();
+    metrics.setStartedAt(System.currentTimeMillis());
+    long start = System.nanoTime();
+
     List<Pipeline> runningPipelines = getRunningPipelines();
+    metrics.setCheckedPipelines(runningPipelines.size());
 
     if (runningPipelines.size() > 0) {
-      Map<String, List<InvocableStreamPipesEntity>> endpointMap = generateEndpointMap();
-      List<String> allRunningInstances = findRunningInstances(endpointMap.keySet());
-
-      runningPipelines.forEach(pipeline -> {
-        AtomicBoolean shouldUpdatePipeline = new AtomicBoolean(false);
-        List<String> failedInstances = new ArrayList<>();
-        List<String> recoveredInstances = new ArrayList<>();
-        List<String> pipelineNotifications = new ArrayList<>();
-        List<InvocableStreamPipesEntity> graphs = TemporaryGraphStorage.graphStorage.get(pipeline.getPipelineId());
-        graphs.forEach(graph -> {
-          String instanceId = extractInstanceId(graph);
-          if (allRunningInstances.stream().noneMatch(runningInstanceId -> runningInstanceId.equals(instanceId))) {
-            if (shouldRetry(instanceId)) {
-              String endpointUrl = graph.getSelectedEndpointUrl();
-              shouldUpdatePipeline.set(true);
-              boolean success;
-              try {
-                endpointUrl = findEndpointUrl(graph);
-                success = new HttpRequestBuilder(graph, endpointUrl).invoke().isSuccess();
-              } catch (NoServiceEndpointsAvailableException e) {
-                success = false;
-              }
-              if (!success) {
-                failedInstances.add(instanceId);
-                addFailedAttemptNotification(pipelineNotifications, graph);
-                increaseFailedAttempt(instanceId);
-                LOG.info("Could not restore pipeline element {} of pipeline {} ({}/{})",
-                        graph.getName(),
-                        pipeline.getName(),
-                        failedRestartAttempts.get(instanceId),
-                        MAX_FAILED_ATTEMPTS);
-              } else {
-                recoveredInstances.add(instanceId);
-                addSuccessfulRestoreNotification(pipelineNotifications, graph);
-                resetFailedAttempts(instanceId);
-                graph.setSelectedEndpointUrl(endpointUrl);
-                LOG.info("Successfully restored pipeline element {} of pipeline {}", graph.getName(), pipeline.getName());
-              }
-            }
-          }
-        });
-        if (shouldUpdatePipeline.get()) {
-          if (failedInstances.size() > 0) {
-            pipeline.setHealthStatus(PipelineHealthStatus.FAILURE);
-          } else if (recoveredInstances.size() > 0) {
-            pipeline.setHealthStatus(PipelineHealthStatus.REQUIRES_ATTENTION);
-          }
-          pipeline.setPipelineNotifications(pipelineNotifications);
-          StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().updatePipeline(pipeline);
+      long checkStart = System.nanoTime();
+      Set<String> endpoints = generateEndpointMap().keySet();
+      AtomicInteger unavailableEndpoints = new AtomicInteger();
+      Set<String> allRunningInstances = findRunningInstances(endpoints, unavailableEndpoints);
+      metrics.setCheckedEndpoints(endpoints.size());
+      metrics.setUnavailableEndpoints(unavailableEndpoints.get());
+      metrics.setInstanceCheckDurationMillis(toMillis(System.nanoTime() - checkStart));
+
+      long restoreStart = System.nanoTime();
+      List<CompletableFuture<PipelineRestoreResult>> restoreResults = runningPipelines
+              .stream()
+              .map(pipeline -> restoreMissingElements(pipeline, allRunningInstances))
+              .filter(Objects::nonNull)
+              .collect(Collectors.toList());
+      CompletableFuture.allOf(restoreResults.toArray(new CompletableFuture[0])).join();
+
+      List<Pipeline> changedPipelines = new ArrayList<>();
+      restoreResults.stream().map(CompletableFuture::join).forEach(result -> {
+        metrics.setRestoredElements(metrics.getRestoredElements() + result.recoveredInstances);
+        metrics.setFailedElements(metrics.getFailedElements() + result.failedInstances);
+        if (result.updatePipeline()) {
+          changedPipelines.add(result.pipeline);
         }
       });
+      metrics.setRestoreDurationMillis(toMillis(System.nanoTime() - restoreStart));
+
+      if (changedPipelines.size() > 0) {
+        long persistStart = System.nanoTime();
+        StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().updatePipelines(changedPipelines);
+        metrics.setPersistDurationMillis(toMillis(System.nanoTime() - persistStart));
+      }
+      metrics.setUpdatedPipelines(changedPipelines.size());
+    }
+
+    metrics.setDurationMillis(toMillis(System.nanoTime() - start));
+    lastMetrics.set(metrics);
+    LOG.debug("Health check of {} pipelines finished in {} ms (instance check: {} ms, restore: {} ms, persist: {} ms)",
+            metrics.getCheckedPipelines(),
+            metrics.getDurationMillis(),
+            metrics.getInstanceCheckDurationMillis(),
+            metrics.getRestoreDurationMillis(),
+            metrics.getPersistDurationMillis());
+  }
+
+  private CompletableFuture<PipelineRestoreResult> restoreMissingElements(Pipeline pipeline,
+                                                                         Set<String> allRunningInstances) {
+    List<InvocableStreamPipesEntity> graphs = TemporaryGraphStorage.graphStorage.get(pipeline.getPipelineId());
+    if (graphs == null) {
+      return null;
+    }
+
+    List<CompletableFuture<ElementRestoreResult>> elementResults = graphs
+            .stream()
+            .filter(graph -> !allRunningInstances.contains(extractInstanceId(graph)))
+            .filter(graph -> shouldRetry(extractInstanceId(graph)))
+            .map(graph -> PipelineElementHttpClient.INSTANCE.submit(() -> restoreElement(pipeline, graph)))
+            .collect(Collectors.toList());
+
+    return CompletableFuture
+            .allOf(elementResults.toArray(new CompletableFuture[0]))
+            .thenApply(v -> new PipelineRestoreResult(pipeline, elementResults
+                    .stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList())));
+  }
+
+  private ElementRestoreResult restoreElement(Pipeline pipeline, InvocableStreamPipesEntity graph) {
+    String instanceId = extractInstanceId(graph);
+    boolean success;
+    String endpointUrl = null;
+    try {
+      endpointUrl = findEndpointUrl(graph);
+      success = new HttpRequestBuilder(graph, endpointUrl).invoke().isSuccess();
+    } catch (NoServiceEndpointsAvailableException e) {
+      success = false;
+    }
+    if (!success) {
+      int attempts = increaseFailedAttempt(instanceId);
+      LOG.info("Could not restore pipeline element {} of pipeline {} ({}/{})",
+              graph.getName(),
+              pipeline.getName(),
+              attempts,
+              MAX_FAILED_ATTEMPTS);
+      return new ElementRestoreResult(false, makeFailedAttemptNotification(graph));
+    } else {
+      resetFailedAttempts(instanceId);
+      graph.setSelectedEndpointUrl(endpointUrl);
+      LOG.info("Successfully restored pipeline element {} of pipeline {}", graph.getName(), pipeline.getName());
+      return new ElementRestoreResult(true, makeSuccessfulRestoreNotification(graph));
     }
   }
 
@@ -113,40 +171,29 @@ public class PipelineHealthCheck implements Runnable {
   }
 
   private boolean shouldRetry(String instanceId) {
-    if (!failedRestartAttempts.containsKey(instanceId)) {
-      return true;
-    } else {
-      return failedRestartAttempts.get(instanceId) < MAX_FAILED_ATTEMPTS;
-    }
+    return failedRestartAttempts.getOrDefault(instanceId, 0) < MAX_FAILED_ATTEMPTS;
   }
 
   private void resetFailedAttempts(String instanceId) {
     failedRestartAttempts.put(instanceId, 0);
   }
 
-  private void increaseFailedAttempt(String instanceId) {
-    if (!failedRestartAttempts.containsKey(instanceId)) {
-      failedRestartAttempts.put(instanceId, 1);
-    } else {
-      Integer currentAttempt = failedRestartAttempts.get(instanceId) + 1;
-      failedRestartAttempts.put(instanceId, currentAttempt);
-    }
+  private int increaseFailedAttempt(String instanceId) {
+    return failedRestartAttempts.merge(instanceId, 1, Integer::sum);
   }
 
-  private void addSuccessfulRestoreNotification(List<String> pipelineNotifications,
-                                                InvocableStreamPipesEntity graph) {
-    pipelineNotifications.add(getCurrentDatetime()
+  private String makeSuccessfulRestoreNotification(InvocableStreamPipesEntity graph) {
+    return getCurrentDatetime()
             + "Pipeline element '"
             + graph.getName()
-            + "' was not available and was successfully restored.");
+            + "' was not available and was successfully restored.";
   }
 
-  private void addFailedAttemptNotification(List<String> pipelineNotifications,
-                                            InvocableStreamPipesEntity graph) {
-    pipelineNotifications.add(getCurrentDatetime()
+  private String makeFailedAttemptNotification(InvocableStreamPipesEntity graph) {
+    return getCurrentDatetime()
             + "Pipeline element '"
             + graph.getName()
-            + "' was not available and could not be restored.");
+            + "' was not available and could not be restored.";
   }
 
   private String getCurrentDatetime() {
@@ -160,15 +207,21 @@ public class PipelineHealthCheck implements Runnable {
   }
 
 
-  private List<String> findRunningInstances(Set<String> endpoints) {
-    List<String> allRunningInstances = new ArrayList<>();
-    endpoints.forEach(endpoint -> {
-      try {
-        allRunningInstances.addAll(new PipelineElementEndpointHealthCheck(endpoint).checkRunningInstances());
-      } catch (IOException e) {
-        LOG.error("Pipeline element endpoint {} is unavailable", endpoint);
-      }
-    });
+  private Set<String> findRunningInstances(Set<String> endpoints, AtomicInteger unavailableEndpoints) {
+    Set<String> allRunningInstances = ConcurrentHashMap.newKeySet();
+    CompletableFuture<?>[] checks = endpoints
+            .stream()
+            .map(endpoint -> PipelineElementHttpClient.INSTANCE.submit(() -> {
+              try {
+                allRunningInstances.addAll(new PipelineElementEndpointHealthCheck(endpoint).checkRunningInstances());
+              } catch (IOException e) {
+                unavailableEndpoints.incrementAndGet();
+                LOG.error("Pipeline element endpoint {} is unavailable", endpoint);
+              }
+              return null;
+            }))
+            .toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(checks).join();
 
     return allRunningInstances;
   }
@@ -183,13 +236,11 @@ public class PipelineHealthCheck implements Runnable {
 
   private void addEndpoint(Map<String, List<InvocableStreamPipesEntity>> endpointMap,
                            InvocableStreamPipesEntity graph) {
-    String selectedEndpoint = graph.getSelectedEndpointUrl();
-    if (!endpointMap.containsKey(selectedEndpoint)) {
-      endpointMap.put(selectedEndpoint, new ArrayList<>());
-    }
-    List<InvocableStreamPipesEntity> existingGraphs = endpointMap.get(selectedEndpoint);
-    existingGraphs.add(graph);
-    endpointMap.put(selectedEndpoint, existingGraphs);
+    endpointMap.computeIfAbsent(graph.getSelectedEndpointUrl(), endpoint -> new ArrayList<>()).add(graph);
+  }
+
+  private long toMillis(long nanos) {
+    return nanos / 1000000;
   }
 
   @Override
@@ -207,4 +258,48 @@ public class PipelineHealthCheck implements Runnable {
             .filter(Pipeline::isRunning)
             .collect(Collectors.toList());
   }
+
+  private static class ElementRestoreResult {
+
+    private final boolean success;
+    private final String notification;
+
+    ElementRestoreResult(boolean success, String notification) {
+      this.success = success;
+      this.notification = notification;
+    }
+  }
+
+  private static class PipelineRestoreResult {
+
+    private final Pipeline pipeline;
+    private final List<String> notifications;
+    private final int recoveredInstances;
+    private final int failedInstances;
+
+    PipelineRestoreResult(Pipeline pipeline, List<ElementRestoreResult> elementResults) {
+      this.pipeline = pipeline;
+      this.notifications = elementResults.stream().map(r -> r.notification).collect(Collectors.toList());
+      this.recoveredInstances = (int) elementResults.stream().filter(r -> r.success).count();
+      this.failedInstances = elementResults.size() - recoveredInstances;
+    }
+
+    /**
+     * Updates health status and notifications of the pipeline.
+     *
+     * @return true if the pipeline has changed and needs to be stored
+     */
+    boolean updatePipeline() {
+      if (notifications.isEmpty()) {
+        return false;
+      }
+      if (failedInstances > 0) {
+        pipeline.setHealthStatus(PipelineHealthStatus.FAILURE);
+      } else if (recoveredInstances > 0) {
+        pipeline.setHealthStatus(PipelineHealthStatus.REQUIRES_ATTENTION);
+      }
+      pipeline.setPipelineNotifications(notifications);
+      return true;
+    }
+  }
 }
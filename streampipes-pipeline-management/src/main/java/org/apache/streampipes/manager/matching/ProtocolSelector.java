@@ -20,17 +20,21 @@ package org.apache.streampipes.manager.matching;
 
 import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.config.backend.SpProtocol;
+import org.apache.streampipes.manager.execution.endpoint.ExtensionsServiceEndpointGenerator;
 import org.apache.streampipes.manager.util.TopicGenerator;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public class ProtocolSelector extends GroundingSelector {
 
@@ -49,6 +53,8 @@ public class ProtocolSelector extends GroundingSelector {
             return ((SpDataStream) source)
                     .getEventGrounding()
                     .getTransportProtocol();
+        } else if (supportsProtocol(InMemoryTransportProtocol.class) && isCoLocated()) {
+            return inMemoryTopic();
         } else {
             for(SpProtocol prioritizedProtocol: prioritizedProtocols) {
                 if (prioritizedProtocol.getProtocolClass().equals(KafkaTransportProtocol.class.getCanonicalName()) &&
@@ -67,6 +73,10 @@ public class ProtocolSelector extends GroundingSelector {
         return kafkaTopic();
     }
 
+    private TransportProtocol inMemoryTopic() {
+        return new InMemoryTransportProtocol(outputTopic);
+    }
+
     private TransportProtocol mqttTopic() {
         return new MqttTransportProtocol(BackendConfig.INSTANCE.getMqttHost(),
                 BackendConfig.INSTANCE.getMqttPort(),
@@ -100,4 +110,25 @@ public class ProtocolSelector extends GroundingSelector {
                         .anyMatch(protocol::isInstance));
 
     }
+
+    /**
+     * Checks whether at least one extensions service provides source and all targets, i.e., all
+     * elements can be placed in the same JVM and exchange events in-memory.
+     */
+    private boolean isCoLocated() {
+        Set<String> sharedServices = null;
+        for (InvocableStreamPipesEntity element : buildInvocables()) {
+            Set<String> services = new ExtensionsServiceEndpointGenerator(element)
+                    .getCandidateEndpoints()
+                    .stream()
+                    .map(ExtensionsServiceEndpointGenerator::toAuthority)
+                    .collect(Collectors.toSet());
+            if (sharedServices == null) {
+                sharedServices = new HashSet<>(services);
+            } else {
+                sharedServices.retainAll(services);
+            }
+        }
+        return sharedServices != null && !sharedServices.isEmpty();
+    }
 }
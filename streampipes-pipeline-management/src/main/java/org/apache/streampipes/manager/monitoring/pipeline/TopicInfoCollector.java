@@ -88,7 +88,6 @@ public class TopicInfoCollector {
 
   public List<PipelineElementMonitoringInfo> makeMonitoringInfo() {
     this.makeTopicInfo();
-    // TODO filter for KafkaGrounding
     this.pipeline.getStreams().forEach(stream -> this.monitoringInfo.add(makeStreamMonitoringInfo(stream)));
     this.pipeline.getSepas().forEach(processor -> this.monitoringInfo.add(makeProcessorMonitoringInfo(processor)));
     this.pipeline.getActions().forEach(sink -> this.monitoringInfo.add(makeSinkMonitoringInfo(sink)));
@@ -97,26 +96,36 @@ public class TopicInfoCollector {
     return this.monitoringInfo;
   }
 
+  // topic offsets are only available for Kafka, other protocols such as in-memory topics are skipped
   private PipelineElementMonitoringInfo makeStreamMonitoringInfo(SpDataStream stream) {
-    PipelineElementMonitoringInfo info = prepare(stream.getElementId(), stream.getName(), false, true);
-    KafkaTransportProtocol protocol = (KafkaTransportProtocol) stream.getEventGrounding().getTransportProtocol();
-    info.setProducedMessagesInfo(makeOutputTopicInfoForPipelineElement(protocol));
+    TransportProtocol protocol = stream.getEventGrounding().getTransportProtocol();
+    PipelineElementMonitoringInfo info = prepare(stream.getElementId(), stream.getName(), false,
+            isKafka(protocol));
+    if (isKafka(protocol)) {
+      info.setProducedMessagesInfo(makeOutputTopicInfoForPipelineElement((KafkaTransportProtocol) protocol));
+    }
 
     return info;
   }
 
   private PipelineElementMonitoringInfo makeProcessorMonitoringInfo(DataProcessorInvocation processor) {
-    PipelineElementMonitoringInfo info = prepare(processor.getElementId(), processor.getName(), true, true);
-    KafkaTransportProtocol outputProtocol = (KafkaTransportProtocol) processor.getOutputStream().getEventGrounding().getTransportProtocol();
-    ProducedMessagesInfo outputTopicInfo = makeOutputTopicInfoForPipelineElement(outputProtocol);
+    TransportProtocol outputProtocol = processor.getOutputStream().getEventGrounding().getTransportProtocol();
     List<ConsumedMessagesInfo> inputTopicInfo = makeInputTopicInfoForPipelineElement(processor.getInputStreams());
+    PipelineElementMonitoringInfo info = prepare(processor.getElementId(), processor.getName(),
+            !inputTopicInfo.isEmpty(), isKafka(outputProtocol));
 
-    info.setProducedMessagesInfo(outputTopicInfo);
+    if (isKafka(outputProtocol)) {
+      info.setProducedMessagesInfo(makeOutputTopicInfoForPipelineElement((KafkaTransportProtocol) outputProtocol));
+    }
     info.setConsumedMessagesInfos(inputTopicInfo);
     printStatistics(info);
     return info;
   }
 
+  private boolean isKafka(TransportProtocol protocol) {
+    return protocol instanceof KafkaTransportProtocol;
+  }
+
   private void printStatistics(PipelineElementMonitoringInfo info) {
     System.out.println("Pipeline Element: " + info.getPipelineElementName());
     info.getConsumedMessagesInfos().forEach(input -> {
@@ -128,14 +137,19 @@ public class TopicInfoCollector {
   }
 
   private PipelineElementMonitoringInfo makeSinkMonitoringInfo(DataSinkInvocation sink) {
-    PipelineElementMonitoringInfo info = prepare(sink.getElementId(), sink.getName(), true, false);
-    info.setConsumedMessagesInfos(makeInputTopicInfoForPipelineElement(sink.getInputStreams()));
+    List<ConsumedMessagesInfo> inputTopicInfo = makeInputTopicInfoForPipelineElement(sink.getInputStreams());
+    PipelineElementMonitoringInfo info = prepare(sink.getElementId(), sink.getName(), !inputTopicInfo.isEmpty(), false);
+    info.setConsumedMessagesInfos(inputTopicInfo);
     return info;
   }
 
   private List<ConsumedMessagesInfo> makeInputTopicInfoForPipelineElement(List<SpDataStream> inputStreams) {
     List<ConsumedMessagesInfo> infos = new ArrayList<>();
-    inputStreams.stream().map(is -> is.getEventGrounding().getTransportProtocol()).forEach(protocol -> {
+    inputStreams
+            .stream()
+            .map(is -> is.getEventGrounding().getTransportProtocol())
+            .filter(this::isKafka)
+            .forEach(protocol -> {
       String topic = getTopic((KafkaTransportProtocol) protocol);
       String groupId = ((KafkaTransportProtocol) protocol).getGroupId();
       ConsumedMessagesInfo info = new ConsumedMessagesInfo(topic, groupId);
@@ -22,6 +22,7 @@ import org.apache.streampipes.commons.exceptions.NoSuitableSepasAvailableExcepti
 import org.apache.streampipes.commons.exceptions.SepaParseException;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.manager.endpoint.EndpointItemFetcher;
+import org.apache.streampipes.manager.execution.http.PipelineBulkExecutor;
 import org.apache.streampipes.manager.execution.http.PipelineExecutor;
 import org.apache.streampipes.manager.execution.http.PipelineStorageService;
 import org.apache.streampipes.manager.matching.DataSetGroundingSelector;
@@ -50,8 +51,8 @@ import org.apache.streampipes.model.template.PipelineTemplateDescription;
 import org.apache.streampipes.model.template.PipelineTemplateInvocation;
 import org.apache.streampipes.storage.management.StorageDispatcher;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 
 /**
@@ -129,17 +130,22 @@ public class Operations {
     return stopPipeline(pipeline, true, true, false, forceStop);
   }
 
+  public static List<PipelineOperationStatus> startPipelines(List<Pipeline> pipelines) {
+    return new PipelineBulkExecutor(pipelines).startPipelines();
+  }
+
+  public static List<PipelineOperationStatus> stopPipelines(List<Pipeline> pipelines, boolean forceStop) {
+    return new PipelineBulkExecutor(pipelines).stopPipelines(forceStop);
+  }
+
   public static List<PipelineOperationStatus> stopAllPipelines(boolean forceStop) {
-    List<PipelineOperationStatus> status = new ArrayList<>();
     List<Pipeline> pipelines =
-            StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().getAllPipelines();
-
-    pipelines.forEach(p -> {
-      if (p.isRunning()) {
-        status.add(Operations.stopPipeline(p, forceStop));
-      }
-    });
-    return status;
+            StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().getAllPipelines()
+                    .stream()
+                    .filter(Pipeline::isRunning)
+                    .collect(Collectors.toList());
+
+    return stopPipelines(pipelines, forceStop);
   }
 
   public static PipelineOperationStatus stopPipeline(Pipeline pipeline,
@@ -26,8 +26,11 @@ import org.apache.streampipes.storage.api.IPipelineStorage;
 import org.apache.streampipes.storage.management.StorageDispatcher;
 
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class PipelineManager {
 
@@ -91,6 +94,26 @@ public class PipelineManager {
         return status;
     }
 
+    /**
+     * Starts all pipelines with the given pipeline ids concurrently
+     * @param pipelineIds
+     * @return pipeline status of each start operation
+     */
+    public static List<PipelineOperationStatus> startPipelines(List<String> pipelineIds) {
+        return Operations.startPipelines(getPipelines(pipelineIds));
+    }
+
+    /**
+     * Stops all pipelines with the given pipeline ids concurrently
+     * @param pipelineIds
+     * @param forceStop when it is true, the pipelines are stopped, even if not all processing element containers could be reached
+     * @return pipeline status of each stop operation
+     */
+    public static List<PipelineOperationStatus> stopPipelines(List<String> pipelineIds,
+                                                              boolean forceStop) {
+        return Operations.stopPipelines(getPipelines(pipelineIds), forceStop);
+    }
+
     /**
      * Deletes the pipeline with the pipeline Id
      * @param pipelineId
@@ -110,6 +133,15 @@ public class PipelineManager {
         pipeline.getActions().forEach(action -> action.setCorrespondingUser(username));
     }
 
+    private static List<Pipeline> getPipelines(List<String> pipelineIds) {
+        Set<String> ids = new HashSet<>(pipelineIds);
+        return getPipelineStorage()
+                .getAllPipelines()
+                .stream()
+                .filter(p -> ids.contains(p.getPipelineId()))
+                .collect(Collectors.toList());
+    }
+
     private static IPipelineStorage getPipelineStorage() {
         return StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI();
     }
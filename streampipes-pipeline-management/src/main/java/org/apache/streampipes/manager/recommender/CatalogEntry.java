@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.recommender;
+
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.base.ConsumableStreamPipesEntity;
+
+/**
+ * A data processor or data sink of the element catalog together with its precomputed stream
+ * requirement. Entries are shared between requests and must not be modified.
+ */
+public class CatalogEntry {
+
+  private final ConsumableStreamPipesEntity element;
+  private final SpDataStream streamRequirement;
+
+  CatalogEntry(ConsumableStreamPipesEntity element) {
+    this.element = element;
+    this.streamRequirement = makeStreamRequirement(element);
+  }
+
+  public String getElementId() {
+    return element.getElementId();
+  }
+
+  public String getName() {
+    return element.getName();
+  }
+
+  public String getDescription() {
+    return element.getDescription();
+  }
+
+  public ConsumableStreamPipesEntity getElement() {
+    return element;
+  }
+
+  /**
+   * @return the first stream requirement of the element including its supported grounding, or
+   * null if the element does not declare any stream requirement
+   */
+  public SpDataStream getStreamRequirement() {
+    return streamRequirement;
+  }
+
+  private static SpDataStream makeStreamRequirement(ConsumableStreamPipesEntity element) {
+    if (element.getSpDataStreams() == null || element.getSpDataStreams().isEmpty()) {
+      return null;
+    }
+    SpDataStream requirement = new SpDataStream(element.getSpDataStreams().get(0));
+    requirement.setEventGrounding(element.getSupportedGrounding());
+    return requirement;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.recommender;
+
+import org.apache.streampipes.model.base.ConsumableStreamPipesEntity;
+import org.apache.streampipes.model.client.user.Element;
+import org.apache.streampipes.model.client.user.User;
+import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorageCache;
+import org.apache.streampipes.storage.management.StorageDispatcher;
+import org.apache.streampipes.storage.management.StorageManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one {@link UserElementCatalog} per user. A catalog is rebuilt once installed descriptions
+ * or the elements owned by the user have changed.
+ */
+public enum ConsumableElementCatalog {
+
+  INSTANCE;
+
+  private final Map<String, UserElementCatalog> catalogs = new ConcurrentHashMap<>();
+
+  public UserElementCatalog getCatalog(String username) {
+    long storageVersion = getPipelineElementStorage().getCacheVersion();
+    User user = StorageDispatcher.INSTANCE.getNoSqlStore().getUserStorageAPI().getUser(username);
+    Set<String> ownProcessorUris = toElementIds(user.getOwnSepas());
+    Set<String> ownSinkUris = toElementIds(user.getOwnActions());
+
+    UserElementCatalog catalog = catalogs.get(username);
+    if (catalog == null || !catalog.isUpToDate(storageVersion, ownProcessorUris, ownSinkUris)) {
+      catalog = makeCatalog(storageVersion, ownProcessorUris, ownSinkUris);
+      catalogs.put(username, catalog);
+    }
+    return catalog;
+  }
+
+  private UserElementCatalog makeCatalog(long storageVersion,
+                                         Set<String> ownProcessorUris,
+                                         Set<String> ownSinkUris) {
+    List<ConsumableStreamPipesEntity> elements = new ArrayList<>();
+    getPipelineElementStorage()
+            .getAllDataProcessors()
+            .stream()
+            .filter(e -> ownProcessorUris.contains(e.getElementId()))
+            .forEach(elements::add);
+    getPipelineElementStorage()
+            .getAllDataSinks()
+            .stream()
+            .filter(e -> ownSinkUris.contains(e.getElementId()))
+            .forEach(elements::add);
+    return new UserElementCatalog(storageVersion, ownProcessorUris, ownSinkUris, elements);
+  }
+
+  private Set<String> toElementIds(List<Element> elements) {
+    if (elements == null) {
+      return Collections.emptySet();
+    }
+    return elements
+            .stream()
+            .map(Element::getElementId)
+            .collect(Collectors.toSet());
+  }
+
+  private IPipelineElementDescriptionStorageCache getPipelineElementStorage() {
+    return StorageManager.INSTANCE.getPipelineElementStorage();
+  }
+}
@@ -23,30 +23,21 @@ import org.apache.streampipes.commons.exceptions.NoSuitableSepasAvailableExcepti
 import org.apache.streampipes.manager.data.PipelineGraph;
 import org.apache.streampipes.manager.data.PipelineGraphBuilder;
 import org.apache.streampipes.manager.matching.InvocationGraphBuilder;
-import org.apache.streampipes.manager.matching.v2.StreamMatch;
-import org.apache.streampipes.manager.storage.UserManagementService;
 import org.apache.streampipes.manager.util.PipelineVerificationUtils;
 import org.apache.streampipes.model.SpDataStream;
-import org.apache.streampipes.model.base.ConsumableStreamPipesEntity;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.client.exception.InvalidConnectionException;
-import org.apache.streampipes.model.client.matching.MatchingResultMessage;
-import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
-import org.apache.streampipes.model.graph.DataSinkDescription;
 import org.apache.streampipes.model.graph.DataSinkInvocation;
 import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.pipeline.PipelineElementRecommendation;
 import org.apache.streampipes.model.pipeline.PipelineElementRecommendationMessage;
 import org.apache.streampipes.storage.api.INoSqlStorage;
-import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorage;
 import org.apache.streampipes.storage.management.StorageDispatcher;
-import org.apache.streampipes.storage.management.StorageManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -58,6 +49,7 @@ public class ElementRecommender {
   private Pipeline pipeline;
   private String email;
   private PipelineElementRecommendationMessage recommendationMessage;
+  private UserElementCatalog catalog;
 
   public ElementRecommender(String email, Pipeline partialPipeline) {
     this.email = email;
@@ -71,7 +63,7 @@ public class ElementRecommender {
     try {
       rootNodeElementId = getRootNodeElementId(getRootNode());
       Optional<SpDataStream> outputStream = getOutputStream();
-      outputStream.ifPresent(spDataStream -> validate(spDataStream, getAll()));
+      outputStream.ifPresent(spDataStream -> validate(spDataStream, getCatalog()));
     } catch (Exception e) {
       e.printStackTrace();
       return recommendationMessage;
@@ -92,9 +84,7 @@ public class ElementRecommender {
   private List<PipelineElementRecommendation> filterOldElements(List<PipelineElementRecommendation> recommendedElements) {
     return recommendedElements
             .stream()
-            .filter(r -> getAll()
-                    .stream()
-                    .anyMatch(a -> a.getElementId().equals(r.getElementId())))
+            .filter(r -> getCatalog().contains(r.getElementId()))
             .collect(Collectors.toList());
   }
 
@@ -104,84 +94,36 @@ public class ElementRecommender {
             .mapToInt(PipelineElementRecommendation::getCount)
             .sum();
 
+    UserElementCatalog catalog = getCatalog();
     recommendedElements
             .forEach(r -> {
+              CatalogEntry entry = catalog.getEntry(r.getElementId()).get();
               r.setWeight(getWeight(r.getCount(), allConnectionsCount));
-              r.setName(getName(r.getElementId()));
-              r.setDescription(getDescription(r.getElementId()));
+              r.setName(entry.getName());
+              r.setDescription(entry.getDescription());
             });
 
     return recommendedElements;
 
   }
 
-  private String getName(String elementId) {
-    return filter(elementId).getName();
-  }
-
-  private String getDescription(String elementId) {
-    return filter(elementId).getDescription();
-  }
-
-  private NamedStreamPipesEntity filter(String elementId) {
-    List<ConsumableStreamPipesEntity> allElements = getAll();
-    return allElements
-            .stream()
-            .filter(a -> a.getElementId().equals(elementId))
-            .findFirst()
-            .get();
-  }
-
   private Float getWeight(Integer count, Integer allConnectionsCount) {
     return ((float) (count)) / allConnectionsCount;
   }
 
-  private void validate(SpDataStream offer, List<ConsumableStreamPipesEntity> entities) {
-    for (ConsumableStreamPipesEntity sepa : entities) {
-      SpDataStream requirement = sepa.getSpDataStreams().get(0);
-      requirement.setEventGrounding(sepa.getSupportedGrounding());
-      List<MatchingResultMessage> messages = new ArrayList<>();
-      Boolean matches = new StreamMatch().match(offer, requirement, messages);
-      if (matches) {
-        addPossibleElements(sepa);
-      }
-    }
+  private void validate(SpDataStream offer, UserElementCatalog catalog) {
+    catalog.findMatchingEntries(offer).forEach(this::addPossibleElements);
   }
 
-  private void addPossibleElements(NamedStreamPipesEntity sepa) {
-    recommendationMessage.addPossibleElement(new PipelineElementRecommendation(sepa.getElementId(), sepa.getName(), sepa.getDescription()));
+  private void addPossibleElements(CatalogEntry entry) {
+    recommendationMessage.addPossibleElement(new PipelineElementRecommendation(entry.getElementId(), entry.getName(), entry.getDescription()));
   }
 
-  private List<ConsumableStreamPipesEntity> getAllSepas() {
-    List<String> userObjects = UserManagementService.getUserService().getOwnSepaUris(email);
-    return getTripleStore()
-            .getAllDataProcessors()
-            .stream()
-            .filter(e -> userObjects.stream().anyMatch(u -> u.equals(e.getElementId())))
-            .map(DataProcessorDescription::new)
-            .collect(Collectors.toList());
-  }
-
-
-  private List<ConsumableStreamPipesEntity> getAllSecs() {
-    List<String> userObjects = UserManagementService.getUserService().getOwnActionUris(email);
-    return getTripleStore()
-            .getAllDataSinks()
-            .stream()
-            .filter(e -> userObjects.stream().anyMatch(u -> u.equals(e.getElementId())))
-            .map(DataSinkDescription::new)
-            .collect(Collectors.toList());
-  }
-
-  private List<ConsumableStreamPipesEntity> getAll() {
-    List<ConsumableStreamPipesEntity> allElements = new ArrayList<>();
-    allElements.addAll(getAllSepas());
-    allElements.addAll(getAllSecs());
-    return allElements;
-  }
-
-  private IPipelineElementDescriptionStorage getTripleStore() {
-    return StorageManager.INSTANCE.getPipelineElementStorage();
+  private UserElementCatalog getCatalog() {
+    if (catalog == null) {
+      catalog = ConsumableElementCatalog.INSTANCE.getCatalog(email);
+    }
+    return catalog;
   }
 
   private NamedStreamPipesEntity getRootNode() throws NoSepaInPipelineException {
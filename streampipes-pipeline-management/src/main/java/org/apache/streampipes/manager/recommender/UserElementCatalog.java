@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.recommender;
+
+import org.apache.streampipes.manager.matching.v2.StreamMatch;
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.base.ConsumableStreamPipesEntity;
+import org.apache.streampipes.model.client.matching.MatchingResultMessage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Data processors and data sinks a single user owns, indexed by elementId.
+ */
+public class UserElementCatalog {
+
+  private final long storageVersion;
+  private final Set<String> ownProcessorUris;
+  private final Set<String> ownSinkUris;
+  private final Map<String, CatalogEntry> entries;
+
+  UserElementCatalog(long storageVersion,
+                     Set<String> ownProcessorUris,
+                     Set<String> ownSinkUris,
+                     List<? extends ConsumableStreamPipesEntity> elements) {
+    this.storageVersion = storageVersion;
+    this.ownProcessorUris = ownProcessorUris;
+    this.ownSinkUris = ownSinkUris;
+    Map<String, CatalogEntry> entries = new LinkedHashMap<>();
+    elements.forEach(element -> entries.put(element.getElementId(), new CatalogEntry(element)));
+    this.entries = Collections.unmodifiableMap(entries);
+  }
+
+  public boolean contains(String elementId) {
+    return entries.containsKey(elementId);
+  }
+
+  public Optional<CatalogEntry> getEntry(String elementId) {
+    return Optional.ofNullable(entries.get(elementId));
+  }
+
+  public Collection<CatalogEntry> getEntries() {
+    return entries.values();
+  }
+
+  /**
+   * @return all entries whose stream requirement is satisfied by the given stream
+   */
+  public List<CatalogEntry> findMatchingEntries(SpDataStream offer) {
+    StreamMatch streamMatch = new StreamMatch();
+    return entries
+            .values()
+            .stream()
+            .filter(entry -> entry.getStreamRequirement() != null)
+            .filter(entry -> streamMatch.match(offer, entry.getStreamRequirement(), new ArrayList<MatchingResultMessage>()))
+            .collect(Collectors.toList());
+  }
+
+  boolean isUpToDate(long storageVersion, Set<String> ownProcessorUris, Set<String> ownSinkUris) {
+    return this.storageVersion == storageVersion
+            && this.ownProcessorUris.equals(ownProcessorUris)
+            && this.ownSinkUris.equals(ownSinkUris);
+  }
+}
@@ -23,10 +23,12 @@ import org.apache.streampipes.messaging.jms.ActiveMQConsumer;
 import org.apache.streampipes.messaging.kafka.SpKafkaConsumer;
 import org.apache.streampipes.messaging.mqtt.MqttConsumer;
 import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,15 +47,24 @@ public enum PipelineElementRuntimeInfoFetcher {
     this.converterMap = new HashMap<>();
   }
 
+  /**
+   * @return the latest event of the stream, or null if no event could be fetched
+   */
   public String getCurrentData(SpDataStream spDataStream) throws SpRuntimeException {
+    TransportProtocol protocol = spDataStream.getEventGrounding().getTransportProtocol();
 
-    if (spDataStream.getEventGrounding().getTransportProtocol() instanceof KafkaTransportProtocol) {
+    if (protocol instanceof KafkaTransportProtocol) {
       return getLatestEventFromKafka(spDataStream);
-    }
-    else if (spDataStream.getEventGrounding().getTransportProtocol() instanceof JmsTransportProtocol){
+    } else if (protocol instanceof JmsTransportProtocol) {
       return getLatestEventFromJms(spDataStream);
-    } else {
+    } else if (protocol instanceof MqttTransportProtocol) {
       return getLatestEventFromMqtt(spDataStream);
+    } else if (protocol instanceof InMemoryTransportProtocol) {
+      // in-memory topics only exist within the extensions service running the connected elements
+      logger.debug("No runtime data available for in-memory topic {}", getOutputTopic(spDataStream));
+      return null;
+    } else {
+      throw new SpRuntimeException("Unsupported transport protocol " + protocol.getClass().getSimpleName());
     }
   }
 
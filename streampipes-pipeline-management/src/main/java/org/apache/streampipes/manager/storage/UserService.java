@@ -164,7 +164,6 @@ public class UserService {
     User user = userStorage.getUser(username);
     user.removePreferredSepa(elementId);
     dbClient.update(user);
-    dbClient.shutdown();
   }
 
   public void removeActionFromFavorites(String username, String elementId) {
@@ -175,7 +174,6 @@ public class UserService {
     User user = userStorage.getUser(username);
     user.removePreferredAction(elementId);
     dbClient.update(user);
-    dbClient.shutdown();
   }
 
   public void removeSourceFromFavorites(String username, String elementId) {
@@ -186,7 +184,6 @@ public class UserService {
     User user = userStorage.getUser(username);
     user.removePreferredSource(elementId);
     dbClient.update(user);
-    dbClient.shutdown();
   }
 
   /**
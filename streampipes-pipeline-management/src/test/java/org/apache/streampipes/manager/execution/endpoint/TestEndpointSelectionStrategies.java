@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.endpoint;
+
+import org.apache.streampipes.model.monitoring.ServiceLoad;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestEndpointSelectionStrategies {
+
+  private static final String TAG = "sp:dataprocessor:test";
+  private static final String A = "http://service-a:8090";
+  private static final String B = "http://service-b:8090";
+  private static final String C = "http://service-c:8090";
+
+  private static final List<String> ENDPOINTS = Arrays.asList(A, B, C);
+
+  private static final long GB = 1024L * 1024 * 1024;
+
+  @Test
+  public void testFirstSelectsFirstEndpoint() {
+    EndpointSelectionStrategy strategy = new FirstEndpointSelectionStrategy();
+
+    assertEquals(A, strategy.selectEndpoint(TAG, ENDPOINTS));
+    assertEquals(A, strategy.selectEndpoint(TAG, ENDPOINTS));
+  }
+
+  @Test
+  public void testRoundRobinRotatesPerServiceTag() {
+    EndpointSelectionStrategy strategy = new RoundRobinEndpointSelectionStrategy();
+
+    assertEquals(A, strategy.selectEndpoint(TAG, ENDPOINTS));
+    assertEquals(B, strategy.selectEndpoint(TAG, ENDPOINTS));
+    assertEquals(A, strategy.selectEndpoint("sp:datasink:test", ENDPOINTS));
+    assertEquals(C, strategy.selectEndpoint(TAG, ENDPOINTS));
+    assertEquals(A, strategy.selectEndpoint(TAG, ENDPOINTS));
+  }
+
+  @Test
+  public void testLeastRunningInstances() {
+    Map<String, ServiceLoad> loads = new HashMap<>();
+    loads.put(A, load(5, 0.1, 0));
+    loads.put(B, load(2, 0.9, 0));
+    loads.put(C, load(3, 0.1, 0));
+    EndpointSelectionStrategy strategy = new LeastRunningInstancesSelectionStrategy(makeProvider(loads));
+
+    assertEquals(B, strategy.selectEndpoint(TAG, ENDPOINTS));
+    // placement on B is recorded, B and C now run three instances each
+    assertEquals(B, strategy.selectEndpoint(TAG, ENDPOINTS));
+    assertEquals(C, strategy.selectEndpoint(TAG, ENDPOINTS));
+  }
+
+  @Test
+  public void testLeastRunningInstancesAvoidsUnreachableServices() {
+    Map<String, ServiceLoad> loads = new HashMap<>();
+    loads.put(C, load(100, 0.1, 0));
+    EndpointSelectionStrategy strategy = new LeastRunningInstancesSelectionStrategy(makeProvider(loads));
+
+    assertEquals(C, strategy.selectEndpoint(TAG, ENDPOINTS));
+  }
+
+  @Test
+  public void testResourceAwareSelectsLowestUtilization() {
+    Map<String, ServiceLoad> loads = new HashMap<>();
+    loads.put(A, load(1, 0.8, 0));
+    loads.put(B, load(1, 0.2, 0));
+    // low CPU load, but high memory utilization
+    loads.put(C, load(0, 0.1, 0.9));
+    EndpointSelectionStrategy strategy = new ResourceAwareSelectionStrategy(makeProvider(loads));
+
+    assertEquals(B, strategy.selectEndpoint(TAG, ENDPOINTS));
+  }
+
+  @Test
+  public void testResourceAwarePrefersFewerInstancesOnSimilarUtilization() {
+    Map<String, ServiceLoad> loads = new HashMap<>();
+    loads.put(A, load(4, 0.21, 0));
+    loads.put(B, load(1, 0.25, 0));
+    EndpointSelectionStrategy strategy = new ResourceAwareSelectionStrategy(makeProvider(loads));
+
+    assertEquals(B, strategy.selectEndpoint(TAG, ENDPOINTS));
+  }
+
+  @Test
+  public void testSelectionStrategyByName() {
+    assertEquals(FirstEndpointSelectionStrategy.class,
+            EndpointSelectionStrategies.byName("first").getClass());
+    assertEquals(RoundRobinEndpointSelectionStrategy.class,
+            EndpointSelectionStrategies.byName("round-robin").getClass());
+    assertEquals(LeastRunningInstancesSelectionStrategy.class,
+            EndpointSelectionStrategies.byName("least-instances").getClass());
+    assertEquals(ResourceAwareSelectionStrategy.class,
+            EndpointSelectionStrategies.byName("least-loaded").getClass());
+    assertEquals(FirstEndpointSelectionStrategy.class,
+            EndpointSelectionStrategies.byName("unknown").getClass());
+  }
+
+  private ServiceLoadProvider makeProvider(Map<String, ServiceLoad> loads) {
+    return new ServiceLoadProvider(loads::get, () -> Long.MAX_VALUE);
+  }
+
+  private ServiceLoad load(int runningInstances, double cpuLoad, double memoryUtilization) {
+    return new ServiceLoad(runningInstances, 4, cpuLoad, (long) (memoryUtilization * GB), GB);
+  }
+}
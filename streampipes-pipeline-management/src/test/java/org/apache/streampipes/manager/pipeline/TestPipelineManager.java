@@ -17,30 +17,51 @@
  */
 package org.apache.streampipes.manager.pipeline;
 
+import org.apache.streampipes.manager.execution.http.PipelineBulkExecutor;
+import org.apache.streampipes.manager.execution.http.PipelineExecutor;
 import org.apache.streampipes.manager.operations.Operations;
 import org.apache.streampipes.manager.storage.UserManagementService;
 import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
+import org.apache.streampipes.storage.couchdb.utils.Utils;
 import org.apache.streampipes.test.generator.pipeline.DummyPipelineGenerator;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.lightcouch.CouchDbClient;
+import org.lightcouch.Response;
+import org.mockito.ArgumentCaptor;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({
         UserManagementService.class,
         PipelineManager.class,
-        Operations.class})
+        Operations.class,
+        PipelineBulkExecutor.class,
+        Utils.class})
 public class TestPipelineManager {
 
+    private static final String PIPELINE_ID_1 = "pipeline1";
+    private static final String PIPELINE_ID_2 = "pipeline2";
+
     @Before
     public  void before() {
         PowerMockito.mockStatic(
@@ -96,6 +117,161 @@ public class TestPipelineManager {
         pipeline.getActions().forEach(sink -> assertEquals(username, sink.getCorrespondingUser()));
     }
 
+    @Test
+    public void testStartPipelinesWithPartialFailure() throws Exception {
+        // Prepare
+        Pipeline pipeline1 = makePipeline(PIPELINE_ID_1);
+        Pipeline pipeline2 = makePipeline(PIPELINE_ID_2);
+        prepareBulkOperation(pipeline1, pipeline2);
+        PipelineExecutor executor1 = mockExecutor(pipeline1);
+        PipelineExecutor executor2 = mockExecutor(pipeline2);
+        when(executor1.startPipeline()).thenReturn(getPipelineOperationStatus(pipeline1, true));
+        when(executor2.startPipeline()).thenReturn(getPipelineOperationStatus(pipeline2, false));
+        CouchDbClient couchDbClient = mockCouchDbClient(makeResponse(PIPELINE_ID_1, "2-rev", null));
+
+        // Test
+        List<PipelineOperationStatus> result = PipelineManager.startPipelines(Arrays.asList(PIPELINE_ID_1, PIPELINE_ID_2));
+
+        // Assertions
+        assertEquals(2, result.size());
+        assertTrue(result.get(0).isSuccess());
+        assertFalse(result.get(1).isSuccess());
+        assertTrue(pipeline1.isRunning());
+        assertFalse(pipeline2.isRunning());
+        assertEquals("2-rev", pipeline1.getRev());
+        assertEquals(Arrays.asList(pipeline1), captureBulkUpdate(couchDbClient));
+    }
+
+    @Test
+    public void testStartPipelinesWithFailedExecution() throws Exception {
+        // Prepare
+        Pipeline pipeline1 = makePipeline(PIPELINE_ID_1);
+        Pipeline pipeline2 = makePipeline(PIPELINE_ID_2);
+        prepareBulkOperation(pipeline1, pipeline2);
+        PipelineExecutor executor1 = mockExecutor(pipeline1);
+        PipelineExecutor executor2 = mockExecutor(pipeline2);
+        when(executor1.startPipeline()).thenThrow(new IllegalStateException("no service available"));
+        when(executor2.startPipeline()).thenReturn(getPipelineOperationStatus(pipeline2, true));
+        CouchDbClient couchDbClient = mockCouchDbClient(makeResponse(PIPELINE_ID_2, "2-rev", null));
+
+        // Test
+        List<PipelineOperationStatus> result = PipelineManager.startPipelines(Arrays.asList(PIPELINE_ID_1, PIPELINE_ID_2));
+
+        // Assertions
+        assertEquals(2, result.size());
+        assertFalse(result.get(0).isSuccess());
+        assertEquals(PIPELINE_ID_1, result.get(0).getPipelineId());
+        assertTrue(result.get(1).isSuccess());
+        assertEquals(Arrays.asList(pipeline2), captureBulkUpdate(couchDbClient));
+    }
+
+    @Test
+    public void testStopPipelinesWithBulkDocsConflict() throws Exception {
+        // Prepare
+        Pipeline pipeline1 = makePipeline(PIPELINE_ID_1);
+        Pipeline pipeline2 = makePipeline(PIPELINE_ID_2);
+        pipeline1.setRunning(true);
+        pipeline2.setRunning(true);
+        prepareBulkOperation(pipeline1, pipeline2);
+        PipelineExecutor executor1 = mockExecutor(pipeline1);
+        PipelineExecutor executor2 = mockExecutor(pipeline2);
+        when(executor1.stopPipeline()).thenReturn(getPipelineOperationStatus(pipeline1, true));
+        when(executor2.stopPipeline()).thenReturn(getPipelineOperationStatus(pipeline2, true));
+        CouchDbClient couchDbClient = mockCouchDbClient(
+                makeResponse(PIPELINE_ID_1, "2-rev", null),
+                makeResponse(PIPELINE_ID_2, null, "conflict"));
+
+        // Test
+        List<PipelineOperationStatus> result = PipelineManager.stopPipelines(Arrays.asList(PIPELINE_ID_1, PIPELINE_ID_2), false);
+
+        // Assertions
+        assertEquals(2, result.size());
+        assertTrue(result.get(0).isSuccess());
+        assertTrue(result.get(1).isSuccess());
+        assertFalse(pipeline1.isRunning());
+        assertFalse(pipeline2.isRunning());
+        assertEquals("2-rev", pipeline1.getRev());
+        assertEquals("1-rev", pipeline2.getRev());
+        assertEquals(Arrays.asList(pipeline1, pipeline2), captureBulkUpdate(couchDbClient));
+    }
+
+    @Test
+    public void testForceStopPipelinesWithPartialFailure() throws Exception {
+        // Prepare
+        Pipeline pipeline1 = makePipeline(PIPELINE_ID_1);
+        Pipeline pipeline2 = makePipeline(PIPELINE_ID_2);
+        pipeline1.setRunning(true);
+        pipeline2.setRunning(true);
+        prepareBulkOperation(pipeline1, pipeline2);
+        PipelineExecutor executor1 = mockExecutor(pipeline1);
+        PipelineExecutor executor2 = mockExecutor(pipeline2);
+        when(executor1.stopPipeline()).thenReturn(getPipelineOperationStatus(pipeline1, true));
+        when(executor2.stopPipeline()).thenReturn(getPipelineOperationStatus(pipeline2, false));
+        CouchDbClient couchDbClient = mockCouchDbClient(
+                makeResponse(PIPELINE_ID_1, "2-rev", null),
+                makeResponse(PIPELINE_ID_2, "2-rev", null));
+
+        // Test
+        List<PipelineOperationStatus> result = PipelineManager.stopPipelines(Arrays.asList(PIPELINE_ID_1, PIPELINE_ID_2), true);
+
+        // Assertions
+        assertTrue(result.get(0).isSuccess());
+        assertFalse(result.get(1).isSuccess());
+        assertFalse(pipeline2.isRunning());
+        assertEquals(Arrays.asList(pipeline1, pipeline2), captureBulkUpdate(couchDbClient));
+    }
+
+    private void prepareBulkOperation(Pipeline... pipelines) {
+        PowerMockito.stub(PowerMockito.method(PipelineManager.class, "getPipelines", List.class))
+                .toReturn(Arrays.asList(pipelines));
+        PowerMockito.stub(PowerMockito.method(PipelineBulkExecutor.class, "getParallelism")).toReturn(2);
+    }
+
+    private PipelineExecutor mockExecutor(Pipeline pipeline) throws Exception {
+        PipelineExecutor executor = PowerMockito.mock(PipelineExecutor.class);
+        PowerMockito.whenNew(PipelineExecutor.class)
+                .withArguments(eq(pipeline), eq(true), eq(false), eq(false), anyBoolean(), any())
+                .thenReturn(executor);
+        return executor;
+    }
+
+    private CouchDbClient mockCouchDbClient(Response... responses) {
+        CouchDbClient couchDbClient = PowerMockito.mock(CouchDbClient.class);
+        when(couchDbClient.bulk(anyList(), eq(true))).thenReturn(Arrays.asList(responses));
+        PowerMockito.mockStatic(Utils.class);
+        when(Utils.getCouchDbPipelineClient()).thenReturn(couchDbClient);
+        return couchDbClient;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> captureBulkUpdate(CouchDbClient couchDbClient) {
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(couchDbClient).bulk(captor.capture(), eq(true));
+        return captor.getValue();
+    }
+
+    private Response makeResponse(String id, String rev, String error) {
+        Response response = PowerMockito.mock(Response.class);
+        when(response.getId()).thenReturn(id);
+        when(response.getRev()).thenReturn(rev);
+        when(response.getError()).thenReturn(error);
+        return response;
+    }
+
+    private Pipeline makePipeline(String pipelineId) {
+        Pipeline pipeline = DummyPipelineGenerator.makePipelineWithPipelineName();
+        pipeline.setPipelineId(pipelineId);
+        pipeline.setRev("1-rev");
+        return pipeline;
+    }
+
+    private PipelineOperationStatus getPipelineOperationStatus(Pipeline pipeline, boolean success) {
+        PipelineOperationStatus status = new PipelineOperationStatus(pipeline.getPipelineId(),
+                pipeline.getName(), "", new ArrayList<>());
+        status.setSuccess(success);
+        return status;
+    }
+
     private PipelineOperationStatus getPipelineOperationStatus() {
         return new PipelineOperationStatus("", DummyPipelineGenerator.PIPELINE_NAME,"", new ArrayList<>());
     }
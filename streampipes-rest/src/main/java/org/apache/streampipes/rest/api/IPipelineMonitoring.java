@@ -22,4 +22,6 @@ import javax.ws.rs.core.Response;
 public interface IPipelineMonitoring {
   
   Response getPipelineMonitoringInfo(String pipelineId);
+
+  Response getHealthCheckMetrics();
 }
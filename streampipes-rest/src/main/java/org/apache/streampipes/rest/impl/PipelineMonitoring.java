@@ -17,6 +17,7 @@
  */
 package org.apache.streampipes.rest.impl;
 
+import org.apache.streampipes.manager.health.PipelineHealthCheck;
 import org.apache.streampipes.manager.monitoring.pipeline.PipelineExecutionStatusCollector;
 import org.apache.streampipes.rest.api.IPipelineMonitoring;
 import org.apache.streampipes.rest.core.base.impl.AbstractRestResource;
@@ -40,4 +41,16 @@ public class PipelineMonitoring extends AbstractRestResource implements IPipelin
   public Response getPipelineMonitoringInfo(@PathParam("pipelineId") String pipelineId) {
     return ok(new PipelineExecutionStatusCollector(pipelineId).makePipelineMonitoringInfo());
   }
+
+  @JacksonSerialized
+  @Path("health-check")
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @Override
+  public Response getHealthCheckMetrics() {
+    return PipelineHealthCheck
+            .getLastMetrics()
+            .map(this::ok)
+            .orElseGet(() -> Response.status(Response.Status.NO_CONTENT).build());
+  }
 }
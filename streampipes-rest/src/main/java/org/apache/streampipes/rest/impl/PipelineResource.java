@@ -45,6 +45,7 @@ import org.slf4j.LoggerFactory;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.util.List;
 
 @Path("/v2/pipelines")
 public class PipelineResource extends AbstractAuthGuardedRestResource {
@@ -143,6 +144,39 @@ public class PipelineResource extends AbstractAuthGuardedRestResource {
     }
   }
 
+  @Path("/bulk/start")
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @Consumes(MediaType.APPLICATION_JSON)
+  @JacksonSerialized
+  @Operation(summary = "Start all pipelines with the given ids",
+          tags = {"Pipeline"})
+  public Response startAll(List<String> pipelineIds) {
+    try {
+      return ok(PipelineManager.startPipelines(pipelineIds));
+    } catch (Exception e) {
+      e.printStackTrace();
+      return statusMessage(Notifications.error(NotificationType.UNKNOWN_ERROR));
+    }
+  }
+
+  @Path("/bulk/stop")
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @Consumes(MediaType.APPLICATION_JSON)
+  @JacksonSerialized
+  @Operation(summary = "Stop all pipelines with the given ids",
+          tags = {"Pipeline"})
+  public Response stopAll(List<String> pipelineIds,
+                          @QueryParam("forceStop") @DefaultValue("false") boolean forceStop) {
+    try {
+      return ok(PipelineManager.stopPipelines(pipelineIds, forceStop));
+    } catch (Exception e) {
+      e.printStackTrace();
+      return constructErrorMessage(new Notification(NotificationType.UNKNOWN_ERROR.title(), NotificationType.UNKNOWN_ERROR.description(), e.getMessage()));
+    }
+  }
+
   @POST
   @Produces(MediaType.APPLICATION_JSON)
   @JacksonSerialized
@@ -49,7 +49,17 @@ import java.net.URI;
 public class GsonSerializer {
 
   public static GsonBuilder getAdapterGsonBuilder() {
-    GsonBuilder builder = getGsonBuilder();
+    return registerAdapterSerializers(getGsonBuilder());
+  }
+
+  /**
+   * Same as {@link #getAdapterGsonBuilder()}, but without pretty printing.
+   */
+  public static GsonBuilder getCompactAdapterGsonBuilder() {
+    return registerAdapterSerializers(getCompactGsonBuilder());
+  }
+
+  private static GsonBuilder registerAdapterSerializers(GsonBuilder builder) {
     builder.registerTypeHierarchyAdapter(AdapterDescription.class, new AdapterSerializer());
     builder.registerTypeAdapter(TransformationRuleDescription.class, new JsonLdSerializer<TransformationRuleDescription>());
 //    builder.registerTypeHierarchyAdapter(TransformationRuleDescription.class, new AdapterSerializer());
@@ -66,6 +76,16 @@ public class GsonSerializer {
   }
 
   public static GsonBuilder getGsonBuilder() {
+    GsonBuilder builder = getCompactGsonBuilder();
+    builder.setPrettyPrinting();
+    return builder;
+  }
+
+  /**
+   * Returns a builder with all model type adapters registered, but without pretty printing, e.g.,
+   * for documents that are only read by machines.
+   */
+  public static GsonBuilder getCompactGsonBuilder() {
     GsonBuilder builder = new GsonBuilder();
     builder.registerTypeAdapter(EventProperty.class, new JsonLdSerializer<EventProperty>());
     builder.registerTypeAdapter(StaticProperty.class, new JsonLdSerializer<StaticProperty>());
@@ -108,7 +128,6 @@ public class GsonSerializer {
             .registerSubtype(GenericAdapterSetDescription.class, "org.apache.streampipes.model.connect.adapter.GenericAdapterSetDescription")
             .registerSubtype(GenericAdapterStreamDescription.class, "org.apache.streampipes.model.connect.adapter.GenericAdapterStreamDescription"));
 
-    builder.setPrettyPrinting();
     return builder;
   }
 
@@ -21,6 +21,8 @@ package org.apache.streampipes.svcdiscovery.api;
 import org.apache.streampipes.svcdiscovery.api.model.ConfigItem;
 import org.apache.streampipes.svcdiscovery.api.model.ConfigurationScope;
 
+import java.util.function.Consumer;
+
 public interface SpConfig {
 
     <T> void register(String key, T defaultValue, String description, ConfigurationScope configurationScope);
@@ -61,4 +63,9 @@ public interface SpConfig {
 
     void setObject(String key, Object value);
 
+    /**
+     * Registers a callback which receives the new value whenever the config item with the given key changes.
+     */
+    void addChangeListener(String key, Consumer<String> listener);
+
 }
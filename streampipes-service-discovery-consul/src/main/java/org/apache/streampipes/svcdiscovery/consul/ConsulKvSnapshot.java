@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.svcdiscovery.consul;
+
+import com.orbitz.consul.KeyValueClient;
+import com.orbitz.consul.cache.KVCache;
+import com.orbitz.consul.model.kv.Value;
+import org.apache.streampipes.svcdiscovery.api.model.ConfigItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Local snapshot of the Consul key/value subtree of a single service. The snapshot is loaded once
+ * and kept up to date with a Consul blocking query (watch), so that reads do not require an HTTP
+ * call. If Consul is temporarily unavailable, the last known values are kept.
+ */
+public class ConsulKvSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsulKvSnapshot.class);
+
+    private static final int WATCH_SECONDS = 30;
+
+    private static final Map<String, ConsulKvSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final String rootPath;
+    private final KeyValueClient kvClient;
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final Map<String, ConfigItem> configItems = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, String>> listeners = new CopyOnWriteArrayList<>();
+
+    private ConsulKvSnapshot(String rootPath, KeyValueClient kvClient) {
+        this.rootPath = rootPath;
+        this.kvClient = kvClient;
+    }
+
+    /**
+     * Returns the shared snapshot of the given root path, e.g., sp/v1/backend/.
+     */
+    public static ConsulKvSnapshot of(String rootPath, KeyValueClient kvClient) {
+        return snapshots.computeIfAbsent(rootPath, key -> {
+            ConsulKvSnapshot snapshot = new ConsulKvSnapshot(rootPath, kvClient);
+            snapshot.start();
+            return snapshot;
+        });
+    }
+
+    public Optional<String> get(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            // not (yet) part of the snapshot, e.g., registered by another service instance
+            Optional<String> remoteValue = kvClient.getValueAsString(rootPath + key);
+            remoteValue.ifPresent(v -> values.put(key, v));
+            return remoteValue;
+        }
+        return Optional.of(value);
+    }
+
+    /**
+     * Returns the config item stored under the given key; items are parsed once per change.
+     */
+    public Optional<ConfigItem> getConfigItem(String key, Function<String, ConfigItem> parser) {
+        ConfigItem configItem = configItems.get(key);
+        if (configItem == null) {
+            Optional<ConfigItem> parsedItem = get(key).map(parser);
+            parsedItem.ifPresent(item -> configItems.put(key, item));
+            return parsedItem;
+        }
+        return Optional.of(configItem);
+    }
+
+    public void put(String key, String value) {
+        kvClient.putValue(rootPath + key, value);
+        update(key, value);
+    }
+
+    /**
+     * Registers a listener which is called with key and new value whenever a value of this subtree
+     * changes, either locally or in Consul. The value is null if the key has been deleted in Consul.
+     */
+    public void addListener(BiConsumer<String, String> listener) {
+        this.listeners.add(listener);
+    }
+
+    private void start() {
+        try {
+            List<Value> initialValues = kvClient.getValues(rootPath);
+            if (initialValues != null) {
+                initialValues.forEach(v -> values.put(toKey(v), v.getValueAsString().orElse("")));
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Could not load configuration from Consul for {}", rootPath, e);
+        }
+
+        try {
+            KVCache cache = KVCache.newCache(kvClient, rootPath, WATCH_SECONDS);
+            cache.addListener(newValues -> replace(newValues.values()));
+            cache.start();
+        } catch (RuntimeException e) {
+            LOG.warn("Could not watch configuration in Consul for {}, changes will not be visible", rootPath, e);
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the complete subtree received from Consul, so that keys deleted in
+     * Consul are removed from the snapshot as well.
+     */
+    private void replace(Collection<Value> newValues) {
+        Map<String, String> receivedValues = new HashMap<>();
+        newValues.forEach(v -> receivedValues.put(toKey(v), v.getValueAsString().orElse("")));
+
+        values.keySet()
+                .stream()
+                .filter(key -> !receivedValues.containsKey(key))
+                .collect(Collectors.toList())
+                .forEach(this::remove);
+        receivedValues.forEach(this::update);
+    }
+
+    private void update(String key, String value) {
+        String previousValue = values.put(key, value);
+        configItems.remove(key);
+        if (!Objects.equals(previousValue, value)) {
+            notifyListeners(key, value);
+        }
+    }
+
+    private void remove(String key) {
+        configItems.remove(key);
+        if (values.remove(key) != null) {
+            notifyListeners(key, null);
+        }
+    }
+
+    private void notifyListeners(String key, String value) {
+        listeners.forEach(listener -> {
+            try {
+                listener.accept(key, value);
+            } catch (RuntimeException e) {
+                LOG.warn("Configuration change listener failed for key {}", key, e);
+            }
+        });
+    }
+
+    private String toKey(Value value) {
+        return value.getKey().startsWith(rootPath) ? value.getKey().substring(rootPath.length()) : value.getKey();
+    }
+}
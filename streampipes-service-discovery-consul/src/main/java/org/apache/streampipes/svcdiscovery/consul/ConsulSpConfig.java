@@ -29,8 +29,8 @@ import org.apache.streampipes.svcdiscovery.api.model.ConfigurationScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class ConsulSpConfig extends AbstractConsulService implements SpConfig {
 
@@ -39,16 +39,12 @@ public class ConsulSpConfig extends AbstractConsulService implements SpConfig {
     private static final String SLASH = "/";
     public static final String SERVICE_ROUTE_PREFIX = "sp/v1/";
 
-    private final String serviceName;
-    private final KeyValueClient kvClient;
-
-    // TODO Implement mechanism to update the client when some configuration parameters change in Consul
-    private Map<String, Object> configProps;
+    private final ConsulKvSnapshot snapshot;
 
     public ConsulSpConfig(String serviceName) {
         Consul consul = consulInstance();
-        this.kvClient = consul.keyValueClient();
-        this.serviceName = serviceName;
+        KeyValueClient kvClient = consul.keyValueClient();
+        this.snapshot = ConsulKvSnapshot.of(SERVICE_ROUTE_PREFIX + serviceName + SLASH, kvClient);
     }
 
     @Override
@@ -79,9 +75,9 @@ public class ConsulSpConfig extends AbstractConsulService implements SpConfig {
 
     @Override
     public void registerObject(String key, Object defaultValue, String description) {
-        Optional<String> i = kvClient.getValueAsString(addSn(key));
+        Optional<String> i = snapshot.get(key);
         if (!i.isPresent()) {
-            kvClient.putValue(addSn(key), toJson(defaultValue));
+            snapshot.put(key, toJson(defaultValue));
         }
     }
 
@@ -92,17 +88,17 @@ public class ConsulSpConfig extends AbstractConsulService implements SpConfig {
 
     @Override
     public void register(ConfigItem configItem) {
-        String key = addSn(configItem.getKey());
-        Optional<String> i = kvClient.getValueAsString(key);
+        String key = configItem.getKey();
+        Optional<String> i = snapshot.get(key);
 
         if (!i.isPresent()) {
             // Set the value of environment variable as default
             String envVariable = System.getenv(configItem.getKey());
             if (envVariable != null) {
                 configItem.setValue(envVariable);
-                kvClient.putValue(key, toJson(configItem));
+                snapshot.put(key, toJson(configItem));
             } else {
-                kvClient.putValue(key, toJson(configItem));
+                snapshot.put(key, toJson(configItem));
             }
         }
     }
@@ -110,10 +106,6 @@ public class ConsulSpConfig extends AbstractConsulService implements SpConfig {
     private void register(String key, String defaultValue, String valueType, String description, ConfigurationScope configurationScope, boolean isPassword) {
         ConfigItem configItem = ConfigItem.from(key, defaultValue, description, valueType, configurationScope, isPassword);
         register(configItem);
-
-        if (configProps != null) {
-            configProps.put(key, getString(key));
-        }
     }
 
     @Override
@@ -138,7 +130,7 @@ public class ConsulSpConfig extends AbstractConsulService implements SpConfig {
 
     @Override
     public <T> T getObject(String key, Class<T> clazz, T defaultValue) {
-        Optional<String> os = kvClient.getValueAsString(addSn(key));
+        Optional<String> os = snapshot.get(key);
         if (os.isPresent()) {
             try {
                 return JacksonSerializer.getObjectMapper().readValue(os.get(), clazz);
@@ -153,9 +145,18 @@ public class ConsulSpConfig extends AbstractConsulService implements SpConfig {
 
     @Override
     public ConfigItem getConfigItem(String key) {
-      Optional<String> os = kvClient.getValueAsString(addSn(key));
+      Optional<ConfigItem> os = snapshot.getConfigItem(key, this::fromJson);
 
-      return fromJson(os.get());
+      return os.get();
+    }
+
+    @Override
+    public void addChangeListener(String key, Consumer<String> listener) {
+        snapshot.addListener((changedKey, value) -> {
+            if (changedKey.equals(key) && value != null) {
+                listener.accept(fromJson(value).getValue());
+            }
+        });
     }
 
     @Override
@@ -175,16 +176,12 @@ public class ConsulSpConfig extends AbstractConsulService implements SpConfig {
 
     @Override
     public void setString(String key, String value) {
-        kvClient.putValue(addSn(key), value);
+        snapshot.put(key, value);
     }
 
     @Override
     public void setObject(String key, Object value) {
-        kvClient.putValue(addSn(key), toJson(value));
-    }
-
-    private String addSn(String key) {
-       return SERVICE_ROUTE_PREFIX + serviceName + SLASH + key;
+        snapshot.put(key, toJson(value));
     }
 
     private ConfigItem fromJson(String content) {
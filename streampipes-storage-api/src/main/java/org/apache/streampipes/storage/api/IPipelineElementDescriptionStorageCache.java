@@ -24,4 +24,9 @@ public interface IPipelineElementDescriptionStorageCache extends IPipelineElemen
   void refreshDataSinkCache();
 
   void refreshDataSourceCache();
+
+  /**
+   * @return a counter which changes whenever a cached description is added, updated or removed
+   */
+  long getCacheVersion();
 }
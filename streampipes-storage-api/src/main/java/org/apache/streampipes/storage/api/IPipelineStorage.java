@@ -35,6 +35,8 @@ public interface IPipelineStorage {
 
 	void updatePipeline(Pipeline pipeline);
 
+	void updatePipelines(List<Pipeline> pipelines);
+
 	Pipeline getPipeline(String pipelineId);
 
 	void deletePipeline(String pipelineId);
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.storage.couchdb.cache;
+
+import org.lightcouch.ChangesResult;
+import org.lightcouch.CouchDbClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Polls the CouchDB _changes feed of the watched databases and refreshes the affected entries of
+ * the corresponding {@link DescriptionIndex}. Required when several backend instances share one
+ * CouchDB, as changes made by other instances would not be visible in the local cache otherwise.
+ */
+public class ChangesFeedWatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ChangesFeedWatcher.class);
+
+  private static final String DESIGN_DOC_PREFIX = "_design/";
+
+  private final List<WatchedDatabase> databases = new ArrayList<>();
+  private final ScheduledExecutorService executorService;
+
+  public ChangesFeedWatcher() {
+    this.executorService = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "sp-couchdb-changes-watcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public ChangesFeedWatcher watch(Supplier<CouchDbClient> clientSupplier,
+                                  DescriptionIndex<?> index) {
+    this.databases.add(new WatchedDatabase(clientSupplier, index));
+    return this;
+  }
+
+  public void start(int intervalSeconds) {
+    databases.forEach(WatchedDatabase::initSequence);
+    executorService.scheduleWithFixedDelay(this::poll, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+  }
+
+  private void poll() {
+    for (WatchedDatabase database : databases) {
+      try {
+        database.applyChanges();
+      } catch (RuntimeException e) {
+        LOG.warn("Could not read changes feed, invalidating cache", e);
+        database.index.invalidate();
+      }
+    }
+  }
+
+  private static class WatchedDatabase {
+
+    private final Supplier<CouchDbClient> clientSupplier;
+    private final DescriptionIndex<?> index;
+    private String lastSeq;
+
+    WatchedDatabase(Supplier<CouchDbClient> clientSupplier, DescriptionIndex<?> index) {
+      this.clientSupplier = clientSupplier;
+      this.index = index;
+    }
+
+    void initSequence() {
+      try {
+        this.lastSeq = clientSupplier.get().context().info().getUpdateSeq();
+      } catch (RuntimeException e) {
+        LOG.warn("Could not read update sequence, reading changes from the beginning", e);
+      }
+    }
+
+    void applyChanges() {
+      ChangesResult changes = lastSeq != null
+              ? clientSupplier.get().changes().since(lastSeq).getChanges()
+              : clientSupplier.get().changes().getChanges();
+
+      for (ChangesResult.Row row : changes.getResults()) {
+        if (row.getId().startsWith(DESIGN_DOC_PREFIX)) {
+          continue;
+        }
+        if (row.isDeleted()) {
+          index.remove(row.getId());
+        } else {
+          index.refresh(row.getId());
+        }
+      }
+      this.lastSeq = changes.getLastSeq();
+    }
+  }
+}
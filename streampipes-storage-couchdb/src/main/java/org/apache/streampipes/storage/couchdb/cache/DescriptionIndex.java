@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.storage.couchdb.cache;
+
+import org.apache.streampipes.model.base.NamedStreamPipesEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of pipeline element descriptions of one type by elementId and appId.
+ * The index is loaded from the underlying storage on first access; callers always receive copies,
+ * so that cached descriptions cannot be modified from outside.
+ */
+public class DescriptionIndex<T extends NamedStreamPipesEntity> {
+
+  private final Supplier<List<T>> loader;
+  private final Function<String, T> finder;
+  private final UnaryOperator<T> copier;
+
+  private final Map<String, T> byElementId = new ConcurrentHashMap<>();
+  private final Map<String, T> byAppId = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong();
+  private volatile boolean loaded = false;
+
+  public DescriptionIndex(Supplier<List<T>> loader,
+                          Function<String, T> finder,
+                          UnaryOperator<T> copier) {
+    this.loader = loader;
+    this.finder = finder;
+    this.copier = copier;
+  }
+
+  public T getByElementId(String elementId) {
+    ensureLoaded();
+    return copy(byElementId.get(elementId));
+  }
+
+  public T getByAppId(String appId) {
+    ensureLoaded();
+    return copy(byAppId.get(appId));
+  }
+
+  public boolean contains(String elementId) {
+    ensureLoaded();
+    return byElementId.containsKey(elementId);
+  }
+
+  public List<T> getAll() {
+    ensureLoaded();
+    return byElementId
+            .values()
+            .stream()
+            .map(copier)
+            .collect(Collectors.toList());
+  }
+
+  /**
+   * @return a counter which changes whenever the indexed descriptions may have changed
+   */
+  public long getVersion() {
+    return version.get();
+  }
+
+  /**
+   * Re-reads a single description from the storage, e.g., after it has been created, updated or
+   * deleted.
+   */
+  public void refresh(String elementId) {
+    if (loaded) {
+      T element = finder.apply(elementId);
+      synchronized (this) {
+        if (element != null) {
+          put(element);
+        } else {
+          remove(elementId);
+        }
+      }
+    }
+  }
+
+  public synchronized void remove(String elementId) {
+    version.incrementAndGet();
+    T existing = byElementId.remove(elementId);
+    if (existing != null && existing.getAppId() != null) {
+      byAppId.remove(existing.getAppId(), existing);
+    }
+  }
+
+  /**
+   * Drops all entries, the index is loaded again on next access.
+   */
+  public synchronized void invalidate() {
+    version.incrementAndGet();
+    loaded = false;
+    byElementId.clear();
+    byAppId.clear();
+  }
+
+  private void ensureLoaded() {
+    if (!loaded) {
+      synchronized (this) {
+        if (!loaded) {
+          loader.get().forEach(this::put);
+          loaded = true;
+        }
+      }
+    }
+  }
+
+  private void put(T element) {
+    remove(element.getElementId());
+    byElementId.put(element.getElementId(), element);
+    if (element.getAppId() != null) {
+      byAppId.put(element.getAppId(), element);
+    }
+  }
+
+  private T copy(T element) {
+    return element != null ? copier.apply(element) : null;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.storage.couchdb.cache;
+
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.graph.DataProcessorDescription;
+import org.apache.streampipes.model.graph.DataSinkDescription;
+import org.apache.streampipes.model.util.Cloner;
+import org.apache.streampipes.storage.api.IDataProcessorStorage;
+import org.apache.streampipes.storage.api.IDataSinkStorage;
+import org.apache.streampipes.storage.api.IDataStreamStorage;
+import org.apache.streampipes.storage.couchdb.impl.DataProcessorStorageImpl;
+import org.apache.streampipes.storage.couchdb.impl.DataSinkStorageImpl;
+import org.apache.streampipes.storage.couchdb.impl.DataStreamStorageImpl;
+import org.apache.streampipes.storage.couchdb.utils.CouchDbConfig;
+import org.apache.streampipes.storage.couchdb.utils.Utils;
+
+/**
+ * Process-wide cache of all installed data streams, data processors and data sinks.
+ */
+public enum PipelineElementDescriptionCache {
+
+  INSTANCE;
+
+  private final DescriptionIndex<DataProcessorDescription> dataProcessors;
+  private final DescriptionIndex<DataSinkDescription> dataSinks;
+  private final DescriptionIndex<SpDataStream> dataStreams;
+
+  PipelineElementDescriptionCache() {
+    IDataProcessorStorage dataProcessorStorage = new DataProcessorStorageImpl();
+    IDataSinkStorage dataSinkStorage = new DataSinkStorageImpl();
+    IDataStreamStorage dataStreamStorage = new DataStreamStorageImpl();
+
+    this.dataProcessors = new DescriptionIndex<>(dataProcessorStorage::getAll,
+            dataProcessorStorage::getElementById, DataProcessorDescription::new);
+    this.dataSinks = new DescriptionIndex<>(dataSinkStorage::getAll,
+            dataSinkStorage::getElementById, DataSinkDescription::new);
+    this.dataStreams = new DescriptionIndex<>(dataStreamStorage::getAll,
+            dataStreamStorage::getElementById, stream -> new Cloner().mapSequence(stream));
+
+    int syncInterval = CouchDbConfig.INSTANCE.getCacheSyncInterval();
+    if (syncInterval > 0) {
+      new ChangesFeedWatcher()
+              .watch(Utils::getCouchDbDataProcessorDescriptionClient, dataProcessors)
+              .watch(Utils::getCouchDbDataSinkDescriptionClient, dataSinks)
+              .watch(Utils::getCouchDbDataStreamDescriptionClient, dataStreams)
+              .start(syncInterval);
+    }
+  }
+
+  public DescriptionIndex<DataProcessorDescription> getDataProcessors() {
+    return dataProcessors;
+  }
+
+  public DescriptionIndex<DataSinkDescription> getDataSinks() {
+    return dataSinks;
+  }
+
+  public DescriptionIndex<SpDataStream> getDataStreams() {
+    return dataStreams;
+  }
+}
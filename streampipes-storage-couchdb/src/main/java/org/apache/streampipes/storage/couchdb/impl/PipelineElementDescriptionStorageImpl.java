@@ -26,6 +26,8 @@ import org.apache.streampipes.storage.api.IDataProcessorStorage;
 import org.apache.streampipes.storage.api.IDataSinkStorage;
 import org.apache.streampipes.storage.api.IDataStreamStorage;
 import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorageCache;
+import org.apache.streampipes.storage.couchdb.cache.DescriptionIndex;
+import org.apache.streampipes.storage.couchdb.cache.PipelineElementDescriptionCache;
 
 import java.net.URI;
 import java.util.List;
@@ -36,10 +38,17 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
   private IDataStreamStorage dataStreamStorage;
   private IDataSinkStorage dataSinkStorage;
 
+  private DescriptionIndex<DataProcessorDescription> dataProcessorCache;
+  private DescriptionIndex<SpDataStream> dataStreamCache;
+  private DescriptionIndex<DataSinkDescription> dataSinkCache;
+
   public PipelineElementDescriptionStorageImpl() {
     this.dataProcessorStorage = new DataProcessorStorageImpl();
     this.dataStreamStorage = new DataStreamStorageImpl();
     this.dataSinkStorage = new DataSinkStorageImpl();
+    this.dataProcessorCache = PipelineElementDescriptionCache.INSTANCE.getDataProcessors();
+    this.dataStreamCache = PipelineElementDescriptionCache.INSTANCE.getDataStreams();
+    this.dataSinkCache = PipelineElementDescriptionCache.INSTANCE.getDataSinks();
   }
 
   @Override
@@ -51,6 +60,7 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
   @Override
   public boolean storeDataStream(SpDataStream stream) {
     this.dataStreamStorage.createElement(stream);
+    this.dataStreamCache.refresh(stream.getElementId());
     return true;
   }
 
@@ -62,6 +72,7 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
   @Override
   public boolean storeDataProcessor(DataProcessorDescription processorDescription) {
     this.dataProcessorStorage.createElement(processorDescription);
+    this.dataProcessorCache.refresh(processorDescription.getElementId());
     return true;
   }
 
@@ -78,17 +89,17 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
 
   @Override
   public SpDataStream getDataStreamByAppId(String appId) {
-    return this.dataStreamStorage.getDataStreamByAppId(appId);
+    return orThrow(this.dataStreamCache.getByAppId(appId));
   }
 
   @Override
   public SpDataStream getDataStreamById(String rdfId) {
-    return this.dataStreamStorage.getElementById(rdfId);
+    return this.dataStreamCache.getByElementId(rdfId);
   }
 
   @Override
   public DataProcessorDescription getDataProcessorById(String rdfId) {
-    return new DataProcessorStorageImpl().getElementById(rdfId);
+    return this.dataProcessorCache.getByElementId(rdfId);
   }
 
   @Override
@@ -98,12 +109,12 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
 
   @Override
   public DataProcessorDescription getDataProcessorByAppId(String appId) {
-    return this.dataProcessorStorage.getDataProcessorByAppId(appId);
+    return orThrow(this.dataProcessorCache.getByAppId(appId));
   }
 
   @Override
   public DataSinkDescription getDataSinkById(String rdfId) {
-    return this.dataSinkStorage.getElementById(rdfId);
+    return this.dataSinkCache.getByElementId(rdfId);
   }
 
   @Override
@@ -113,22 +124,23 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
 
   @Override
   public DataSinkDescription getDataSinkByAppId(String appId) {
-    return this.dataSinkStorage.getDataSinkByAppId(appId);
+    return orThrow(this.dataSinkCache.getByAppId(appId));
   }
 
   @Override
   public List<SpDataStream> getAllDataStreams() {
-    return this.dataStreamStorage.getAll();
+    return this.dataStreamCache.getAll();
   }
 
   @Override
   public List<DataProcessorDescription> getAllDataProcessors() {
-    return this.dataProcessorStorage.getAll();
+    return this.dataProcessorCache.getAll();
   }
 
   @Override
   public boolean deleteDataStream(SpDataStream sep) {
     this.dataStreamStorage.deleteElement(sep);
+    this.dataStreamCache.remove(sep.getElementId());
     return true;
   }
 
@@ -140,6 +152,7 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
   @Override
   public boolean deleteDataProcessor(DataProcessorDescription processorDescription) {
     this.dataProcessorStorage.deleteElement(processorDescription);
+    this.dataProcessorCache.remove(processorDescription.getElementId());
     return true;
   }
 
@@ -150,55 +163,59 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
 
   @Override
   public boolean exists(SpDataStream stream) {
-    return getEventStreamById(stream.getElementId()) != null;
+    return this.dataStreamCache.contains(stream.getElementId());
   }
 
   @Override
   public boolean exists(DataProcessorDescription processorDescription) {
-    return getDataProcessorById(processorDescription.getElementId()) != null;
+    return this.dataProcessorCache.contains(processorDescription.getElementId());
   }
 
   @Override
   public boolean existsDataProcessor(String elementId) {
-    return getDataProcessorById(elementId) != null;
+    return this.dataProcessorCache.contains(elementId);
   }
 
   @Override
   public boolean existsDataStream(String elementId) {
-    return getDataStreamById(elementId) != null;
+    return this.dataStreamCache.contains(elementId);
   }
 
   @Override
   public boolean existsDataSink(String elementId) {
-    return getDataSinkById(elementId) != null;
+    return this.dataSinkCache.contains(elementId);
   }
 
   @Override
   public boolean update(SpDataStream stream) {
     this.dataStreamStorage.updateElement(stream);
+    this.dataStreamCache.refresh(stream.getElementId());
     return true;
   }
 
   @Override
   public boolean update(DataProcessorDescription processorDescription) {
     this.dataProcessorStorage.updateElement(processorDescription);
+    this.dataProcessorCache.refresh(processorDescription.getElementId());
     return true;
   }
 
   @Override
   public boolean exists(DataSinkDescription sec) {
-    return getDataSinkById(sec.getElementId()) != null;
+    return this.dataSinkCache.contains(sec.getElementId());
   }
 
   @Override
   public boolean update(DataSinkDescription sec) {
     this.dataSinkStorage.updateElement(sec);
+    this.dataSinkCache.refresh(sec.getElementId());
     return true;
   }
 
   @Override
   public boolean deleteDataSink(DataSinkDescription sec) {
     this.dataSinkStorage.deleteElement(sec);
+    this.dataSinkCache.remove(sec.getElementId());
     return true;
   }
 
@@ -210,12 +227,13 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
   @Override
   public boolean storeDataSink(DataSinkDescription sec) {
     this.dataSinkStorage.createElement(sec);
+    this.dataSinkCache.refresh(sec.getElementId());
     return true;
   }
 
   @Override
   public List<DataSinkDescription> getAllDataSinks() {
-    return this.dataSinkStorage.getAll();
+    return this.dataSinkCache.getAll();
   }
 
   @Override
@@ -226,21 +244,35 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
 
   @Override
   public SpDataStream getEventStreamById(String rdfId) {
-    return dataStreamStorage.getElementById(rdfId);
+    return getDataStreamById(rdfId);
   }
 
   @Override
   public void refreshDataProcessorCache() {
-    // TODO no longer needed
+    this.dataProcessorCache.invalidate();
   }
 
   @Override
   public void refreshDataSinkCache() {
-    // TODO no longer needed
+    this.dataSinkCache.invalidate();
   }
 
   @Override
   public void refreshDataSourceCache() {
-    // TODO no longer needed
+    this.dataStreamCache.invalidate();
+  }
+
+  @Override
+  public long getCacheVersion() {
+    return dataProcessorCache.getVersion()
+            + dataSinkCache.getVersion()
+            + dataStreamCache.getVersion();
+  }
+
+  private <T> T orThrow(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException();
+    }
+    return element;
   }
 }
@@ -29,6 +29,7 @@ import org.apache.streampipes.storage.couchdb.utils.Utils;
 
 import org.apache.shiro.SecurityUtils;
 import org.lightcouch.CouchDbClient;
+import org.lightcouch.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -88,6 +89,22 @@ public class PipelineStorageImpl extends AbstractDao<Pipeline> implements IPipel
         update(pipeline);
     }
 
+    @Override
+    public void updatePipelines(List<Pipeline> pipelines) {
+        if (pipelines.isEmpty()) {
+            return;
+        }
+        List<Response> responses = couchDbClientSupplier.get().bulk(pipelines, true);
+        for (int i = 0; i < responses.size(); i++) {
+            Response response = responses.get(i);
+            if (response.getError() != null) {
+                LOG.warn("Could not update pipeline {}: {}", response.getId(), response.getError());
+            } else {
+                pipelines.get(i).setRev(response.getRev());
+            }
+        }
+    }
+
     @Override
     public Pipeline getPipeline(String pipelineId) {
         return findWithNullIfEmpty(pipelineId);
@@ -107,7 +124,6 @@ public class PipelineStorageImpl extends AbstractDao<Pipeline> implements IPipel
     public void storeVirtualSensor(String username, VirtualSensor virtualSensor) {
         CouchDbClient couchDbClient = couchDbClientSupplier.get();
         couchDbClient.save(virtualSensor);
-        couchDbClient.shutdown();
     }
 
     @Override
@@ -116,7 +132,6 @@ public class PipelineStorageImpl extends AbstractDao<Pipeline> implements IPipel
         List<VirtualSensor> virtualSensors = couchDbClient.view("_all_docs")
                 .includeDocs(true)
                 .query(VirtualSensor.class);
-        couchDbClient.shutdown();
         return virtualSensors;
     }
 
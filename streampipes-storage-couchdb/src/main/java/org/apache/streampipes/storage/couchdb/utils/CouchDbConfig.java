@@ -29,12 +29,16 @@ public enum CouchDbConfig {
     private final static String COUCHDB_HOST = "SP_COUCHDB_HOST";
     private final static String COUCHDB_PORT = "SP_COUCHDB_PORT";
     private final static String PROTOCOL = "PROTOCOL";
+    private final static String COUCHDB_MAX_CONNECTIONS = "SP_COUCHDB_MAX_CONNECTIONS";
+    private final static String COUCHDB_CACHE_SYNC_INTERVAL = "SP_COUCHDB_CACHE_SYNC_INTERVAL";
 
     CouchDbConfig() {
         config = SpServiceDiscovery.getSpConfig("storage/couchdb");
         config.register(COUCHDB_HOST, "couchdb", "Hostname for the couch db service");
         config.register(COUCHDB_PORT, 5984, "Port for the couch db service");
         config.register(PROTOCOL, "http", "Protocol the couch db service");
+        config.register(COUCHDB_MAX_CONNECTIONS, 100, "Maximum number of pooled connections per couch db database");
+        config.register(COUCHDB_CACHE_SYNC_INTERVAL, 0, "Interval in seconds to sync cached pipeline element descriptions with the couch db changes feed (0 = disabled)");
     }
 
     public String getHost() {
@@ -49,6 +53,14 @@ public enum CouchDbConfig {
         return config.getString(PROTOCOL);
     }
 
+    public int getMaxConnections() {
+        return config.getInteger(COUCHDB_MAX_CONNECTIONS);
+    }
+
+    public int getCacheSyncInterval() {
+        return config.getInteger(COUCHDB_CACHE_SYNC_INTERVAL);
+    }
+
     public void setHost(String host) {
         config.setString(COUCHDB_HOST, host);
     }
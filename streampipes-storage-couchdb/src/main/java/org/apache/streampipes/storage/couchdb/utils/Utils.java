@@ -18,12 +18,24 @@
 
 package org.apache.streampipes.storage.couchdb.utils;
 
+import com.google.gson.GsonBuilder;
 import org.lightcouch.CouchDbClient;
 import org.lightcouch.CouchDbProperties;
 import org.apache.streampipes.serializers.json.GsonSerializer;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Provides the CouchDB clients of all databases. Clients are thread-safe and hold their own HTTP
+ * connection pool, so one client per database and serializer is created lazily and shared for the
+ * lifetime of the process. Callers must not shut down the returned clients.
+ */
 public class Utils {
 
+  private static final Map<String, CouchDbClient> clients = new ConcurrentHashMap<>();
+
   public static CouchDbClient getCouchDbDataProcessorDescriptionClient() {
     return getCouchDbGsonClient("data-processor");
   }
@@ -94,8 +106,7 @@ public class Utils {
 
   //TODO: Remove??
   public static CouchDbClient getCouchDbRdfEndpointClient() {
-    CouchDbClient dbClient = new CouchDbClient(props("rdfendpoint"));
-    return dbClient;
+    return getCouchDbStandardSerializerClient("rdfendpoint");
   }
 
   public static CouchDbClient getCouchDbDataExplorerDashboardClient() {
@@ -151,27 +162,45 @@ public class Utils {
   }
 
   private static CouchDbClient getCouchDbGsonClient(String dbname) {
-    CouchDbClient dbClient = new CouchDbClient(props(dbname));
-    dbClient.setGsonBuilder(GsonSerializer.getGsonBuilder());
-    return dbClient;
+    return getOrCreateClient("gson", dbname, GsonSerializer::getCompactGsonBuilder);
   }
 
   private static CouchDbClient getCouchDbAdapterClient(String dbname) {
-    CouchDbClient dbClient = new CouchDbClient(props(dbname));
-    dbClient.setGsonBuilder(GsonSerializer.getAdapterGsonBuilder());
-    return dbClient;
+    return getOrCreateClient("adapter", dbname, GsonSerializer::getCompactAdapterGsonBuilder);
   }
 
   private static CouchDbClient getCouchDbStandardSerializerClient(String dbname) {
-    return new CouchDbClient(props(dbname));
+    return getOrCreateClient("standard", dbname, null);
   }
 
   public static CouchDbClient getCoucbDbClient(String table) {
-    return new CouchDbClient(props(table));
+    return getCouchDbStandardSerializerClient(table);
+  }
+
+  /**
+   * Shuts down all cached clients, e.g., on application shutdown.
+   */
+  public static void shutdownClients() {
+    clients.values().forEach(CouchDbClient::shutdown);
+    clients.clear();
+  }
+
+  private static CouchDbClient getOrCreateClient(String serializer,
+                                                 String dbname,
+                                                 Supplier<GsonBuilder> gsonBuilder) {
+    return clients.computeIfAbsent(serializer + ":" + dbname, key -> {
+      CouchDbClient dbClient = new CouchDbClient(props(dbname));
+      if (gsonBuilder != null) {
+        dbClient.setGsonBuilder(gsonBuilder.get());
+      }
+      return dbClient;
+    });
   }
 
   private static CouchDbProperties props(String dbname) {
-    return new CouchDbProperties(dbname, true, CouchDbConfig.INSTANCE.getProtocol(),
+    CouchDbProperties props = new CouchDbProperties(dbname, true, CouchDbConfig.INSTANCE.getProtocol(),
             CouchDbConfig.INSTANCE.getHost(), CouchDbConfig.INSTANCE.getPort(), null, null);
+    props.setMaxConnections(CouchDbConfig.INSTANCE.getMaxConnections());
+    return props;
   }
 }
@@ -26,13 +26,14 @@ import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
 import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
 
 public class ProtocolManager {
 
-  public static Map<String, StandaloneSpInputCollector> consumers = new HashMap<>();
-  public static Map<String, StandaloneSpOutputCollector> producers = new HashMap<>();
+  public static Map<String, StandaloneSpInputCollector> consumers = new ConcurrentHashMap<>();
+  public static Map<String, StandaloneSpOutputCollector> producers = new ConcurrentHashMap<>();
 
   private static final Logger LOG = LoggerFactory.getLogger(ProtocolManager.class);
 
@@ -43,59 +44,140 @@ public class ProtocolManager {
   public static <T extends TransportProtocol> StandaloneSpInputCollector findInputCollector(T protocol,
                                                                                             TransportFormat format,
                                                                                             Boolean singletonEngine) throws SpRuntimeException {
-
-    if (consumers.containsKey(topicName(protocol))) {
-      return consumers.get(topicName(protocol));
-    } else {
-      consumers.put(topicName(protocol), makeInputCollector(protocol, format, singletonEngine));
-      LOG.info("Adding new consumer to consumer map (size=" + consumers.size() + "): " + topicName(protocol));
-      return consumers.get(topicName(protocol));
+    try {
+      return consumers.computeIfAbsent(topicName(protocol), topic -> {
+        LOG.info("Adding new consumer to consumer map (size=" + (consumers.size() + 1) + "): " + topic);
+        return makeInputCollector(protocol, format, singletonEngine);
+      });
+    } catch (CollectorCreationException e) {
+      throw e.getCause();
     }
-
   }
 
   public static <T extends TransportProtocol> StandaloneSpOutputCollector findOutputCollector(T protocol,
                                                                                               TransportFormat format) throws SpRuntimeException {
-
-    if (producers.containsKey(topicName(protocol))) {
-      return producers.get(topicName(protocol));
-    } else {
-      producers.put(topicName(protocol), makeOutputCollector(protocol, format));
-      LOG.info("Adding new producer to producer map (size=" + producers.size() + "): " + topicName
-              (protocol));
-      return producers.get(topicName(protocol));
+    try {
+      return producers.computeIfAbsent(topicName(protocol), topic -> {
+        LOG.info("Adding new producer to producer map (size=" + (producers.size() + 1) + "): " + topic);
+        return makeOutputCollector(protocol, format);
+      });
+    } catch (CollectorCreationException e) {
+      throw e.getCause();
     }
-
   }
 
   private static <T extends TransportProtocol> StandaloneSpInputCollector<T> makeInputCollector(T protocol,
                                                                                                 TransportFormat format,
-                                                                                                Boolean singletonEngine) throws SpRuntimeException {
-    return new StandaloneSpInputCollector<>(protocol, format, singletonEngine);
+                                                                                                Boolean singletonEngine) {
+    try {
+      return new StandaloneSpInputCollector<>(protocol, format, singletonEngine);
+    } catch (SpRuntimeException e) {
+      throw new CollectorCreationException(e);
+    }
   }
 
   public static <T extends TransportProtocol> StandaloneSpOutputCollector<T> makeOutputCollector(T protocol,
-                                                                                                 TransportFormat format) throws SpRuntimeException {
-    return new StandaloneSpOutputCollector<>(protocol, format);
+                                                                                                 TransportFormat format) {
+    try {
+      return new StandaloneSpOutputCollector<>(protocol, format);
+    } catch (SpRuntimeException e) {
+      throw new CollectorCreationException(e);
+    }
   }
 
   private static String topicName(TransportProtocol protocol) {
     return protocol.getTopicDefinition().getActualTopicName();
   }
 
-  public static <T extends TransportProtocol> void removeInputCollector(T protocol) throws
-          SpRuntimeException {
-    consumers.remove(topicName(protocol));
-    LOG.info("Removing consumer from consumer map (size=" + consumers.size() + "): " + topicName
-            (protocol));
+  /**
+   * Counts a connect call of a pipeline element using the input collector. The count is updated
+   * under the lock of the topic's map entry, so that it can not interleave with a concurrent
+   * release removing the collector. A collector which has been removed in the meantime is
+   * registered again.
+   *
+   * @return true if this is the first user, i.e., the underlying protocol needs to be connected.
+   */
+  public static <T extends TransportProtocol> boolean acquireInputCollector(T protocol,
+                                                                           StandaloneSpInputCollector<T> collector,
+                                                                           BooleanSupplier acquire) {
+    return acquire(consumers, topicName(protocol), collector, acquire);
   }
 
-  public static <T extends TransportProtocol> void removeOutputCollector(T protocol) throws
-          SpRuntimeException {
-    producers.remove(topicName(protocol));
-    LOG.info("Removing producer from producer map (size=" + producers.size() + "): " + topicName
-            (protocol));
+  /**
+   * Counts a disconnect call of a pipeline element using the input collector and removes the
+   * collector once it is no longer used, see {@link #acquireInputCollector}.
+   *
+   * @return true if this was the last user, i.e., the underlying protocol needs to be disconnected.
+   */
+  public static <T extends TransportProtocol> boolean releaseInputCollector(T protocol,
+                                                                           StandaloneSpInputCollector<T> collector,
+                                                                           BooleanSupplier release,
+                                                                           BooleanSupplier unused) {
+    boolean lastUser = release(consumers, topicName(protocol), collector, release, unused);
+    if (lastUser) {
+      LOG.info("Disconnecting input collector of topic " + topicName(protocol) + " ("
+              + collector.getMetrics() + ")");
+    }
+    return lastUser;
   }
 
+  public static <T extends TransportProtocol> boolean acquireOutputCollector(T protocol,
+                                                                            StandaloneSpOutputCollector<T> collector,
+                                                                            BooleanSupplier acquire) {
+    return acquire(producers, topicName(protocol), collector, acquire);
+  }
+
+  public static <T extends TransportProtocol> boolean releaseOutputCollector(T protocol,
+                                                                            StandaloneSpOutputCollector<T> collector,
+                                                                            BooleanSupplier release,
+                                                                            BooleanSupplier unused) {
+    return release(producers, topicName(protocol), collector, release, unused);
+  }
 
+  private static <C> boolean acquire(Map<String, C> collectors,
+                                     String topic,
+                                     C collector,
+                                     BooleanSupplier acquire) {
+    boolean[] firstUser = new boolean[1];
+    collectors.compute(topic, (key, current) -> {
+      if (current != null && current != collector) {
+        LOG.warn("Connecting collector of topic " + topic + " which has been replaced by another collector");
+      }
+      firstUser[0] = acquire.getAsBoolean();
+      return current != null ? current : collector;
+    });
+    return firstUser[0];
+  }
+
+  private static <C> boolean release(Map<String, C> collectors,
+                                     String topic,
+                                     C collector,
+                                     BooleanSupplier release,
+                                     BooleanSupplier unused) {
+    boolean[] lastUser = new boolean[1];
+    collectors.compute(topic, (key, current) -> {
+      lastUser[0] = release.getAsBoolean();
+      if (current == collector && unused.getAsBoolean()) {
+        LOG.info("Removing collector from collector map (size=" + (collectors.size() - 1) + "): " + topic);
+        return null;
+      }
+      return current;
+    });
+    return lastUser[0];
+  }
+
+  /**
+   * Transports the checked exception thrown while creating a collector out of computeIfAbsent.
+   */
+  private static class CollectorCreationException extends RuntimeException {
+
+    CollectorCreationException(SpRuntimeException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized SpRuntimeException getCause() {
+      return (SpRuntimeException) super.getCause();
+    }
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts messages received by an input collector, how often they were decoded and how many
+ * events were delivered to the registered pipeline elements. The fan-out factor is the average
+ * number of pipeline elements a message is delivered to.
+ */
+public class InputCollectorMetrics {
+
+  private final LongAdder receivedMessages = new LongAdder();
+  private final LongAdder decodedMessages = new LongAdder();
+  private final LongAdder deliveredEvents = new LongAdder();
+
+  void onMessage(int decodings, int deliveries) {
+    receivedMessages.increment();
+    decodedMessages.add(decodings);
+    deliveredEvents.add(deliveries);
+  }
+
+  public long getReceivedMessages() {
+    return receivedMessages.sum();
+  }
+
+  public long getDecodedMessages() {
+    return decodedMessages.sum();
+  }
+
+  public long getDeliveredEvents() {
+    return deliveredEvents.sum();
+  }
+
+  public double getFanOutFactor() {
+    long received = getReceivedMessages();
+    return received > 0 ? (double) getDeliveredEvents() / received : 0.0;
+  }
+
+  /**
+   * @return the number of deserializations saved by decoding shared messages only once.
+   */
+  public long getSavedDecodings() {
+    return getDeliveredEvents() - getDecodedMessages();
+  }
+
+  @Override
+  public String toString() {
+    return "received=" + getReceivedMessages()
+            + ", decoded=" + getDecodedMessages()
+            + ", delivered=" + getDeliveredEvents()
+            + ", fanOut=" + String.format("%.2f", getFanOutFactor());
+  }
+}
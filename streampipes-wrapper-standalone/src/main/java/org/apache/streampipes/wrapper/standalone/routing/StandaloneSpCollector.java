@@ -41,6 +41,7 @@ public abstract class StandaloneSpCollector<T extends TransportProtocol, C> impl
   protected SpDataFormatDefinition dataFormatDefinition;
   protected String topic;
 
+  private int connectionCount;
 
   public StandaloneSpCollector(T protocol, TransportFormat format) throws SpRuntimeException {
     this.transportProtocol = protocol;
@@ -61,4 +62,34 @@ public abstract class StandaloneSpCollector<T extends TransportProtocol, C> impl
     consumers.remove(routeId);
   }
 
+  /**
+   * Counts a connect call of a pipeline element using this collector.
+   *
+   * @return true if this is the first user, i.e., the underlying protocol needs to be connected.
+   */
+  protected synchronized boolean acquire() {
+    return connectionCount++ == 0;
+  }
+
+  /**
+   * Counts a disconnect call of a pipeline element using this collector.
+   *
+   * @return true if this was the last user, i.e., the underlying protocol needs to be disconnected.
+   */
+  protected synchronized boolean release() {
+    if (connectionCount > 0) {
+      connectionCount--;
+      return connectionCount == 0;
+    }
+    return false;
+  }
+
+  /**
+   * @return true if no pipeline element is connected to or registered with this collector, i.e.,
+   * it can be removed from the collector registry.
+   */
+  protected synchronized boolean isUnused() {
+    return connectionCount == 0 && consumers.isEmpty();
+  }
+
 }
@@ -20,55 +20,159 @@ package org.apache.streampipes.wrapper.standalone.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.messaging.inmemory.InMemoryConsumer;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.routing.RawDataProcessor;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
 
 public class StandaloneSpInputCollector<T extends TransportProtocol> extends
         StandaloneSpCollector<T, RawDataProcessor>
         implements
         InternalEventProcessor<byte[]>, SpInputCollector {
 
+  private static final Logger LOG = LoggerFactory.getLogger(StandaloneSpInputCollector.class);
+
+  private static final RawDataProcessor[] NO_PROCESSORS = new RawDataProcessor[0];
+
   private final Boolean singletonEngine;
 
+  /**
+   * Registered processors, rebuilt on every (un)registration so that dispatching an event neither
+   * locks nor allocates.
+   */
+  private volatile RawDataProcessor[] processors = NO_PROCESSORS;
+
+  private final InputCollectorMetrics metrics = new InputCollectorMetrics();
+
   public StandaloneSpInputCollector(T protocol, TransportFormat format,
                                     Boolean singletonEngine) throws SpRuntimeException {
     super(protocol, format);
     this.singletonEngine = singletonEngine;
   }
 
+  @Override
+  public synchronized void registerConsumer(String routeId, RawDataProcessor consumer) {
+    super.registerConsumer(routeId, consumer);
+    this.processors = consumers.values().toArray(NO_PROCESSORS);
+  }
+
+  @Override
+  public synchronized void unregisterConsumer(String routeId) {
+    super.unregisterConsumer(routeId);
+    this.processors = consumers.values().toArray(NO_PROCESSORS);
+  }
+
   @Override
   public void onEvent(byte[] event) {
-    if (singletonEngine) {
-     send(consumers.get(consumers.keySet().toArray()[0]), event);
-    } else {
-      consumers.forEach((key, value) -> send(value, event));
+    RawDataProcessor[] currentProcessors = this.processors;
+    if (currentProcessors.length == 1 || (singletonEngine && currentProcessors.length > 0)) {
+      send(currentProcessors[0], event);
+      metrics.onMessage(1, 1);
+    } else if (currentProcessors.length > 1) {
+      fanOut(currentProcessors, event);
+    }
+  }
+
+  /**
+   * Messages may be decoded concurrently, the runtimes serialize the calls to their engines.
+   */
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
+  /**
+   * Decodes a message once and hands the decoded (read-only) map to all registered processors.
+   * Each processor builds its own event from the map, so changes of one processor are not
+   * visible to the others.
+   */
+  private void fanOut(RawDataProcessor[] currentProcessors, byte[] event) {
+    Map<String, Object> decodedEvent;
+    try {
+      decodedEvent = Collections.unmodifiableMap(dataFormatDefinition.toMap(event));
+    } catch (SpRuntimeException e) {
+      LOG.error("Could not decode message of topic {}", topic, e);
+      return;
+    }
+    for (RawDataProcessor processor : currentProcessors) {
+      send(processor, decodedEvent);
+    }
+    metrics.onMessage(1, currentProcessors.length);
+  }
+
+  /**
+   * Receives an event of an in-memory topic, which is handed over as the event object emitted by
+   * the publishing element. Each processor binds it to its own input layout, so the event is
+   * neither decoded nor copied for every receiver.
+   */
+  private void onDecodedEvent(Event event) {
+    RawDataProcessor[] currentProcessors = this.processors;
+    int receivers = singletonEngine ? Math.min(1, currentProcessors.length) :
+            currentProcessors.length;
+    for (int i = 0; i < receivers; i++) {
+      send(currentProcessors[i], event);
     }
+    metrics.onMessage(0, receivers);
   }
 
   private void send(RawDataProcessor rawDataProcessor, byte[] event) {
     try {
-      rawDataProcessor.process(dataFormatDefinition.toMap(event), topic);
+      rawDataProcessor.process(event, dataFormatDefinition, topic);
+    } catch (SpRuntimeException e) {
+      LOG.error("Could not process message of topic {}", topic, e);
+    }
+  }
+
+  private void send(RawDataProcessor rawDataProcessor, Map<String, Object> decodedEvent) {
+    try {
+      rawDataProcessor.process(decodedEvent, topic);
     } catch (SpRuntimeException e) {
-      e.printStackTrace();
+      LOG.error("Could not process message of topic {}", topic, e);
     }
   }
 
+  private void send(RawDataProcessor rawDataProcessor, Event event) {
+    try {
+      rawDataProcessor.process(event, topic);
+    } catch (SpRuntimeException e) {
+      LOG.error("Could not process event of topic {}", topic, e);
+    }
+  }
+
+  /**
+   * @return the message counters of this collector, including the fan-out factor.
+   */
+  public InputCollectorMetrics getMetrics() {
+    return metrics;
+  }
+
   @Override
-  public void connect() throws SpRuntimeException {
-    if (!protocolDefinition.getConsumer().isConnected()) {
-      protocolDefinition.getConsumer().connect(transportProtocol,this);
+  public synchronized void connect() throws SpRuntimeException {
+    if (ProtocolManager.acquireInputCollector(transportProtocol, this, this::acquire)
+            && !protocolDefinition.getConsumer().isConnected()) {
+      if (protocolDefinition.getConsumer() instanceof InMemoryConsumer) {
+        ((InMemoryConsumer) protocolDefinition.getConsumer()).connect(
+                (InMemoryTransportProtocol) transportProtocol, this, this::onDecodedEvent);
+      } else {
+        protocolDefinition.getConsumer().connect(transportProtocol, this);
+      }
     }
   }
 
   @Override
-  public void disconnect() throws SpRuntimeException {
-    if (protocolDefinition.getConsumer().isConnected()) {
-      if (consumers.size() == 0) {
+  public synchronized void disconnect() throws SpRuntimeException {
+    if (ProtocolManager.releaseInputCollector(transportProtocol, this, this::release, this::isUnused)) {
+      if (protocolDefinition.getConsumer().isConnected()) {
         protocolDefinition.getConsumer().disconnect();
-        ProtocolManager.removeInputCollector(transportProtocol);
       }
     }
   }
@@ -19,14 +19,20 @@
 package org.apache.streampipes.wrapper.standalone.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventBatcher;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.messaging.inmemory.InMemoryProducer;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.runtime.Event;
-import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.SlotEvent;
+import org.apache.streampipes.model.runtime.field.AbstractField;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 
@@ -34,34 +40,79 @@ public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
         StandaloneSpCollector<T, InternalEventProcessor<Map<String,
                 Object>>> implements SpOutputCollector {
 
+  private static final Logger LOG = LoggerFactory.getLogger(StandaloneSpOutputCollector.class);
+
   private final EventProducer<T> producer;
+  private final EventBatcher batcher;
+  private final String partitionKey;
+  private boolean unresolvableKeyLogged;
 
   public StandaloneSpOutputCollector(T protocol, TransportFormat format) throws SpRuntimeException {
    super(protocol, format);
    this.producer = protocolDefinition.getProducer();
+   // the Kafka producer batches on its own (linger.ms)
+   this.batcher = protocol instanceof KafkaTransportProtocol ? null : new EventBatcher(producer);
+   this.partitionKey = protocol instanceof KafkaTransportProtocol ?
+           ((KafkaTransportProtocol) protocol).getPartitionKeySelector() : null;
   }
 
   public void collect(Event event) {
-    Map<String, Object> outEvent = new EventConverter(event).toMap();
     try {
-      producer.publish(dataFormatDefinition.fromMap(outEvent));
+      if (producer instanceof InMemoryProducer) {
+        ((InMemoryProducer) producer).publish(event);
+      } else if (partitionKey != null) {
+        producer.publish(extractKey(event), dataFormatDefinition.fromEvent(event));
+      } else if (batcher != null) {
+        batcher.add(dataFormatDefinition.fromEvent(event));
+      } else {
+        producer.publish(dataFormatDefinition.fromEvent(event));
+      }
     } catch (SpRuntimeException e) {
       e.printStackTrace();
     }
   }
 
+  /**
+   * Resolves the partition key against the names the fields of the output event are written with,
+   * which covers renamed properties as well as fields added by the pipeline element. Events whose
+   * key can not be resolved are published without a key.
+   */
+  private String extractKey(Event event) {
+    if (event instanceof SlotEvent) {
+      int slot = ((SlotEvent) event).getSlotByOutputName(partitionKey);
+      if (slot >= 0) {
+        return String.valueOf(((SlotEvent) event).getSlotValue(slot));
+      }
+    }
+    AbstractField field = event.getFieldByOutputName(partitionKey);
+    if (field != null && field.isPrimitive()) {
+      return String.valueOf(field.getRawValue());
+    }
+    if (!unresolvableKeyLogged) {
+      LOG.warn("Partition key {} does not resolve to a primitive field of the output event, " +
+              "publishing events without key", partitionKey);
+      unresolvableKeyLogged = true;
+    }
+    return null;
+  }
+
   @Override
-  public void connect() throws SpRuntimeException {
-    if (!protocolDefinition.getProducer().isConnected()) {
+  public synchronized void connect() throws SpRuntimeException {
+    if (ProtocolManager.acquireOutputCollector(transportProtocol, this, this::acquire)
+            && !protocolDefinition.getProducer().isConnected()) {
       protocolDefinition.getProducer().connect(transportProtocol);
     }
   }
 
   @Override
-  public void disconnect() throws SpRuntimeException {
-    if (protocolDefinition.getProducer().isConnected()) {
-      protocolDefinition.getProducer().disconnect();
-      ProtocolManager.removeOutputCollector(transportProtocol);
+  public synchronized void disconnect() throws SpRuntimeException {
+    if (ProtocolManager.releaseOutputCollector(transportProtocol, this, this::release, this::isUnused)) {
+      if (protocolDefinition.getProducer().isConnected()) {
+        if (batcher != null) {
+          batcher.flush();
+        }
+        protocolDefinition.getProducer().disconnect();
+      }
     }
   }
 
@@ -19,7 +19,9 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
@@ -35,13 +37,22 @@ public class StandaloneEventProcessorRuntime<B extends EventProcessorBindingPara
         StandalonePipelineElementRuntime<B, DataProcessorInvocation,
                 EventProcessorRuntimeParams<B>, EventProcessorRuntimeContext, EventProcessor<B>> {
 
+  private SpOutputCollector outputCollector;
+
   public StandaloneEventProcessorRuntime(Supplier<EventProcessor<B>> supplier,
                                          EventProcessorRuntimeParams<B> params) {
     super(supplier, params);
   }
 
-
   public SpOutputCollector getOutputCollector() throws SpRuntimeException {
+    // resolved once, as the collector is needed for every processed event
+    if (outputCollector == null) {
+      outputCollector = findOutputCollector();
+    }
+    return outputCollector;
+  }
+
+  private SpOutputCollector findOutputCollector() throws SpRuntimeException {
     return ProtocolManager.findOutputCollector(
             params
                     .getBindingParams()
@@ -66,7 +77,30 @@ public class StandaloneEventProcessorRuntime<B extends EventProcessorBindingPara
 
   @Override
   public void process(Map<String, Object> rawEvent, String sourceInfo) throws SpRuntimeException {
-    getEngine().onEvent(params.makeEvent(rawEvent, sourceInfo), getOutputCollector());
+    onEvent(params.makeEvent(rawEvent, sourceInfo));
+  }
+
+  @Override
+  public void process(byte[] event,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) throws SpRuntimeException {
+    onEvent(params.makeEvent(event, dataFormatDefinition, sourceInfo));
+  }
+
+  @Override
+  public void process(Event event, String sourceInfo) throws SpRuntimeException {
+    onEvent(params.makeEvent(event, sourceInfo));
+  }
+
+  /**
+   * Events are created concurrently if the input collector is consumed by several threads, but
+   * handed to the engine one at a time.
+   */
+  private void onEvent(Event event) throws SpRuntimeException {
+    SpOutputCollector collector = getOutputCollector();
+    synchronized (engine) {
+      engine.onEvent(event, collector);
+    }
   }
 
   @Override
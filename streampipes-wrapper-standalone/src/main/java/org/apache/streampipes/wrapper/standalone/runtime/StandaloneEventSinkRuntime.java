@@ -19,7 +19,9 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventSinkRuntimeParams;
@@ -47,7 +49,29 @@ public class StandaloneEventSinkRuntime<B extends EventSinkBindingParams> extend
 
   @Override
   public void process(Map<String, Object> rawEvent, String sourceInfo) throws SpRuntimeException {
-    engine.onEvent(params.makeEvent(rawEvent, sourceInfo));
+    onEvent(params.makeEvent(rawEvent, sourceInfo));
+  }
+
+  @Override
+  public void process(byte[] event,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) throws SpRuntimeException {
+    onEvent(params.makeEvent(event, dataFormatDefinition, sourceInfo));
+  }
+
+  @Override
+  public void process(Event event, String sourceInfo) throws SpRuntimeException {
+    onEvent(params.makeEvent(event, sourceInfo));
+  }
+
+  /**
+   * Events are created concurrently if the input collector is consumed by several threads, but
+   * handed to the engine one at a time.
+   */
+  private void onEvent(Event event) throws SpRuntimeException {
+    synchronized (engine) {
+      engine.onEvent(event);
+    }
   }
 
   @Override
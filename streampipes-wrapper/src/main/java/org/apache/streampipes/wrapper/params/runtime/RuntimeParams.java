@@ -19,16 +19,20 @@
 package org.apache.streampipes.wrapper.params.runtime;
 
 import org.apache.streampipes.client.StreamPipesClient;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.container.config.ConfigExtractor;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
 import org.apache.streampipes.model.runtime.SchemaInfo;
 import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -44,6 +48,7 @@ public abstract class RuntimeParams<B extends BindingParams<I>, I extends
   protected StreamPipesClient streamPipesClient;
 
   private Map<String, Integer> eventInfoMap = new HashMap<>();
+  private List<EventLayout> eventLayouts = new ArrayList<>();
 
   private Boolean singletonEngine;
 
@@ -68,15 +73,25 @@ public abstract class RuntimeParams<B extends BindingParams<I>, I extends
       String sourceInfo = bindingParams.getInputStreamParams().get(i).getSourceInfo()
               .getSourceId();
       eventInfoMap.put(sourceInfo, i);
+      eventLayouts.add(EventLayout.compile(getSourceInfo(i), getSchemaInfo(i)));
     }
   }
 
   public Event makeEvent(Map<String, Object> mapEvent, String sourceId) {
-    return EventFactory.fromMap(mapEvent, getSourceInfo(getIndex(sourceId)), getSchemaInfo
-            (getIndex(sourceId)));
+    return EventFactory.fromMap(mapEvent, getEventLayout(getIndex(sourceId)));
 
   }
 
+  public Event makeEvent(Event event, String sourceId) {
+    return EventFactory.fromEvent(event, getEventLayout(getIndex(sourceId)));
+  }
+
+  public Event makeEvent(byte[] event,
+                         SpDataFormatDefinition dataFormatDefinition,
+                         String sourceId) throws SpRuntimeException {
+    return dataFormatDefinition.toEvent(event, getEventLayout(getIndex(sourceId)));
+  }
+
   public List<SourceInfo> getSourceInfo() {
     return bindingParams.getInputStreamParams().size() == 1 ? Collections.singletonList
             (getSourceInfo(0)) : Arrays.asList(getSourceInfo(0), getSourceInfo(1));
@@ -95,6 +110,10 @@ public abstract class RuntimeParams<B extends BindingParams<I>, I extends
     return bindingParams.getInputStreamParams().get(index).getSchemaInfo();
   }
 
+  public EventLayout getEventLayout(Integer index) {
+    return eventLayouts.get(index);
+  }
+
   private Integer getIndex(String sourceId) {
     return eventInfoMap.get(sourceId);
   }
@@ -18,10 +18,27 @@
 package org.apache.streampipes.wrapper.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
 
 import java.util.Map;
 
 public interface RawDataProcessor {
 
   void process(Map<String, Object> rawEvent, String sourceInfo) throws SpRuntimeException;
+
+  default void process(byte[] event,
+                       SpDataFormatDefinition dataFormatDefinition,
+                       String sourceInfo) throws SpRuntimeException {
+    process(dataFormatDefinition.toMap(event), sourceInfo);
+  }
+
+  /**
+   * Processes an event emitted by a pipeline element in the same JVM. The event is shared with the
+   * emitting element (and other receivers) and must not be modified.
+   */
+  default void process(Event event, String sourceInfo) throws SpRuntimeException {
+    process(new EventConverter(event).toMap(), sourceInfo);
+  }
 }
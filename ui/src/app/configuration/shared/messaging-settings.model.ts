@@ -22,6 +22,8 @@ export interface MessagingSettings {
     messageMaxBytes: number;
     lingerMs: number;
     acks: number;
+    kafkaPartitions: number;
+    kafkaReplicationFactor: number;
 
    prioritizedFormats: [string];
    prioritizedProtocols: [string];
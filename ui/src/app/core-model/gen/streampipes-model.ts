@@ -22,7 +22,7 @@
 // Generated using typescript-generator version 2.27.744 on 2021-10-07 21:36:52.
 
 export class AbstractStreamPipesEntity {
-  '@class': 'org.apache.streampipes.model.base.AbstractStreamPipesEntity' | 'org.apache.streampipes.model.base.NamedStreamPipesEntity' | 'org.apache.streampipes.model.connect.adapter.AdapterDescription' | 'org.apache.streampipes.model.connect.adapter.AdapterSetDescription' | 'org.apache.streampipes.model.connect.adapter.GenericAdapterSetDescription' | 'org.apache.streampipes.model.connect.adapter.SpecificAdapterSetDescription' | 'org.apache.streampipes.model.connect.adapter.AdapterStreamDescription' | 'org.apache.streampipes.model.connect.adapter.GenericAdapterStreamDescription' | 'org.apache.streampipes.model.connect.adapter.SpecificAdapterStreamDescription' | 'org.apache.streampipes.model.connect.grounding.ProtocolDescription' | 'org.apache.streampipes.model.graph.DataSourceDescription' | 'org.apache.streampipes.model.template.PipelineTemplateDescription' | 'org.apache.streampipes.model.connect.grounding.FormatDescription' | 'org.apache.streampipes.model.SpDataStream' | 'org.apache.streampipes.model.SpDataSet' | 'org.apache.streampipes.model.base.InvocableStreamPipesEntity' | 'org.apache.streampipes.model.graph.DataProcessorInvocation' | 'org.apache.streampipes.model.graph.DataSinkInvocation' | 'org.apache.streampipes.model.base.UnnamedStreamPipesEntity' | 'org.apache.streampipes.model.connect.guess.GuessSchema' | 'org.apache.streampipes.model.connect.rules.TransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.ValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.AddTimestampRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.AddValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.TimestampTranfsformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.UnitTransformRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.CorrectionValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.StreamTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.EventRateTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.RemoveDuplicatesTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.SchemaTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.CreateNestedRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.DeleteRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.RenameRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.MoveRuleDescription' | 'org.apache.streampipes.model.dashboard.DashboardWidgetSettings' | 'org.apache.streampipes.model.datalake.DataLakeMeasure' | 'org.apache.streampipes.model.runtime.RuntimeOptionsRequest' | 'org.apache.streampipes.model.runtime.RuntimeOptionsResponse' | 'org.apache.streampipes.model.staticproperty.StaticProperty' | 'org.apache.streampipes.model.staticproperty.CodeInputStaticProperty' | 'org.apache.streampipes.model.staticproperty.CollectionStaticProperty' | 'org.apache.streampipes.model.staticproperty.ColorPickerStaticProperty' | 'org.apache.streampipes.model.staticproperty.DomainStaticProperty' | 'org.apache.streampipes.model.staticproperty.FileStaticProperty' | 'org.apache.streampipes.model.staticproperty.FreeTextStaticProperty' | 'org.apache.streampipes.model.staticproperty.MatchingStaticProperty' | 'org.apache.streampipes.model.staticproperty.SecretStaticProperty' | 'org.apache.streampipes.model.staticproperty.StaticPropertyAlternative' | 'org.apache.streampipes.model.staticproperty.StaticPropertyAlternatives' | 'org.apache.streampipes.model.staticproperty.StaticPropertyGroup' | 'org.apache.streampipes.model.staticproperty.SelectionStaticProperty' | 'org.apache.streampipes.model.staticproperty.AnyStaticProperty' | 'org.apache.streampipes.model.staticproperty.RuntimeResolvableAnyStaticProperty' | 'org.apache.streampipes.model.staticproperty.OneOfStaticProperty' | 'org.apache.streampipes.model.staticproperty.RuntimeResolvableOneOfStaticProperty' | 'org.apache.streampipes.model.staticproperty.MappingProperty' | 'org.apache.streampipes.model.staticproperty.MappingPropertyUnary' | 'org.apache.streampipes.model.staticproperty.MappingPropertyNary' | 'org.apache.streampipes.model.template.PipelineTemplateInvocation' | 'org.apache.streampipes.model.ApplicationLink' | 'org.apache.streampipes.model.grounding.EventGrounding' | 'org.apache.streampipes.model.schema.EventSchema' | 'org.apache.streampipes.model.connect.guess.DomainPropertyProbabilityList' | 'org.apache.streampipes.model.staticproperty.Option' | 'org.apache.streampipes.model.template.BoundPipelineElement' | 'org.apache.streampipes.model.grounding.TransportProtocol' | 'org.apache.streampipes.model.grounding.JmsTransportProtocol' | 'org.apache.streampipes.model.grounding.KafkaTransportProtocol' | 'org.apache.streampipes.model.grounding.MqttTransportProtocol' | 'org.apache.streampipes.model.grounding.TransportFormat' | 'org.apache.streampipes.model.quality.EventStreamQualityRequirement' | 'org.apache.streampipes.model.quality.MeasurementCapability' | 'org.apache.streampipes.model.quality.MeasurementObject' | 'org.apache.streampipes.model.schema.EventProperty' | 'org.apache.streampipes.model.schema.EventPropertyList' | 'org.apache.streampipes.model.schema.EventPropertyNested' | 'org.apache.streampipes.model.schema.EventPropertyPrimitive' | 'org.apache.streampipes.model.connect.guess.DomainPropertyProbability' | 'org.apache.streampipes.model.output.OutputStrategy' | 'org.apache.streampipes.model.output.AppendOutputStrategy' | 'org.apache.streampipes.model.output.CustomOutputStrategy' | 'org.apache.streampipes.model.output.CustomTransformOutputStrategy' | 'org.apache.streampipes.model.output.FixedOutputStrategy' | 'org.apache.streampipes.model.output.KeepOutputStrategy' | 'org.apache.streampipes.model.output.ListOutputStrategy' | 'org.apache.streampipes.model.output.TransformOutputStrategy' | 'org.apache.streampipes.model.output.UserDefinedOutputStrategy' | 'org.apache.streampipes.model.monitoring.ElementStatusInfoSettings' | 'org.apache.streampipes.model.staticproperty.SupportedProperty' | 'org.apache.streampipes.model.staticproperty.PropertyValueSpecification' | 'org.apache.streampipes.model.grounding.TopicDefinition' | 'org.apache.streampipes.model.grounding.SimpleTopicDefinition' | 'org.apache.streampipes.model.grounding.WildcardTopicDefinition' | 'org.apache.streampipes.model.quality.MeasurementProperty' | 'org.apache.streampipes.model.quality.EventStreamQualityDefinition' | 'org.apache.streampipes.model.quality.Frequency' | 'org.apache.streampipes.model.quality.Latency' | 'org.apache.streampipes.model.quality.EventPropertyQualityDefinition' | 'org.apache.streampipes.model.quality.Accuracy' | 'org.apache.streampipes.model.quality.MeasurementRange' | 'org.apache.streampipes.model.quality.Precision' | 'org.apache.streampipes.model.quality.Resolution' | 'org.apache.streampipes.model.quality.EventPropertyQualityRequirement' | 'org.apache.streampipes.model.output.PropertyRenameRule' | 'org.apache.streampipes.model.schema.ValueSpecification' | 'org.apache.streampipes.model.schema.QuantitativeValue' | 'org.apache.streampipes.model.schema.Enumeration' | 'org.apache.streampipes.model.output.TransformOperation' | 'org.apache.streampipes.model.grounding.WildcardTopicMapping';
+  '@class': 'org.apache.streampipes.model.base.AbstractStreamPipesEntity' | 'org.apache.streampipes.model.base.NamedStreamPipesEntity' | 'org.apache.streampipes.model.connect.adapter.AdapterDescription' | 'org.apache.streampipes.model.connect.adapter.AdapterSetDescription' | 'org.apache.streampipes.model.connect.adapter.GenericAdapterSetDescription' | 'org.apache.streampipes.model.connect.adapter.SpecificAdapterSetDescription' | 'org.apache.streampipes.model.connect.adapter.AdapterStreamDescription' | 'org.apache.streampipes.model.connect.adapter.GenericAdapterStreamDescription' | 'org.apache.streampipes.model.connect.adapter.SpecificAdapterStreamDescription' | 'org.apache.streampipes.model.connect.grounding.ProtocolDescription' | 'org.apache.streampipes.model.graph.DataSourceDescription' | 'org.apache.streampipes.model.template.PipelineTemplateDescription' | 'org.apache.streampipes.model.connect.grounding.FormatDescription' | 'org.apache.streampipes.model.SpDataStream' | 'org.apache.streampipes.model.SpDataSet' | 'org.apache.streampipes.model.base.InvocableStreamPipesEntity' | 'org.apache.streampipes.model.graph.DataProcessorInvocation' | 'org.apache.streampipes.model.graph.DataSinkInvocation' | 'org.apache.streampipes.model.base.UnnamedStreamPipesEntity' | 'org.apache.streampipes.model.connect.guess.GuessSchema' | 'org.apache.streampipes.model.connect.rules.TransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.ValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.AddTimestampRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.AddValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.TimestampTranfsformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.UnitTransformRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.CorrectionValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.StreamTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.EventRateTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.RemoveDuplicatesTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.SchemaTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.CreateNestedRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.DeleteRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.RenameRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.MoveRuleDescription' | 'org.apache.streampipes.model.dashboard.DashboardWidgetSettings' | 'org.apache.streampipes.model.datalake.DataLakeMeasure' | 'org.apache.streampipes.model.runtime.RuntimeOptionsRequest' | 'org.apache.streampipes.model.runtime.RuntimeOptionsResponse' | 'org.apache.streampipes.model.staticproperty.StaticProperty' | 'org.apache.streampipes.model.staticproperty.CodeInputStaticProperty' | 'org.apache.streampipes.model.staticproperty.CollectionStaticProperty' | 'org.apache.streampipes.model.staticproperty.ColorPickerStaticProperty' | 'org.apache.streampipes.model.staticproperty.DomainStaticProperty' | 'org.apache.streampipes.model.staticproperty.FileStaticProperty' | 'org.apache.streampipes.model.staticproperty.FreeTextStaticProperty' | 'org.apache.streampipes.model.staticproperty.MatchingStaticProperty' | 'org.apache.streampipes.model.staticproperty.SecretStaticProperty' | 'org.apache.streampipes.model.staticproperty.StaticPropertyAlternative' | 'org.apache.streampipes.model.staticproperty.StaticPropertyAlternatives' | 'org.apache.streampipes.model.staticproperty.StaticPropertyGroup' | 'org.apache.streampipes.model.staticproperty.SelectionStaticProperty' | 'org.apache.streampipes.model.staticproperty.AnyStaticProperty' | 'org.apache.streampipes.model.staticproperty.RuntimeResolvableAnyStaticProperty' | 'org.apache.streampipes.model.staticproperty.OneOfStaticProperty' | 'org.apache.streampipes.model.staticproperty.RuntimeResolvableOneOfStaticProperty' | 'org.apache.streampipes.model.staticproperty.MappingProperty' | 'org.apache.streampipes.model.staticproperty.MappingPropertyUnary' | 'org.apache.streampipes.model.staticproperty.MappingPropertyNary' | 'org.apache.streampipes.model.template.PipelineTemplateInvocation' | 'org.apache.streampipes.model.ApplicationLink' | 'org.apache.streampipes.model.grounding.EventGrounding' | 'org.apache.streampipes.model.schema.EventSchema' | 'org.apache.streampipes.model.connect.guess.DomainPropertyProbabilityList' | 'org.apache.streampipes.model.staticproperty.Option' | 'org.apache.streampipes.model.template.BoundPipelineElement' | 'org.apache.streampipes.model.grounding.TransportProtocol' | 'org.apache.streampipes.model.grounding.InMemoryTransportProtocol' | 'org.apache.streampipes.model.grounding.JmsTransportProtocol' | 'org.apache.streampipes.model.grounding.KafkaTransportProtocol' | 'org.apache.streampipes.model.grounding.MqttTransportProtocol' | 'org.apache.streampipes.model.grounding.TransportFormat' | 'org.apache.streampipes.model.quality.EventStreamQualityRequirement' | 'org.apache.streampipes.model.quality.MeasurementCapability' | 'org.apache.streampipes.model.quality.MeasurementObject' | 'org.apache.streampipes.model.schema.EventProperty' | 'org.apache.streampipes.model.schema.EventPropertyList' | 'org.apache.streampipes.model.schema.EventPropertyNested' | 'org.apache.streampipes.model.schema.EventPropertyPrimitive' | 'org.apache.streampipes.model.connect.guess.DomainPropertyProbability' | 'org.apache.streampipes.model.output.OutputStrategy' | 'org.apache.streampipes.model.output.AppendOutputStrategy' | 'org.apache.streampipes.model.output.CustomOutputStrategy' | 'org.apache.streampipes.model.output.CustomTransformOutputStrategy' | 'org.apache.streampipes.model.output.FixedOutputStrategy' | 'org.apache.streampipes.model.output.KeepOutputStrategy' | 'org.apache.streampipes.model.output.ListOutputStrategy' | 'org.apache.streampipes.model.output.TransformOutputStrategy' | 'org.apache.streampipes.model.output.UserDefinedOutputStrategy' | 'org.apache.streampipes.model.monitoring.ElementStatusInfoSettings' | 'org.apache.streampipes.model.staticproperty.SupportedProperty' | 'org.apache.streampipes.model.staticproperty.PropertyValueSpecification' | 'org.apache.streampipes.model.grounding.TopicDefinition' | 'org.apache.streampipes.model.grounding.SimpleTopicDefinition' | 'org.apache.streampipes.model.grounding.WildcardTopicDefinition' | 'org.apache.streampipes.model.quality.MeasurementProperty' | 'org.apache.streampipes.model.quality.EventStreamQualityDefinition' | 'org.apache.streampipes.model.quality.Frequency' | 'org.apache.streampipes.model.quality.Latency' | 'org.apache.streampipes.model.quality.EventPropertyQualityDefinition' | 'org.apache.streampipes.model.quality.Accuracy' | 'org.apache.streampipes.model.quality.MeasurementRange' | 'org.apache.streampipes.model.quality.Precision' | 'org.apache.streampipes.model.quality.Resolution' | 'org.apache.streampipes.model.quality.EventPropertyQualityRequirement' | 'org.apache.streampipes.model.output.PropertyRenameRule' | 'org.apache.streampipes.model.schema.ValueSpecification' | 'org.apache.streampipes.model.schema.QuantitativeValue' | 'org.apache.streampipes.model.schema.Enumeration' | 'org.apache.streampipes.model.output.TransformOperation' | 'org.apache.streampipes.model.grounding.WildcardTopicMapping';
   elementId: string;
 
   static fromData(data: AbstractStreamPipesEntity, target?: AbstractStreamPipesEntity): AbstractStreamPipesEntity {
@@ -37,7 +37,7 @@ export class AbstractStreamPipesEntity {
 }
 
 export class UnnamedStreamPipesEntity extends AbstractStreamPipesEntity {
-  '@class': 'org.apache.streampipes.model.base.UnnamedStreamPipesEntity' | 'org.apache.streampipes.model.connect.guess.GuessSchema' | 'org.apache.streampipes.model.connect.rules.TransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.ValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.AddTimestampRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.AddValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.TimestampTranfsformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.UnitTransformRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.CorrectionValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.StreamTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.EventRateTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.RemoveDuplicatesTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.SchemaTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.CreateNestedRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.DeleteRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.RenameRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.MoveRuleDescription' | 'org.apache.streampipes.model.dashboard.DashboardWidgetSettings' | 'org.apache.streampipes.model.datalake.DataLakeMeasure' | 'org.apache.streampipes.model.runtime.RuntimeOptionsRequest' | 'org.apache.streampipes.model.runtime.RuntimeOptionsResponse' | 'org.apache.streampipes.model.staticproperty.StaticProperty' | 'org.apache.streampipes.model.staticproperty.CodeInputStaticProperty' | 'org.apache.streampipes.model.staticproperty.CollectionStaticProperty' | 'org.apache.streampipes.model.staticproperty.ColorPickerStaticProperty' | 'org.apache.streampipes.model.staticproperty.DomainStaticProperty' | 'org.apache.streampipes.model.staticproperty.FileStaticProperty' | 'org.apache.streampipes.model.staticproperty.FreeTextStaticProperty' | 'org.apache.streampipes.model.staticproperty.MatchingStaticProperty' | 'org.apache.streampipes.model.staticproperty.SecretStaticProperty' | 'org.apache.streampipes.model.staticproperty.StaticPropertyAlternative' | 'org.apache.streampipes.model.staticproperty.StaticPropertyAlternatives' | 'org.apache.streampipes.model.staticproperty.StaticPropertyGroup' | 'org.apache.streampipes.model.staticproperty.SelectionStaticProperty' | 'org.apache.streampipes.model.staticproperty.AnyStaticProperty' | 'org.apache.streampipes.model.staticproperty.RuntimeResolvableAnyStaticProperty' | 'org.apache.streampipes.model.staticproperty.OneOfStaticProperty' | 'org.apache.streampipes.model.staticproperty.RuntimeResolvableOneOfStaticProperty' | 'org.apache.streampipes.model.staticproperty.MappingProperty' | 'org.apache.streampipes.model.staticproperty.MappingPropertyUnary' | 'org.apache.streampipes.model.staticproperty.MappingPropertyNary' | 'org.apache.streampipes.model.template.PipelineTemplateInvocation' | 'org.apache.streampipes.model.ApplicationLink' | 'org.apache.streampipes.model.grounding.EventGrounding' | 'org.apache.streampipes.model.schema.EventSchema' | 'org.apache.streampipes.model.connect.guess.DomainPropertyProbabilityList' | 'org.apache.streampipes.model.staticproperty.Option' | 'org.apache.streampipes.model.template.BoundPipelineElement' | 'org.apache.streampipes.model.grounding.TransportProtocol' | 'org.apache.streampipes.model.grounding.JmsTransportProtocol' | 'org.apache.streampipes.model.grounding.KafkaTransportProtocol' | 'org.apache.streampipes.model.grounding.MqttTransportProtocol' | 'org.apache.streampipes.model.grounding.TransportFormat' | 'org.apache.streampipes.model.quality.EventStreamQualityRequirement' | 'org.apache.streampipes.model.quality.MeasurementCapability' | 'org.apache.streampipes.model.quality.MeasurementObject' | 'org.apache.streampipes.model.schema.EventProperty' | 'org.apache.streampipes.model.schema.EventPropertyList' | 'org.apache.streampipes.model.schema.EventPropertyNested' | 'org.apache.streampipes.model.schema.EventPropertyPrimitive' | 'org.apache.streampipes.model.connect.guess.DomainPropertyProbability' | 'org.apache.streampipes.model.output.OutputStrategy' | 'org.apache.streampipes.model.output.AppendOutputStrategy' | 'org.apache.streampipes.model.output.CustomOutputStrategy' | 'org.apache.streampipes.model.output.CustomTransformOutputStrategy' | 'org.apache.streampipes.model.output.FixedOutputStrategy' | 'org.apache.streampipes.model.output.KeepOutputStrategy' | 'org.apache.streampipes.model.output.ListOutputStrategy' | 'org.apache.streampipes.model.output.TransformOutputStrategy' | 'org.apache.streampipes.model.output.UserDefinedOutputStrategy' | 'org.apache.streampipes.model.monitoring.ElementStatusInfoSettings' | 'org.apache.streampipes.model.staticproperty.SupportedProperty' | 'org.apache.streampipes.model.staticproperty.PropertyValueSpecification' | 'org.apache.streampipes.model.grounding.TopicDefinition' | 'org.apache.streampipes.model.grounding.SimpleTopicDefinition' | 'org.apache.streampipes.model.grounding.WildcardTopicDefinition' | 'org.apache.streampipes.model.quality.MeasurementProperty' | 'org.apache.streampipes.model.quality.EventStreamQualityDefinition' | 'org.apache.streampipes.model.quality.Frequency' | 'org.apache.streampipes.model.quality.Latency' | 'org.apache.streampipes.model.quality.EventPropertyQualityDefinition' | 'org.apache.streampipes.model.quality.Accuracy' | 'org.apache.streampipes.model.quality.MeasurementRange' | 'org.apache.streampipes.model.quality.Precision' | 'org.apache.streampipes.model.quality.Resolution' | 'org.apache.streampipes.model.quality.EventPropertyQualityRequirement' | 'org.apache.streampipes.model.output.PropertyRenameRule' | 'org.apache.streampipes.model.schema.ValueSpecification' | 'org.apache.streampipes.model.schema.QuantitativeValue' | 'org.apache.streampipes.model.schema.Enumeration' | 'org.apache.streampipes.model.output.TransformOperation' | 'org.apache.streampipes.model.grounding.WildcardTopicMapping';
+  '@class': 'org.apache.streampipes.model.base.UnnamedStreamPipesEntity' | 'org.apache.streampipes.model.connect.guess.GuessSchema' | 'org.apache.streampipes.model.connect.rules.TransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.ValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.AddTimestampRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.AddValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.TimestampTranfsformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.UnitTransformRuleDescription' | 'org.apache.streampipes.model.connect.rules.value.CorrectionValueTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.StreamTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.EventRateTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.stream.RemoveDuplicatesTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.SchemaTransformationRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.CreateNestedRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.DeleteRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.RenameRuleDescription' | 'org.apache.streampipes.model.connect.rules.schema.MoveRuleDescription' | 'org.apache.streampipes.model.dashboard.DashboardWidgetSettings' | 'org.apache.streampipes.model.datalake.DataLakeMeasure' | 'org.apache.streampipes.model.runtime.RuntimeOptionsRequest' | 'org.apache.streampipes.model.runtime.RuntimeOptionsResponse' | 'org.apache.streampipes.model.staticproperty.StaticProperty' | 'org.apache.streampipes.model.staticproperty.CodeInputStaticProperty' | 'org.apache.streampipes.model.staticproperty.CollectionStaticProperty' | 'org.apache.streampipes.model.staticproperty.ColorPickerStaticProperty' | 'org.apache.streampipes.model.staticproperty.DomainStaticProperty' | 'org.apache.streampipes.model.staticproperty.FileStaticProperty' | 'org.apache.streampipes.model.staticproperty.FreeTextStaticProperty' | 'org.apache.streampipes.model.staticproperty.MatchingStaticProperty' | 'org.apache.streampipes.model.staticproperty.SecretStaticProperty' | 'org.apache.streampipes.model.staticproperty.StaticPropertyAlternative' | 'org.apache.streampipes.model.staticproperty.StaticPropertyAlternatives' | 'org.apache.streampipes.model.staticproperty.StaticPropertyGroup' | 'org.apache.streampipes.model.staticproperty.SelectionStaticProperty' | 'org.apache.streampipes.model.staticproperty.AnyStaticProperty' | 'org.apache.streampipes.model.staticproperty.RuntimeResolvableAnyStaticProperty' | 'org.apache.streampipes.model.staticproperty.OneOfStaticProperty' | 'org.apache.streampipes.model.staticproperty.RuntimeResolvableOneOfStaticProperty' | 'org.apache.streampipes.model.staticproperty.MappingProperty' | 'org.apache.streampipes.model.staticproperty.MappingPropertyUnary' | 'org.apache.streampipes.model.staticproperty.MappingPropertyNary' | 'org.apache.streampipes.model.template.PipelineTemplateInvocation' | 'org.apache.streampipes.model.ApplicationLink' | 'org.apache.streampipes.model.grounding.EventGrounding' | 'org.apache.streampipes.model.schema.EventSchema' | 'org.apache.streampipes.model.connect.guess.DomainPropertyProbabilityList' | 'org.apache.streampipes.model.staticproperty.Option' | 'org.apache.streampipes.model.template.BoundPipelineElement' | 'org.apache.streampipes.model.grounding.TransportProtocol' | 'org.apache.streampipes.model.grounding.InMemoryTransportProtocol' | 'org.apache.streampipes.model.grounding.JmsTransportProtocol' | 'org.apache.streampipes.model.grounding.KafkaTransportProtocol' | 'org.apache.streampipes.model.grounding.MqttTransportProtocol' | 'org.apache.streampipes.model.grounding.TransportFormat' | 'org.apache.streampipes.model.quality.EventStreamQualityRequirement' | 'org.apache.streampipes.model.quality.MeasurementCapability' | 'org.apache.streampipes.model.quality.MeasurementObject' | 'org.apache.streampipes.model.schema.EventProperty' | 'org.apache.streampipes.model.schema.EventPropertyList' | 'org.apache.streampipes.model.schema.EventPropertyNested' | 'org.apache.streampipes.model.schema.EventPropertyPrimitive' | 'org.apache.streampipes.model.connect.guess.DomainPropertyProbability' | 'org.apache.streampipes.model.output.OutputStrategy' | 'org.apache.streampipes.model.output.AppendOutputStrategy' | 'org.apache.streampipes.model.output.CustomOutputStrategy' | 'org.apache.streampipes.model.output.CustomTransformOutputStrategy' | 'org.apache.streampipes.model.output.FixedOutputStrategy' | 'org.apache.streampipes.model.output.KeepOutputStrategy' | 'org.apache.streampipes.model.output.ListOutputStrategy' | 'org.apache.streampipes.model.output.TransformOutputStrategy' | 'org.apache.streampipes.model.output.UserDefinedOutputStrategy' | 'org.apache.streampipes.model.monitoring.ElementStatusInfoSettings' | 'org.apache.streampipes.model.staticproperty.SupportedProperty' | 'org.apache.streampipes.model.staticproperty.PropertyValueSpecification' | 'org.apache.streampipes.model.grounding.TopicDefinition' | 'org.apache.streampipes.model.grounding.SimpleTopicDefinition' | 'org.apache.streampipes.model.grounding.WildcardTopicDefinition' | 'org.apache.streampipes.model.quality.MeasurementProperty' | 'org.apache.streampipes.model.quality.EventStreamQualityDefinition' | 'org.apache.streampipes.model.quality.Frequency' | 'org.apache.streampipes.model.quality.Latency' | 'org.apache.streampipes.model.quality.EventPropertyQualityDefinition' | 'org.apache.streampipes.model.quality.Accuracy' | 'org.apache.streampipes.model.quality.MeasurementRange' | 'org.apache.streampipes.model.quality.Precision' | 'org.apache.streampipes.model.quality.Resolution' | 'org.apache.streampipes.model.quality.EventPropertyQualityRequirement' | 'org.apache.streampipes.model.output.PropertyRenameRule' | 'org.apache.streampipes.model.schema.ValueSpecification' | 'org.apache.streampipes.model.schema.QuantitativeValue' | 'org.apache.streampipes.model.schema.Enumeration' | 'org.apache.streampipes.model.output.TransformOperation' | 'org.apache.streampipes.model.grounding.WildcardTopicMapping';
 
   static fromData(data: UnnamedStreamPipesEntity, target?: UnnamedStreamPipesEntity): UnnamedStreamPipesEntity {
     if (!data) {
@@ -702,6 +702,9 @@ export class MessagesInfo {
     const instance = target || new MessagesInfo();
     instance.topicName = data.topicName;
     instance.groupId = data.groupId;
+    instance.partitions = data.partitions;
+    instance.replicationFactor = data.replicationFactor;
+    instance.partitionKeySelector = data.partitionKeySelector;
     return instance;
   }
 }
@@ -1697,7 +1700,7 @@ export class GuessSchema extends UnnamedStreamPipesEntity {
 }
 
 export class TransportProtocol extends UnnamedStreamPipesEntity {
-  '@class': 'org.apache.streampipes.model.grounding.TransportProtocol' | 'org.apache.streampipes.model.grounding.JmsTransportProtocol' | 'org.apache.streampipes.model.grounding.KafkaTransportProtocol' | 'org.apache.streampipes.model.grounding.MqttTransportProtocol';
+  '@class': 'org.apache.streampipes.model.grounding.TransportProtocol' | 'org.apache.streampipes.model.grounding.InMemoryTransportProtocol' | 'org.apache.streampipes.model.grounding.JmsTransportProtocol' | 'org.apache.streampipes.model.grounding.KafkaTransportProtocol' | 'org.apache.streampipes.model.grounding.MqttTransportProtocol';
   brokerHostname: string;
   topicDefinition: TopicDefinitionUnion;
 
@@ -1717,6 +1720,8 @@ export class TransportProtocol extends UnnamedStreamPipesEntity {
       return data;
     }
     switch (data['@class']) {
+      case 'org.apache.streampipes.model.grounding.InMemoryTransportProtocol':
+        return InMemoryTransportProtocol.fromData(data);
       case 'org.apache.streampipes.model.grounding.JmsTransportProtocol':
         return JmsTransportProtocol.fromData(data);
       case 'org.apache.streampipes.model.grounding.KafkaTransportProtocol':
@@ -1727,6 +1732,21 @@ export class TransportProtocol extends UnnamedStreamPipesEntity {
   }
 }
 
+export class InMemoryTransportProtocol extends TransportProtocol {
+  '@class': 'org.apache.streampipes.model.grounding.InMemoryTransportProtocol';
+  bufferSize: number;
+
+  static fromData(data: InMemoryTransportProtocol, target?: InMemoryTransportProtocol): InMemoryTransportProtocol {
+    if (!data) {
+      return data;
+    }
+    const instance = target || new InMemoryTransportProtocol();
+    super.fromData(data, instance);
+    instance.bufferSize = data.bufferSize;
+    return instance;
+  }
+}
+
 export class JmsTransportProtocol extends TransportProtocol {
   '@class': 'org.apache.streampipes.model.grounding.JmsTransportProtocol';
   port: number;
@@ -1752,6 +1772,9 @@ export class KafkaTransportProtocol extends TransportProtocol {
   maxRequestSize: string;
   messageMaxBytes: string;
   offset: string;
+  partitionKeySelector: string;
+  partitions: number;
+  replicationFactor: number;
   zookeeperHost: string;
   zookeeperPort: number;
 
@@ -1989,7 +2012,9 @@ export class MoveRuleDescription extends SchemaTransformationRuleDescription {
 
 export class MqttTransportProtocol extends TransportProtocol {
   '@class': 'org.apache.streampipes.model.grounding.MqttTransportProtocol';
+  inFlightWindow: number;
   port: number;
+  qos: number;
 
   static fromData(data: MqttTransportProtocol, target?: MqttTransportProtocol): MqttTransportProtocol {
     if (!data) {
@@ -1998,6 +2023,8 @@ export class MqttTransportProtocol extends TransportProtocol {
     const instance = target || new MqttTransportProtocol();
     super.fromData(data, instance);
     instance.port = data.port;
+    instance.qos = data.qos;
+    instance.inFlightWindow = data.inFlightWindow;
     return instance;
   }
 }
@@ -3207,7 +3234,7 @@ export type TransformationRuleDescriptionUnion =
   | MoveRuleDescription
   | CorrectionValueTransformationRuleDescription;
 
-export type TransportProtocolUnion = JmsTransportProtocol | KafkaTransportProtocol | MqttTransportProtocol;
+export type TransportProtocolUnion = InMemoryTransportProtocol | JmsTransportProtocol | KafkaTransportProtocol | MqttTransportProtocol;
 
 export type ValueSpecificationUnion = QuantitativeValue | Enumeration;
 
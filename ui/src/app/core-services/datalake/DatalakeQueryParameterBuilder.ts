@@ -136,6 +136,16 @@ export class DatalakeQueryParameterBuilder {
     return this;
   }
 
+  /**
+   * Only requests events newer than the given timestamp (e.g., the last event of a live widget).
+   * For aggregated queries, the bucket containing the timestamp is returned again.
+   */
+  public withIncrementalCursor(lastTimestamp: number): DatalakeQueryParameterBuilder {
+    this.queryParams.since = lastTimestamp;
+
+    return this;
+  }
+
   public build(): DatalakeQueryParameters {
     return this.queryParams;
   }
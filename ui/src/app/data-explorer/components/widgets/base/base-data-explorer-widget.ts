@@ -62,6 +62,13 @@ export abstract class BaseDataExplorerWidget<T extends DataExplorerWidgetModel>
   resizeSub: Subscription;
   timeSelectionSub: Subscription;
 
+  /**
+   * Unmodified results and time settings of the last query, used to refresh a moving time window
+   * incrementally.
+   */
+  private lastResults: SpQueryResult[];
+  private lastTimeSettings: TimeSettings;
+
   constructor(protected dataLakeRestService: DatalakeRestService,
               protected widgetConfigurationService: WidgetConfigurationService,
               protected resizeService: ResizeService,
@@ -96,7 +103,7 @@ export abstract class BaseDataExplorerWidget<T extends DataExplorerWidgetModel>
     });
     this.timeSelectionSub = this.timeSelectionService.timeSelectionChangeSubject.subscribe(ts => {
       this.timeSettings = ts;
-      this.updateData();
+      this.updateData(this.isMovedForward(ts));
     });
     this.updateData();
     this.onResize(this.gridsterItemComponent.width, this.gridsterItemComponent.height - 40);
@@ -121,24 +128,48 @@ export abstract class BaseDataExplorerWidget<T extends DataExplorerWidgetModel>
     this.showIsLoadingData = showIsLoadingData;
   }
 
-  public updateData() {
+  /**
+   * Fetches the data of all sources of the widget. If incremental is set (i.e., the time window
+   * only moved forward, e.g. on refresh), sources which support it only query events newer than
+   * the previous result and merge them into it.
+   */
+  public updateData(incremental: boolean = false) {
     this.beforeDataFetched();
+    const dataConfig = this.dataExplorerWidget.dataConfig as DataExplorerDataConfig;
+    const timeSettings = this.timeSettings;
+    const cursors = dataConfig.sourceConfigs.map((sourceConfig, index) =>
+      incremental && this.lastResults && this.lastResults[index]
+      && this.dataViewQueryGeneratorService.supportsIncrementalQuery(sourceConfig) ?
+        this.dataViewQueryGeneratorService.getLastTimestamp(this.lastResults[index]) : undefined);
     const observables = this
       .dataViewQueryGeneratorService
       .generateObservables(
-        this.timeSettings.startTime,
-        this.timeSettings.endTime,
-        this.dataExplorerWidget.dataConfig as DataExplorerDataConfig
+        timeSettings.startTime,
+        timeSettings.endTime,
+        dataConfig,
+        cursors
       );
     this.timerCallback.emit(true);
     zip(...observables).subscribe(results => {
+      results = results.map((result, index) => cursors[index] === undefined ? result :
+        this.dataViewQueryGeneratorService.mergeIncrementalResult(this.lastResults[index], result,
+          timeSettings.startTime, dataConfig.sourceConfigs[index]));
       results.forEach((result, index) => result.sourceIndex = index);
+      this.lastResults = results.map(result => SpQueryResult.fromData(result));
+      this.lastTimeSettings = timeSettings;
       this.onDataReceived(results);
       this.refreshView();
       this.timerCallback.emit(false);
     });
   }
 
+  private isMovedForward(timeSettings: TimeSettings): boolean {
+    return this.lastTimeSettings !== undefined
+      && timeSettings.endTime > this.lastTimeSettings.endTime
+      && timeSettings.startTime >= this.lastTimeSettings.startTime
+      && timeSettings.startTime < this.lastTimeSettings.endTime;
+  }
+
   isTimestamp(field: DataExplorerField) {
     return this.fieldProvider.primaryTimestampField && this.fieldProvider.primaryTimestampField.fullDbName === field.fullDbName;
   }
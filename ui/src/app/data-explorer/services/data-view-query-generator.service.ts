@@ -22,29 +22,38 @@ import { DatalakeQueryParameterBuilder } from '../../core-services/datalake/Data
 import { Observable } from 'rxjs';
 import { DatalakeQueryParameters } from '../../core-services/datalake/DatalakeQueryParameters';
 import { DatalakeRestService } from '../../platform-services/apis/datalake-rest.service';
-import { SpQueryResult } from '../../core-model/gen/streampipes-model';
+import { DataSeries, SpQueryResult } from '../../core-model/gen/streampipes-model';
 
 
 @Injectable()
 export class DataViewQueryGeneratorService {
 
+  private static readonly TIME_FIELD = 'time';
+  private static readonly TIME_UNIT_MILLIS = {ms: 1, s: 1000, m: 60000, h: 3600000, d: 86400000, w: 604800000};
+
   constructor(protected dataLakeRestService: DatalakeRestService) {
 
   }
 
+  /**
+   * @param cursors optional timestamp of the last event per source config, sources with a cursor
+   * are queried incrementally (see supportsIncrementalQuery)
+   */
   generateObservables(startTime: number,
                       endTime: number,
-                      dataConfig: DataExplorerDataConfig): Observable<SpQueryResult>[] {
+                      dataConfig: DataExplorerDataConfig,
+                      cursors: number[] = []): Observable<SpQueryResult>[] {
 
     return dataConfig
       .sourceConfigs
-      .map(sourceConfig => this.dataLakeRestService
-        .getData(sourceConfig.measureName, this.generateQuery(startTime, endTime, sourceConfig)));
+      .map((sourceConfig, index) => this.dataLakeRestService
+        .getData(sourceConfig.measureName, this.generateQuery(startTime, endTime, sourceConfig, cursors[index])));
   }
 
   generateQuery(startTime: number,
                 endTime: number,
-                sourceConfig: SourceConfig): DatalakeQueryParameters {
+                sourceConfig: SourceConfig,
+                cursor?: number): DatalakeQueryParameters {
     const queryBuilder = DatalakeQueryParameterBuilder.create(startTime, endTime);
     const queryConfig = sourceConfig.queryConfig;
 
@@ -78,6 +87,94 @@ export class DataViewQueryGeneratorService {
       }
     }
 
+    if (cursor !== undefined && this.supportsIncrementalQuery(sourceConfig)) {
+      queryBuilder.withIncrementalCursor(cursor);
+    }
+
     return queryBuilder.build();
   }
+
+  /**
+   * Only aggregated queries with a fixed interval are refreshed incrementally: the buckets of raw
+   * queries are pages, and the interval of auto-aggregated queries changes with the time window.
+   */
+  supportsIncrementalQuery(sourceConfig: SourceConfig): boolean {
+    return sourceConfig.queryType === 'aggregated'
+      && !sourceConfig.queryConfig.autoAggregate
+      && this.getIntervalMillis(sourceConfig) > 0;
+  }
+
+  /**
+   * @return the timestamp of the latest row of the result, or undefined if the result has no rows
+   */
+  getLastTimestamp(result: SpQueryResult): number {
+    let lastTimestamp: number;
+    const timeIndex = result.headers ? result.headers.indexOf(DataViewQueryGeneratorService.TIME_FIELD) : -1;
+    if (timeIndex > -1) {
+      result.allDataSeries.forEach(series => series.rows.forEach(row => {
+        const timestamp = this.toMillis(row[timeIndex]);
+        if (!isNaN(timestamp) && (lastTimestamp === undefined || timestamp > lastTimestamp)) {
+          lastTimestamp = timestamp;
+        }
+      }));
+    }
+    return lastTimestamp;
+  }
+
+  /**
+   * Merges the result of an incremental query into the previous result of the same source: the
+   * recomputed buckets replace previous rows from the first returned timestamp on, and buckets
+   * which are no longer part of the time window are removed.
+   */
+  mergeIncrementalResult(previous: SpQueryResult,
+                         delta: SpQueryResult,
+                         startTime: number,
+                         sourceConfig: SourceConfig): SpQueryResult {
+    const timeIndex = previous.headers.indexOf(DataViewQueryGeneratorService.TIME_FIELD);
+    const interval = this.getIntervalMillis(sourceConfig);
+    const windowStart = Math.floor(startTime / interval) * interval;
+    const merged = SpQueryResult.fromData(previous);
+    merged.allDataSeries = [];
+
+    const deltaSeries = new Map<string, DataSeries>();
+    delta.allDataSeries.forEach(series => deltaSeries.set(JSON.stringify(series.tags), series));
+
+    previous.allDataSeries.forEach(series => {
+      const key = JSON.stringify(series.tags);
+      const newRows = deltaSeries.has(key) ? deltaSeries.get(key).rows : [];
+      const firstNewTimestamp = newRows.reduce((min, row) => Math.min(min, this.toMillis(row[timeIndex])), Number.MAX_VALUE);
+      const rows = series.rows
+        .filter(row => {
+          const timestamp = this.toMillis(row[timeIndex]);
+          return timestamp >= windowStart && timestamp < firstNewTimestamp;
+        })
+        .concat(newRows);
+      merged.allDataSeries.push(this.makeSeries(series, rows));
+      deltaSeries.delete(key);
+    });
+    deltaSeries.forEach(series => merged.allDataSeries.push(this.makeSeries(series, series.rows)));
+
+    merged.total = merged.allDataSeries.reduce((total, series) => total + series.total, 0);
+    return merged;
+  }
+
+  private makeSeries(template: DataSeries,
+                     rows: any[][]): DataSeries {
+    const series = DataSeries.fromData(template);
+    series.rows = rows;
+    series.total = rows.length;
+    return series;
+  }
+
+  /**
+   * The data lake returns timestamps as RFC3339 strings.
+   */
+  private toMillis(timestamp: any): number {
+    return typeof timestamp === 'number' ? timestamp : Date.parse(timestamp);
+  }
+
+  private getIntervalMillis(sourceConfig: SourceConfig): number {
+    const unitMillis = DataViewQueryGeneratorService.TIME_UNIT_MILLIS[sourceConfig.queryConfig.aggregationTimeUnit];
+    return unitMillis ? unitMillis * sourceConfig.queryConfig.aggregationValue : 0;
+  }
 }